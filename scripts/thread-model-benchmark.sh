@@ -0,0 +1,38 @@
+#!/usr/bin/env bash
+# Compare platform threads and virtual threads under the same load.
+# Starts the packaged application twice (requires the PostgreSQL configured in application.properties),
+# drives /api/executions/{id} and /api/executions/page with ThreadModelLoadBenchmark and writes
+# target/load/platform-threads.json and target/load/virtual-threads.json.
+# Admission control and heartbeats are disabled, so the run measures request handling rather than 429s and
+# background writes.
+#
+# Usage: scripts/thread-model-benchmark.sh [concurrency levels, default 50,200,1000]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+CONCURRENCY="${1:-50,200,1000}"
+MVN="${MVN:-mvn}"
+BASE_URL="http://localhost:8080/template"
+
+"$MVN" -q -DskipTests package
+"$MVN" -q -Pjmh test-compile
+
+for MODE in platform virtual; do
+  PROFILES=""
+  [ "$MODE" = "virtual" ] && PROFILES="virtual-threads"
+
+  java -jar target/template-*.jar --spring.profiles.include="$PROFILES" --spring.docker.compose.enabled=false \
+    --app.admission.enabled=false --app.heartbeats.enabled=false &
+  APP_PID=$!
+  trap 'kill $APP_PID 2>/dev/null || true' EXIT
+
+  until curl -s -o /dev/null "$BASE_URL/api/executions"; do sleep 1; done
+
+  "$MVN" -q -Pjmh exec:java \
+    -Dexec.mainClass=com.quetoquenana.template.benchmark.ThreadModelLoadBenchmark \
+    -Dexec.args="$MODE-threads $BASE_URL" \
+    -Dload.concurrency="$CONCURRENCY"
+
+  kill "$APP_PID"
+  wait "$APP_PID" 2>/dev/null || true
+done
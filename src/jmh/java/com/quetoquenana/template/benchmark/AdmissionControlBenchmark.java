@@ -0,0 +1,103 @@
+package com.quetoquenana.template.benchmark;
+
+import com.quetoquenana.template.config.AdmissionControl;
+import com.quetoquenana.template.config.AdmissionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-request cost of the admission decision under 4 threads: rule match, bucket lookup and the CAS on the
+ * principal and IP buckets, plus the concurrency permit. Limits are high enough that every request is admitted,
+ * so the score is the overhead added to each API call.
+ * {@code sharedPrincipal} makes all threads contend on the same buckets; {@code distinctPrincipals} does not.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class AdmissionControlBenchmark {
+    private AdmissionControl admissionControl;
+
+    @State(Scope.Thread)
+    public static class Client {
+        private static final AtomicInteger CLIENTS = new AtomicInteger();
+
+        private MockHttpServletRequest shared;
+        private MockHttpServletRequest distinct;
+        private UsernamePasswordAuthenticationToken sharedPrincipal;
+        private UsernamePasswordAuthenticationToken distinctPrincipal;
+
+        @Setup
+        public void setUp() {
+            int client = CLIENTS.incrementAndGet();
+            shared = request("10.0.0.1");
+            distinct = request("10.0.0." + (client + 1));
+            sharedPrincipal = authenticated("user");
+            distinctPrincipal = authenticated("user-" + client);
+        }
+
+        private static MockHttpServletRequest request(String remoteAddress) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/executions/page");
+            request.setRemoteAddr(remoteAddress);
+            return request;
+        }
+
+        private static UsernamePasswordAuthenticationToken authenticated(String name) {
+            return UsernamePasswordAuthenticationToken.authenticated(name, null,
+                    AuthorityUtils.createAuthorityList("ROLE_SYSTEM"));
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        AdmissionProperties.Rule list = rule("list-all", "/api/executions");
+        AdmissionProperties.Rule api = rule("api", "/api/**");
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setRules(List.of(list, api));
+        admissionControl = new AdmissionControl(properties, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public boolean sharedPrincipal(Client client) {
+        return admitAndRelease(client.shared, client.sharedPrincipal);
+    }
+
+    @Benchmark
+    public boolean distinctPrincipals(Client client) {
+        return admitAndRelease(client.distinct, client.distinctPrincipal);
+    }
+
+    private boolean admitAndRelease(MockHttpServletRequest request, UsernamePasswordAuthenticationToken principal) {
+        // Both stages, as the client and principal filters run them around authentication
+        if (!admissionControl.admitClient(request).isAdmitted()) {
+            return false;
+        }
+        SecurityContextHolder.getContext().setAuthentication(principal);
+        AdmissionControl.Admission admission = admissionControl.admit(request);
+        admissionControl.release(admission);
+        return admission.isAdmitted();
+    }
+
+    private static AdmissionProperties.Rule rule(String name, String path) {
+        AdmissionProperties.Rule rule = new AdmissionProperties.Rule();
+        rule.setName(name);
+        rule.setPath(path);
+        rule.setPrincipalRatePerSecond(1_000_000_000);
+        rule.setPrincipalBurst(1_000_000);
+        rule.setIpRatePerSecond(1_000_000_000);
+        rule.setIpBurst(1_000_000);
+        rule.setMaxConcurrent(64);
+        return rule;
+    }
+}
@@ -0,0 +1,208 @@
+package com.quetoquenana.template.benchmark;
+
+import com.quetoquenana.template.model.Execution;
+import com.quetoquenana.template.util.ExecutionArchiveReader;
+import com.quetoquenana.template.util.ExecutionArchiveWriter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The same executions read from the live table and from an archive file, as ExecutionArchiveServiceImpl serves them:
+ * <ul>
+ *   <li>{@code scanTable} / {@code scanArchive}: every execution of the seeded range with the ExecutionList columns,
+ *   through a server-side cursor vs. the memory-mapped archive.</li>
+ *   <li>{@code findByIdTable} / {@code findByIdArchive}: one execution with every column by a random seeded id.</li>
+ * </ul>
+ * The table size (heap and indexes of the seeded rows, estimated from their share of the partitions) and the archive
+ * size are printed when the trial starts. Requires PostgreSQL with the application schema, see
+ * {@link BenchmarkDatabase}; {@code seedRows} executions are inserted for the trial and deleted afterwards.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArchiveScanBenchmark {
+    private static final String ENVIRONMENT = "benchmark-archive";
+    private static final String RANGE_SQL = """
+            SELECT id, executed_at, server_name, ip_address, app_version, environment
+            FROM executions
+            WHERE executed_at >= ? AND executed_at < ? AND environment = ?
+            ORDER BY executed_at, id""";
+    private static final String LIST_VIEW_SQL = """
+            SELECT id, executed_at, app_version, environment
+            FROM executions
+            WHERE executed_at >= ? AND executed_at < ? AND environment = ?
+            ORDER BY executed_at, id""";
+    private static final String BY_ID_SQL = """
+            SELECT id, executed_at, server_name, ip_address, app_version, environment,
+                   startup_context_refresh_ms, startup_flyway_ms, startup_jpa_ms, startup_ready_ms
+            FROM executions
+            WHERE id = ?""";
+
+    @Param({"1000000"})
+    private int seedRows;
+
+    @Param({"65536"})
+    private int blockRows;
+
+    private Connection connection;
+    private Path file;
+    private ExecutionArchiveReader reader;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private final List<UUID> sampleIds = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException, IOException {
+        connection = BenchmarkDatabase.connect();
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO executions (id, executed_at, server_name, ip_address, app_version, environment)
+                    SELECT gen_random_uuid(),
+                           date_trunc('second', now()::timestamp) - i * INTERVAL '1 second',
+                           'server-' || (i % 20),
+                           '10.0.0.' || (i % 250),
+                           '1.' || (i % 10),
+                           '%s'
+                    FROM generate_series(1, %d) AS i""".formatted(ENVIRONMENT, seedRows));
+            connection.commit();
+            statement.execute("ANALYZE executions");
+            connection.commit();
+            try (ResultSet result = statement.executeQuery("SELECT min(executed_at), max(executed_at) FROM executions"
+                    + " WHERE environment = '" + ENVIRONMENT + "'")) {
+                result.next();
+                from = result.getObject(1, LocalDateTime.class);
+                to = result.getObject(2, LocalDateTime.class).plusSeconds(1);
+            }
+            try (ResultSet result = statement.executeQuery("SELECT id FROM executions"
+                    + " WHERE environment = '" + ENVIRONMENT + "' ORDER BY random() LIMIT 1000")) {
+                while (result.next()) {
+                    sampleIds.add(result.getObject(1, UUID.class));
+                }
+            }
+        }
+        connection.commit();
+
+        file = Files.createTempFile("executions", ".xca");
+        long start = System.nanoTime();
+        try (ExecutionArchiveWriter writer = new ExecutionArchiveWriter(file, from, to, blockRows, 6);
+             PreparedStatement statement = connection.prepareStatement(RANGE_SQL)) {
+            statement.setFetchSize(500);
+            statement.setObject(1, from);
+            statement.setObject(2, to);
+            statement.setString(3, ENVIRONMENT);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    writer.write(new Execution(rows.getObject(1, UUID.class), rows.getObject(2, LocalDateTime.class),
+                            rows.getString(3), rows.getString(4), rows.getString(5), rows.getString(6)));
+                }
+            }
+        }
+        connection.commit();
+        long archiveMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        reader = ExecutionArchiveReader.open(file);
+        printSizes(archiveMillis);
+    }
+
+    @Benchmark
+    public long scanTable(Blackhole blackhole) throws SQLException {
+        long rows = 0;
+        try (PreparedStatement statement = connection.prepareStatement(LIST_VIEW_SQL)) {
+            statement.setFetchSize(500);
+            statement.setObject(1, from);
+            statement.setObject(2, to);
+            statement.setString(3, ENVIRONMENT);
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    blackhole.consume(new Execution(result.getObject(1, UUID.class),
+                            result.getObject(2, LocalDateTime.class), result.getString(3), result.getString(4)));
+                    rows++;
+                }
+            }
+        }
+        connection.commit();
+        return rows;
+    }
+
+    @Benchmark
+    public long scanArchive(Blackhole blackhole) {
+        long[] rows = {0};
+        reader.scan(from, to, false, execution -> {
+            blackhole.consume(execution);
+            rows[0]++;
+        });
+        return rows[0];
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Object findByIdTable() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(BY_ID_SQL)) {
+            statement.setObject(1, randomId());
+            try (ResultSet result = statement.executeQuery()) {
+                Object id = result.next() ? result.getObject(1) : null;
+                connection.commit();
+                return id;
+            }
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Object findByIdArchive() {
+        return reader.findById(randomId());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException, IOException {
+        reader.close();
+        Files.deleteIfExists(file);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DELETE FROM executions WHERE environment = '" + ENVIRONMENT + "'");
+            connection.commit();
+        } finally {
+            connection.close();
+        }
+    }
+
+    private UUID randomId() {
+        return sampleIds.get(ThreadLocalRandom.current().nextInt(sampleIds.size()));
+    }
+
+    private void printSizes(long archiveMillis) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("""
+                     SELECT sum(pg_relation_size(c.oid)), sum(pg_indexes_size(c.oid)), sum(c.reltuples)
+                     FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                     WHERE i.inhparent = 'executions'::regclass""")) {
+            result.next();
+            double tableRows = Math.max(result.getDouble(3), seedRows);
+            double heapBytesPerRow = result.getDouble(1) / tableRows;
+            double indexBytesPerRow = result.getDouble(2) / tableRows;
+            System.out.printf("%nexecutions table: %.1f bytes/row heap + %.1f bytes/row indexes, ~%.1f MB for %d rows%n",
+                    heapBytesPerRow, indexBytesPerRow, (heapBytesPerRow + indexBytesPerRow) * seedRows / 1e6, seedRows);
+            System.out.printf("archive: %.1f bytes/row, %.1f MB for %d rows, written in %d ms%n",
+                    (double) reader.sizeBytes() / reader.rowCount(), reader.sizeBytes() / 1e6, reader.rowCount(),
+                    archiveMillis);
+        }
+        connection.commit();
+    }
+}
@@ -0,0 +1,56 @@
+package com.quetoquenana.template.benchmark;
+
+import com.quetoquenana.template.config.CachingAuthenticationProvider;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP Basic verification cost per request, with and without the credential cache.
+ * Single threaded, so the score reads as authentications per second per core.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class AuthenticationBenchmark {
+    private AuthenticationProvider bcryptProvider;
+    private AuthenticationProvider cachingProvider;
+
+    @Setup
+    public void setUp() {
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+        InMemoryUserDetailsManager users = new InMemoryUserDetailsManager(
+                User.builder()
+                        .username("user")
+                        .password(passwordEncoder.encode("password"))
+                        .roles("SYSTEM")
+                        .build()
+        );
+        DaoAuthenticationProvider dao = new DaoAuthenticationProvider(users);
+        dao.setPasswordEncoder(passwordEncoder);
+        bcryptProvider = dao;
+        cachingProvider = new CachingAuthenticationProvider(dao, users, 10_000, Duration.ofMinutes(5));
+    }
+
+    @Benchmark
+    public Authentication bcryptEveryRequest() {
+        return bcryptProvider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "password"));
+    }
+
+    @Benchmark
+    public Authentication cachedVerification() {
+        return cachingProvider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "password"));
+    }
+}
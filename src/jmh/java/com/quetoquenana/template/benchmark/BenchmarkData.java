@@ -0,0 +1,53 @@
+package com.quetoquenana.template.benchmark;
+
+import com.quetoquenana.template.model.Execution;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Deterministic sample data shared by the benchmarks.
+ */
+final class BenchmarkData {
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final String[] ENVIRONMENTS = {"dev", "qa", "prd"};
+    private static final String[] VERSIONS = {"1.0.0", "1.1.0", "1.2.0", "2.0.0"};
+
+    /**
+     * Response body stand-in: discards bytes and, unlike {@link OutputStream#nullOutputStream()}, survives close().
+     */
+    static final OutputStream DISCARDING_BODY = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    private BenchmarkData() {
+    }
+
+    static Execution execution(int index) {
+        return new Execution(
+                new UUID(index, index * 31L),
+                BASE_TIME.plusSeconds(index * 17L).plusNanos(index * 1_000L),
+                "server-" + (index % 50),
+                "10.0." + (index % 250) + "." + (index % 200),
+                VERSIONS[index % VERSIONS.length],
+                ENVIRONMENTS[index % ENVIRONMENTS.length]
+        );
+    }
+
+    static List<Execution> executions(int size) {
+        List<Execution> executions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            executions.add(execution(i));
+        }
+        return executions;
+    }
+}
@@ -0,0 +1,37 @@
+package com.quetoquenana.template.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * PostgreSQL connection for the database benchmarks, configured through environment variables so forked
+ * benchmark JVMs inherit it: {@code BENCHMARK_JDBC_URL} (default {@code jdbc:postgresql://localhost:5432/template_dev}),
+ * {@code BENCHMARK_JDBC_USER} and {@code BENCHMARK_JDBC_PASSWORD} (default {@code postgres}).
+ */
+final class BenchmarkDatabase {
+
+    private BenchmarkDatabase() {
+    }
+
+    static Connection connect() throws SQLException {
+        return DriverManager.getConnection(url(), user(), password());
+    }
+
+    static String url() {
+        return env("BENCHMARK_JDBC_URL", "jdbc:postgresql://localhost:5432/template_dev");
+    }
+
+    static String user() {
+        return env("BENCHMARK_JDBC_USER", "postgres");
+    }
+
+    static String password() {
+        return env("BENCHMARK_JDBC_PASSWORD", "postgres");
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+}
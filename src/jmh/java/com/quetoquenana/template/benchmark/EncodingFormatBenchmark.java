@@ -0,0 +1,94 @@
+package com.quetoquenana.template.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.quetoquenana.template.model.ApiResponse;
+import com.quetoquenana.template.model.Execution;
+import com.quetoquenana.template.util.JsonViewPageUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encode time and wire size of a page of executions ({@code ExecutionList} view) per response format,
+ * with and without gzip as applied by server.compression.
+ * Wire sizes are printed once per trial ("wire size: ..." lines in the benchmark output).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EncodingFormatBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"none", "gzip"})
+    private String compression;
+
+    @Param({"10", "100", "1000"})
+    private int payloadSize;
+
+    private ObjectWriter writer;
+    private ApiResponse pageResponse;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        ObjectMapper objectMapper = switch (format) {
+            case "smile" -> builder.factory(new SmileFactory()).build();
+            case "cbor" -> builder.factory(new CBORFactory()).build();
+            default -> builder.build();
+        };
+        writer = objectMapper.writerWithView(Execution.ExecutionList.class).forType(ApiResponse.class);
+        List<Execution> executions = BenchmarkData.executions(payloadSize);
+        pageResponse = new ApiResponse(new JsonViewPageUtil<>(executions, PageRequest.of(0, payloadSize), payloadSize * 10L));
+    }
+
+    @TearDown(Level.Trial)
+    public void printWireSize() throws IOException {
+        CountingOutputStream body = new CountingOutputStream();
+        encode(body);
+        System.out.printf("%nwire size: format=%s compression=%s payloadSize=%d bytes=%d%n",
+                format, compression, payloadSize, body.count);
+    }
+
+    @Benchmark
+    public void encodePage() throws IOException {
+        encode(BenchmarkData.DISCARDING_BODY);
+    }
+
+    private void encode(OutputStream body) throws IOException {
+        if ("gzip".equals(compression)) {
+            try (GZIPOutputStream gzip = new GZIPOutputStream(body)) {
+                writer.writeValue(gzip, pageResponse);
+            }
+        } else {
+            writer.writeValue(body, pageResponse);
+        }
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.quetoquenana.template.benchmark;
+
+import com.quetoquenana.template.model.Execution;
+import com.quetoquenana.template.model.ExecutionFilter;
+import com.quetoquenana.template.repository.ExecutionFilterQuery;
+import com.quetoquenana.template.repository.ExecutionRepositoryCustomImpl;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the filtered executions page (page query plus count) for each filter combination of
+ * {@code /api/executions/page}, sorted by executedAt descending as the endpoint does by default.
+ * <p>
+ * The application migrations are applied to a separate schema ({@code benchmark_filter}) which is filled with
+ * {@code rows} executions spread over the pre-created partitions: 4 environments, 50 app versions, 200 servers.
+ * Seeding tens of millions of rows takes minutes, so the schema is kept between runs and only re-seeded when the
+ * row count differs; drop it with {@code DROP SCHEMA benchmark_filter CASCADE}.
+ * <p>
+ * Before measuring, the plan of the page query is checked: the trial fails if any node is a sequential scan.
+ * Requires PostgreSQL, see {@link BenchmarkDatabase}.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExecutionFilterBenchmark {
+    private static final String SCHEMA = "benchmark_filter";
+    private static final int SEED_CHUNK = 1_000_000;
+    private static final long SPAN_SECONDS = TimeUnit.DAYS.toSeconds(120);
+    private static final String SEED_SQL = """
+            INSERT INTO executions (id, executed_at, server_name, ip_address, app_version, environment)
+            SELECT gen_random_uuid(),
+                   date_trunc('month', now())::timestamp + (i * ?::double precision / ?) * INTERVAL '1 second',
+                   'server-' || (i * 7919 % 200),
+                   '10.0.' || (i % 250) || '.' || (i * 31 % 250),
+                   '1.' || (i * 104729 % 50),
+                   'env-' || (i % 4)
+            FROM generate_series(?::bigint, ?::bigint) AS i""";
+
+    @Param({"20000000"})
+    private long rows;
+
+    @Param({"environment", "environmentAndVersion", "appVersion", "serverName", "range", "environmentAndRange"})
+    private String filter;
+
+    @Param({"20"})
+    private int pageSize;
+
+    private SingleConnectionDataSource dataSource;
+    private ExecutionRepositoryCustomImpl repository;
+    private ExecutionFilter executionFilter;
+    private PageRequest pageRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Flyway.configure()
+                .dataSource(BenchmarkDatabase.url(), BenchmarkDatabase.user(), BenchmarkDatabase.password())
+                .schemas(SCHEMA)
+                .locations("classpath:db/migration/dev")
+                .load()
+                .migrate();
+        String url = BenchmarkDatabase.url();
+        dataSource = new SingleConnectionDataSource(url + (url.contains("?") ? "&" : "?") + "currentSchema=" + SCHEMA,
+                BenchmarkDatabase.user(), BenchmarkDatabase.password(), true);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        seed(jdbcTemplate);
+
+        LocalDateTime start = jdbcTemplate.queryForObject("SELECT date_trunc('month', now())::timestamp", LocalDateTime.class);
+        LocalDateTime dayFrom = start.plus(SPAN_SECONDS / 2, ChronoUnit.SECONDS);
+        executionFilter = switch (filter) {
+            case "environment" -> new ExecutionFilter("env-1", null, null, null, null);
+            case "environmentAndVersion" -> new ExecutionFilter("env-1", "1.7", null, null, null);
+            case "appVersion" -> new ExecutionFilter(null, "1.7", null, null, null);
+            case "serverName" -> new ExecutionFilter(null, null, "server-42", null, null);
+            case "range" -> new ExecutionFilter(null, null, null, dayFrom, dayFrom.plusDays(1));
+            case "environmentAndRange" -> new ExecutionFilter("env-1", null, null, dayFrom, dayFrom.plusDays(1));
+            default -> throw new IllegalArgumentException(filter);
+        };
+        pageRequest = PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "executedAt"));
+        repository = new ExecutionRepositoryCustomImpl(jdbcTemplate, 1000);
+        checkPlan(jdbcTemplate);
+    }
+
+    @Benchmark
+    public Page<Execution> filteredPage() {
+        return repository.findListView(executionFilter, pageRequest);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.destroy();
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        Long existing = jdbcTemplate.queryForObject("SELECT count(*) FROM executions", Long.class);
+        if (existing != null && existing == rows) {
+            return;
+        }
+        jdbcTemplate.execute("TRUNCATE executions, execution_stats_hourly");
+        for (long first = 0; first < rows; first += SEED_CHUNK) {
+            jdbcTemplate.update(SEED_SQL, SPAN_SECONDS, rows, first, Math.min(first + SEED_CHUNK, rows) - 1);
+        }
+        // Sets the visibility map, so the INCLUDE indexes can answer with index-only scans
+        jdbcTemplate.execute("VACUUM ANALYZE executions");
+        System.out.printf("%nSeeded %d executions into %s%n", rows, SCHEMA);
+    }
+
+    private void checkPlan(JdbcTemplate jdbcTemplate) {
+        ExecutionFilterQuery page = ExecutionFilterQuery.page(executionFilter, pageRequest);
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + page.sql(), String.class, page.args());
+        System.out.printf("%n%s:%n  %s%n", filter, String.join("\n  ", plan));
+        if (plan.stream().anyMatch(line -> line.contains("Seq Scan"))) {
+            throw new IllegalStateException("Filter '" + filter + "' is executed with a sequential scan");
+        }
+    }
+}
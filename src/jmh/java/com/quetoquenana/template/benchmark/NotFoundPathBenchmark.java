@@ -0,0 +1,108 @@
+package com.quetoquenana.template.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quetoquenana.template.config.I18nConfig;
+import com.quetoquenana.template.exception.ControllerExceptionAdvice;
+import com.quetoquenana.template.exception.RecordNotFoundException;
+import com.quetoquenana.template.model.ApiResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of answering a miss on {@code /api/executions/{id}} under 4 threads, from the throw in the
+ * controller to the serialized 404 body. The exception is thrown {@code stackDepth} frames deep, like below the
+ * servlet filter chain.
+ * <ul>
+ *   <li>{@code notFound}: stackless {@link RecordNotFoundException} handled by {@link ControllerExceptionAdvice}
+ *   (pre-serialized JSON body, rate-limited log), as the application serves it.</li>
+ *   <li>{@code stackTraceAndMessageLookup}: the previous path, an exception with a full stack trace, a
+ *   MessageSource lookup and JSON serialization per miss (without its two error log lines, so the real difference
+ *   is larger).</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class NotFoundPathBenchmark {
+
+    @Param({"64"})
+    private int stackDepth;
+
+    @Param({"en", "es"})
+    private String language;
+
+    private MessageSource messageSource;
+    private ObjectMapper objectMapper;
+    private ControllerExceptionAdvice advice;
+    private Locale locale;
+    private NativeWebRequest request;
+
+    @Setup
+    public void setUp() {
+        I18nConfig i18nConfig = new I18nConfig();
+        messageSource = i18nConfig.messageSource();
+        objectMapper = new ObjectMapper();
+        advice = new ControllerExceptionAdvice(messageSource, new SimpleMeterRegistry(), i18nConfig.localeResolver(),
+                objectMapper, new MappingJackson2SmileHttpMessageConverter(),
+                new MappingJackson2CborHttpMessageConverter(), new ContentNegotiationManager());
+        locale = Locale.forLanguageTag(language);
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest();
+        servletRequest.addHeader("Accept", "application/json");
+        request = new ServletWebRequest(servletRequest);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> notFound() {
+        try {
+            throwAt(stackDepth, true);
+            throw new IllegalStateException();
+        } catch (RecordNotFoundException e) {
+            return advice.handleRecordNotFoundException(e, locale, request);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> stackTraceAndMessageLookup() throws Exception {
+        try {
+            throwAt(stackDepth, false);
+            throw new IllegalStateException();
+        } catch (LegacyNotFoundException e) {
+            String message = messageSource.getMessage(e.getMessage(), null, locale);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(objectMapper.writeValueAsBytes(new ApiResponse(message, HttpStatus.NOT_FOUND.value())));
+        }
+    }
+
+    private static void throwAt(int depth, boolean stackless) {
+        if (depth > 0) {
+            throwAt(depth - 1, stackless);
+            return;
+        }
+        if (stackless) {
+            throw new RecordNotFoundException();
+        }
+        throw new LegacyNotFoundException("record.not.found");
+    }
+
+    private static final class LegacyNotFoundException extends RuntimeException {
+        private LegacyNotFoundException(String messageKey) {
+            super(messageKey);
+        }
+    }
+}
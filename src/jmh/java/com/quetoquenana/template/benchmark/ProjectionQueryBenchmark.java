@@ -0,0 +1,109 @@
+package com.quetoquenana.template.benchmark;
+
+import com.quetoquenana.template.model.Execution;
+import com.quetoquenana.template.repository.ExecutionRepository;
+import com.quetoquenana.template.util.UuidV7;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading a page of executions as managed entities vs. the ExecutionList projection used by the list endpoints.
+ * Both read {@code pageSize} rows ordered by (executed_at, id) in a read-only session, the way the services do;
+ * run with {@code -prof gc} to compare allocation per page. The average width of a whole row and of the projected
+ * columns is printed when the trial ends. Requires PostgreSQL with the application schema, see {@link BenchmarkDatabase};
+ * {@code seedRows} executions are inserted for the trial and deleted afterwards.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Thread)
+public class ProjectionQueryBenchmark {
+    private static final String ENVIRONMENT = "benchmark-projection";
+
+    @Param({"entity", "projection"})
+    private String query;
+
+    @Param({"100", "1000"})
+    private int pageSize;
+
+    @Param({"10000"})
+    private int seedRows;
+
+    private SessionFactory sessionFactory;
+    private String hql;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        try (Connection connection = BenchmarkDatabase.connect();
+             PreparedStatement insert = connection.prepareStatement("INSERT INTO executions"
+                     + " (id, executed_at, server_name, ip_address, app_version, environment) VALUES (?, ?, ?, ?, ?, ?)")) {
+            connection.setAutoCommit(false);
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < seedRows; i++) {
+                insert.setObject(1, UuidV7.next());
+                insert.setObject(2, now.minusSeconds(i));
+                insert.setString(3, "benchmark-server-" + (i % 16));
+                insert.setString(4, "10.0.0." + (i % 250));
+                insert.setString(5, "1.0." + (i % 10));
+                insert.setString(6, ENVIRONMENT);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Execution.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, BenchmarkDatabase.url())
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, BenchmarkDatabase.user())
+                .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, BenchmarkDatabase.password())
+                .buildSessionFactory();
+        hql = "entity".equals(query)
+                ? "SELECT e FROM Execution e ORDER BY e.executedAt, e.id"
+                : ExecutionRepository.LIST_VIEW + " ORDER BY e.executedAt, e.id";
+    }
+
+    @Benchmark
+    public List<Execution> readPage() {
+        try (Session session = sessionFactory.openSession()) {
+            session.setDefaultReadOnly(true);
+            session.beginTransaction();
+            List<Execution> page = session.createSelectionQuery(hql, Execution.class)
+                    .setMaxResults(pageSize)
+                    .getResultList();
+            session.getTransaction().commit();
+            return page;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        sessionFactory.close();
+        try (Connection connection = BenchmarkDatabase.connect();
+             Statement statement = connection.createStatement()) {
+            try (ResultSet result = statement.executeQuery("""
+                    SELECT avg(pg_column_size(e.*)),
+                           avg(pg_column_size(id) + pg_column_size(executed_at)
+                               + pg_column_size(app_version) + pg_column_size(environment))
+                    FROM executions e""")) {
+                result.next();
+                System.out.printf("%nexecutions: %.1f bytes/row, ExecutionList columns %.1f bytes/row%n",
+                        result.getDouble(1), result.getDouble(2));
+            }
+            statement.execute("DELETE FROM executions WHERE environment = '" + ENVIRONMENT + "'");
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.quetoquenana.template.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.quetoquenana.template.config.JsonViewHttpMessageConverter;
+import com.quetoquenana.template.model.ApiResponse;
+import com.quetoquenana.template.model.Execution;
+import com.quetoquenana.template.util.JsonViewPageUtil;
+import com.quetoquenana.template.util.JsonViewWriterCache;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of rendering the REST responses the way MappingJackson2HttpMessageConverter does:
+ * a writer with the controller's JsonView is created per response and the ApiResponse envelope is written to the body.
+ * The {@code stockConverter*} variants go through MappingJackson2HttpMessageConverter as a response body does, and
+ * the {@code viewConverter*} variants through JsonViewHttpMessageConverter, which the application registers instead.
+ * Run with {@code -prof gc} (the default for the jmh profile) to get allocation rates per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseSerializationBenchmark {
+    private static final OutputStream BODY = BenchmarkData.DISCARDING_BODY;
+    private static final HttpOutputMessage OUTPUT_MESSAGE = new HttpOutputMessage() {
+        private final HttpHeaders headers = new HttpHeaders();
+
+        @Override
+        public OutputStream getBody() {
+            return BODY;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    };
+
+    @Param({"1", "10", "100", "1000"})
+    private int payloadSize;
+
+    private ObjectMapper objectMapper;
+    private MappingJackson2HttpMessageConverter stockConverter;
+    private JsonViewHttpMessageConverter viewConverter;
+    private ApiResponse detailResponse;
+    private ApiResponse listResponse;
+    private ApiResponse pageResponse;
+
+    @Setup
+    public void setUp() {
+        // Same defaults Spring Boot applies to the MVC ObjectMapper (e.g. DEFAULT_VIEW_INCLUSION disabled, ISO dates)
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        stockConverter = new MappingJackson2HttpMessageConverter(objectMapper);
+        viewConverter = new JsonViewHttpMessageConverter(objectMapper, new JsonViewWriterCache(objectMapper));
+        List<Execution> executions = BenchmarkData.executions(payloadSize);
+        detailResponse = new ApiResponse(executions.getFirst());
+        listResponse = new ApiResponse(executions);
+        pageResponse = new ApiResponse(new JsonViewPageUtil<>(executions, PageRequest.of(0, payloadSize), payloadSize * 10L));
+    }
+
+    @Benchmark
+    public void detailView() throws IOException {
+        objectMapper.writerWithView(Execution.ExecutionDetail.class).writeValue(BODY, detailResponse);
+    }
+
+    @Benchmark
+    public void listView() throws IOException {
+        objectMapper.writerWithView(Execution.ExecutionList.class).writeValue(BODY, listResponse);
+    }
+
+    @Benchmark
+    public void pageView() throws IOException {
+        objectMapper.writerWithView(Execution.ExecutionList.class).writeValue(BODY, pageResponse);
+    }
+
+    @Benchmark
+    public void stockConverterDetailView() throws IOException {
+        write(stockConverter, detailResponse, Execution.ExecutionDetail.class);
+    }
+
+    @Benchmark
+    public void stockConverterListView() throws IOException {
+        write(stockConverter, listResponse, Execution.ExecutionList.class);
+    }
+
+    @Benchmark
+    public void stockConverterPageView() throws IOException {
+        write(stockConverter, pageResponse, Execution.ExecutionList.class);
+    }
+
+    @Benchmark
+    public void viewConverterDetailView() throws IOException {
+        write(viewConverter, detailResponse, Execution.ExecutionDetail.class);
+    }
+
+    @Benchmark
+    public void viewConverterListView() throws IOException {
+        write(viewConverter, listResponse, Execution.ExecutionList.class);
+    }
+
+    @Benchmark
+    public void viewConverterPageView() throws IOException {
+        write(viewConverter, pageResponse, Execution.ExecutionList.class);
+    }
+
+    // As JsonViewResponseBodyAdvice hands a @JsonView body to the converter
+    private static void write(MappingJackson2HttpMessageConverter converter, ApiResponse response, Class<?> view)
+            throws IOException {
+        MappingJacksonValue value = new MappingJacksonValue(response);
+        value.setSerializationView(view);
+        converter.write(value, MediaType.APPLICATION_JSON, OUTPUT_MESSAGE);
+    }
+}
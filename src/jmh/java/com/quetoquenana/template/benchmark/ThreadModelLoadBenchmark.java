@@ -0,0 +1,89 @@
+package com.quetoquenana.template.benchmark;
+
+import com.quetoquenana.template.load.LoadDriver;
+import com.quetoquenana.template.load.LoadResult;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Throughput and p99 latency of {@code /api/executions/{id}} and {@code /api/executions/page} against a running
+ * instance, at increasing concurrency. Run it once against an instance with platform threads and once with
+ * the {@code virtual-threads} profile (see {@code scripts/thread-model-benchmark.sh}) and compare the results.
+ * The instance should run with {@code app.admission.enabled=false}: otherwise most requests are answered with 429,
+ * which count as errors.
+ * <p>
+ * Arguments: label, base URL (default {@code http://localhost:8080/template}).
+ * System properties: {@code load.concurrency} (default {@code 50,200,1000}), {@code load.warmup} and
+ * {@code load.duration} in seconds (default 10 and 30), {@code load.user} and {@code load.password}.
+ */
+public final class ThreadModelLoadBenchmark {
+    private static final Pattern FIRST_ID = Pattern.compile("\"id\"\\s*:\\s*\"([0-9a-f-]{36})\"");
+
+    private ThreadModelLoadBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String label = args.length > 0 ? args[0] : "run";
+        String baseUrl = args.length > 1 ? args[1] : "http://localhost:8080/template";
+        String authorization = "Basic " + Base64.getEncoder().encodeToString(
+                (System.getProperty("load.user", "user") + ":" + System.getProperty("load.password", "password"))
+                        .getBytes(StandardCharsets.UTF_8));
+        int[] concurrencyLevels = Arrays.stream(System.getProperty("load.concurrency", "50,200,1000").split(","))
+                .mapToInt(level -> Integer.parseInt(level.trim()))
+                .toArray();
+        Duration warmup = Duration.ofSeconds(Long.getLong("load.warmup", 10));
+        Duration duration = Duration.ofSeconds(Long.getLong("load.duration", 30));
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        String id = firstExecutionId(client, baseUrl, authorization);
+        HttpRequest byId = HttpRequest.newBuilder(URI.create(baseUrl + "/api/executions/" + id))
+                .header("Authorization", authorization).build();
+        HttpRequest page = HttpRequest.newBuilder(URI.create(baseUrl + "/api/executions/page?page=0&size=20"))
+                .header("Authorization", authorization).build();
+
+        List<LoadResult> results = new ArrayList<>();
+        for (int concurrency : concurrencyLevels) {
+            results.add(print(LoadDriver.run(label + " /api/executions/{id}", client, () -> byId, concurrency, warmup, duration)));
+            results.add(print(LoadDriver.run(label + " /api/executions/page", client, () -> page, concurrency, warmup, duration)));
+        }
+
+        Path output = Path.of("target", "load", label + ".json");
+        Files.createDirectories(output.getParent());
+        Files.writeString(output, results.stream().map(LoadResult::toJson).collect(Collectors.joining(",\n", "[\n", "\n]\n")));
+        System.out.println("Results written to " + output.toAbsolutePath());
+    }
+
+    private static LoadResult print(LoadResult result) {
+        System.out.println(result);
+        return result;
+    }
+
+    private static String firstExecutionId(HttpClient client, String baseUrl, String authorization) throws Exception {
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/api/executions"))
+                        .header("Authorization", authorization).build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + baseUrl + "/api/executions returned " + response.statusCode());
+        }
+        Matcher matcher = FIRST_ID.matcher(response.body());
+        if (!matcher.find()) {
+            throw new IllegalStateException("No executions found at " + baseUrl + "/api/executions");
+        }
+        return matcher.group(1);
+    }
+}
@@ -0,0 +1,82 @@
+package com.quetoquenana.template.benchmark;
+
+import com.quetoquenana.template.util.UuidV7;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Insert rate and primary key index size with random v4 keys vs. time-ordered v7 keys.
+ * Each operation inserts one JDBC batch of {@code batchSize} rows into a table shaped like {@code executions};
+ * the resulting primary key index size is printed when the trial ends. Requires PostgreSQL, see {@link BenchmarkDatabase}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Thread)
+public class UuidInsertBenchmark {
+
+    @Param({"v4", "v7"})
+    private String keyType;
+
+    @Param({"1000"})
+    private int batchSize;
+
+    private Connection connection;
+    private PreparedStatement insert;
+    private Supplier<UUID> ids;
+    private String table;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        table = "benchmark_executions_" + keyType;
+        ids = "v7".equals(keyType) ? UuidV7::next : UUID::randomUUID;
+        connection = BenchmarkDatabase.connect();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            statement.execute("CREATE TABLE " + table + " (LIKE executions INCLUDING ALL)");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement("INSERT INTO " + table
+                + " (id, executed_at, server_name, ip_address, app_version, environment) VALUES (?, ?, ?, ?, ?, ?)");
+    }
+
+    @Benchmark
+    public void insertBatch() throws SQLException {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < batchSize; i++) {
+            insert.setObject(1, ids.get());
+            insert.setObject(2, now);
+            insert.setString(3, "benchmark");
+            insert.setString(4, "127.0.0.1");
+            insert.setString(5, "1.0.0");
+            insert.setString(6, "benchmark");
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT count(*), pg_relation_size('" + table + "_pkey') FROM " + table)) {
+            result.next();
+            System.out.printf("%n%s: %d rows, primary key index %d bytes (%.1f bytes/row)%n",
+                    keyType, result.getLong(1), result.getLong(2), (double) result.getLong(2) / result.getLong(1));
+            statement.execute("DROP TABLE " + table);
+        }
+        connection.commit();
+        connection.close();
+    }
+}
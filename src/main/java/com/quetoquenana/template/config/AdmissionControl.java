@@ -0,0 +1,227 @@
+package com.quetoquenana.template.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.quetoquenana.template.util.TokenBucket;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admission decisions for API requests: per-principal and per-IP token buckets plus a concurrency limit per rule.
+ * The IP bucket is checked before authentication and the principal bucket after it. The hot path is a rule match,
+ * a cache lookup and one CAS per bucket; nothing blocks or locks.
+ */
+@Component
+public class AdmissionControl {
+    private static final Admission NOT_LIMITED = new Admission(null, 0, false);
+    private static final String RULE_ATTRIBUTE = AdmissionControl.class.getName() + ".rule";
+
+    private final boolean enabled;
+    private final List<RuleState> rules;
+    private final Cache<BucketKey, TokenBucket> buckets;
+
+    public AdmissionControl(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedKeys())
+                .expireAfterAccess(properties.getKeyIdleTimeout())
+                .build();
+        this.rules = properties.getRules().stream().map(rule -> new RuleState(rule, meterRegistry)).toList();
+        Gauge.builder("api.admission.tracked.keys", buckets, Cache::estimatedSize)
+                .description("Principals and IPs with a token bucket")
+                .register(meterRegistry);
+    }
+
+    /**
+     * First stage, before authentication: take a token from the client IP bucket of the matching rule. Running it
+     * before the credentials are checked limits requests with wrong credentials (password guessing) as well. Behind
+     * a trusted proxy the remote address is the client's, as resolved from X-Forwarded-For by Tomcat's RemoteIpValve.
+     * @param request current request, before authentication
+     * @return admission decision
+     */
+    public Admission admitClient(HttpServletRequest request) {
+        if (!enabled) {
+            return NOT_LIMITED;
+        }
+        RuleState rule = match(request);
+        if (rule == null) {
+            return NOT_LIMITED;
+        }
+        request.setAttribute(RULE_ATTRIBUTE, rule);
+        if (rule.ipBucketEnabled()) {
+            long waitNanos = bucket(rule, BucketKey.Kind.IP, request.getRemoteAddr()).tryAcquire(System.nanoTime());
+            if (waitNanos > 0) {
+                rule.rateRejections.increment();
+                return new Admission(rule, retryAfterSeconds(waitNanos), false);
+            }
+        }
+        return rule.admitted;
+    }
+
+    /**
+     * Second stage, after authentication: principal bucket and concurrency limit of the rule matched by
+     * {@link #admitClient(HttpServletRequest)}. Requests rejected by the IP bucket never get here, so they do not
+     * spend the principal's tokens. An admitted request holding a concurrency permit must be passed to
+     * {@link #release(Admission)} when it completes.
+     * @param request current request, after authentication
+     * @return admission decision
+     */
+    public Admission admit(HttpServletRequest request) {
+        if (!enabled) {
+            return NOT_LIMITED;
+        }
+        RuleState rule = request.getAttribute(RULE_ATTRIBUTE) instanceof RuleState matched ? matched : match(request);
+        if (rule == null) {
+            return NOT_LIMITED;
+        }
+        String principal = principalName();
+        if (principal != null && rule.principalBucketEnabled()) {
+            long waitNanos = bucket(rule, BucketKey.Kind.PRINCIPAL, principal).tryAcquire(System.nanoTime());
+            if (waitNanos > 0) {
+                rule.rateRejections.increment();
+                return new Admission(rule, retryAfterSeconds(waitNanos), false);
+            }
+        }
+        if (rule.concurrency == null) {
+            return rule.admitted;
+        }
+        if (!rule.concurrency.tryAcquire()) {
+            rule.concurrencyRejections.increment();
+            return rule.concurrencyRejected;
+        }
+        return rule.admittedWithPermit;
+    }
+
+    /**
+     * Give back the concurrency permit of an admitted request.
+     */
+    public void release(Admission admission) {
+        if (admission.holdsPermit()) {
+            admission.rule().concurrency.release();
+        }
+    }
+
+    /**
+     * Current limiter state per rule, for the admission actuator endpoint.
+     */
+    public Map<String, Object> state() {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("enabled", enabled);
+        state.put("trackedKeys", buckets.estimatedSize());
+        Map<String, Object> ruleStates = new LinkedHashMap<>();
+        for (RuleState rule : rules) {
+            Map<String, Object> ruleState = new LinkedHashMap<>();
+            ruleState.put("method", rule.rule.getMethod());
+            ruleState.put("path", rule.rule.getPath());
+            ruleState.put("principalRatePerSecond", rule.rule.getPrincipalRatePerSecond());
+            ruleState.put("principalBurst", rule.rule.getPrincipalBurst());
+            ruleState.put("ipRatePerSecond", rule.rule.getIpRatePerSecond());
+            ruleState.put("ipBurst", rule.rule.getIpBurst());
+            ruleState.put("maxConcurrent", rule.rule.getMaxConcurrent());
+            ruleState.put("inFlight", rule.concurrency == null ? null
+                    : rule.rule.getMaxConcurrent() - rule.concurrency.availablePermits());
+            ruleState.put("rateRejections", rule.rateRejections.sum());
+            ruleState.put("concurrencyRejections", rule.concurrencyRejections.sum());
+            ruleStates.put(rule.rule.getName(), ruleState);
+        }
+        state.put("rules", ruleStates);
+        return state;
+    }
+
+    private RuleState match(HttpServletRequest request) {
+        for (RuleState rule : rules) {
+            if (rule.matcher.matches(request)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private TokenBucket bucket(RuleState rule, BucketKey.Kind kind, String id) {
+        return buckets.get(new BucketKey(rule.rule.getName(), kind, id), key -> kind == BucketKey.Kind.PRINCIPAL
+                ? new TokenBucket(rule.rule.getPrincipalRatePerSecond(), rule.rule.getPrincipalBurst())
+                : new TokenBucket(rule.rule.getIpRatePerSecond(), rule.rule.getIpBurst()));
+    }
+
+    private static String principalName() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Outcome of {@link #admit(HttpServletRequest)}.
+     * @param rule matching rule, or null when no rule applies
+     * @param retryAfterSeconds 0 when admitted, otherwise seconds the client should wait
+     * @param holdsPermit whether a concurrency permit was taken
+     */
+    public record Admission(RuleState rule, long retryAfterSeconds, boolean holdsPermit) {
+        public boolean isAdmitted() {
+            return retryAfterSeconds == 0;
+        }
+    }
+
+    private record BucketKey(String rule, Kind kind, String id) {
+        private enum Kind { PRINCIPAL, IP }
+    }
+
+    static final class RuleState {
+        private final AdmissionProperties.Rule rule;
+        private final RequestMatcher matcher;
+        private final Semaphore concurrency;
+        private final LongAdder rateRejections = new LongAdder();
+        private final LongAdder concurrencyRejections = new LongAdder();
+        // Decisions without per-request data are shared instead of allocated on every request
+        private final Admission admitted;
+        private final Admission admittedWithPermit;
+        private final Admission concurrencyRejected;
+
+        private RuleState(AdmissionProperties.Rule rule, MeterRegistry meterRegistry) {
+            this.rule = rule;
+            this.matcher = rule.getMethod() == null
+                    ? PathPatternRequestMatcher.withDefaults().matcher(rule.getPath())
+                    : PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.valueOf(rule.getMethod()), rule.getPath());
+            this.concurrency = rule.getMaxConcurrent() > 0 ? new Semaphore(rule.getMaxConcurrent()) : null;
+            this.admitted = new Admission(this, 0, false);
+            this.admittedWithPermit = new Admission(this, 0, true);
+            this.concurrencyRejected = new Admission(this, 1, false);
+            FunctionCounter.builder("api.admission.rejected", rateRejections, LongAdder::sum)
+                    .tags("rule", rule.getName(), "reason", "rate")
+                    .register(meterRegistry);
+            FunctionCounter.builder("api.admission.rejected", concurrencyRejections, LongAdder::sum)
+                    .tags("rule", rule.getName(), "reason", "concurrency")
+                    .register(meterRegistry);
+        }
+
+        private boolean principalBucketEnabled() {
+            return rule.getPrincipalRatePerSecond() > 0;
+        }
+
+        private boolean ipBucketEnabled() {
+            return rule.getIpRatePerSecond() > 0;
+        }
+    }
+}
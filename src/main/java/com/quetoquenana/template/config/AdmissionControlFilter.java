@@ -0,0 +1,82 @@
+package com.quetoquenana.template.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quetoquenana.template.model.ApiResponse;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+import java.io.IOException;
+
+/**
+ * Applies the per-principal stage of {@link AdmissionControl} in the security filter chain, right after
+ * authentication, once {@link ClientAdmissionFilter} has admitted the client IP. Rejected requests get
+ * {@code 429 Too Many Requests} with {@code Retry-After} before any controller, query or serialization runs.
+ */
+@RequiredArgsConstructor
+public class AdmissionControlFilter extends OncePerRequestFilter {
+    private final AdmissionControl admissionControl;
+    private final ObjectMapper objectMapper;
+    private final MessageSource messageSource;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AdmissionControl.Admission admission = admissionControl.admit(request);
+        if (!admission.isAdmitted()) {
+            reject(request, response, admission.retryAfterSeconds(), objectMapper, messageSource);
+            return;
+        }
+        if (!admission.holdsPermit()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        admissionControl.release(admission);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                admissionControl.release(admission);
+            }
+        }
+    }
+
+    static void reject(HttpServletRequest request, HttpServletResponse response, long retryAfterSeconds,
+                       ObjectMapper objectMapper, MessageSource messageSource) throws IOException {
+        String message = messageSource.getMessage("request.rate.limited", null,
+                RequestContextUtils.getLocale(request));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ApiResponse(message, HttpStatus.TOO_MANY_REQUESTS.value()));
+    }
+}
@@ -0,0 +1,23 @@
+package com.quetoquenana.template.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * {@code GET /actuator/admission}: limits, in-flight requests and rejections per admission rule.
+ */
+@Component
+@Endpoint(id = "admission")
+@RequiredArgsConstructor
+public class AdmissionEndpoint {
+    private final AdmissionControl admissionControl;
+
+    @ReadOperation
+    public Map<String, Object> admission() {
+        return admissionControl.state();
+    }
+}
@@ -0,0 +1,35 @@
+package com.quetoquenana.template.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Admission control settings ({@code app.admission.*}). Rules are evaluated in order and the first rule
+ * matching the request applies; a limit of 0 disables that check.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.admission")
+public class AdmissionProperties {
+    private boolean enabled = true;
+    // Upper bound of tracked principals and IPs, so a flood of new keys cannot exhaust memory
+    private long maxTrackedKeys = 100_000;
+    private Duration keyIdleTimeout = Duration.ofMinutes(10);
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+        private String name;
+        // HTTP method to match, or null for any
+        private String method;
+        private String path;
+        private double principalRatePerSecond;
+        private int principalBurst;
+        private double ipRatePerSecond;
+        private int ipBurst;
+        private int maxConcurrent;
+    }
+}
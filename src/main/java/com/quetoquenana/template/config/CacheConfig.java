@@ -0,0 +1,90 @@
+package com.quetoquenana.template.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.quetoquenana.template.model.Execution;
+import com.quetoquenana.template.model.ExecutionsSavedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NullValue;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * In-process read-through caches, enabled per profile with {@code app.cache.executions.enabled}.
+ * Statistics are recorded so actuator publishes hit, miss and eviction counts under {@code cache.*}.
+ */
+@Configuration
+@EnableCaching
+@ConditionalOnProperty(prefix = "app.cache.executions", name = "enabled", havingValue = "true")
+public class CacheConfig {
+    public static final String EXECUTIONS_BY_ID = "executionsById";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${app.cache.executions.max-size:10000}") long maxSize,
+            @Value("${app.cache.executions.ttl:1h}") Duration ttl,
+            @Value("${app.cache.executions.negative-ttl:30s}") Duration negativeTtl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(EXECUTIONS_BY_ID, Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(positiveNegativeExpiry(ttl, negativeTtl))
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+
+    @Bean
+    public ExecutionsByIdEviction executionsByIdEviction(CacheManager cacheManager) {
+        return new ExecutionsByIdEviction(cacheManager.getCache(EXECUTIONS_BY_ID));
+    }
+
+    /**
+     * Unknown ids are cached as {@link NullValue} so repeated 404 probes skip the database,
+     * but for a shorter time than real rows.
+     */
+    private static Expiry<Object, Object> positiveNegativeExpiry(Duration ttl, Duration negativeTtl) {
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(Object key, Object value, long currentTime) {
+                return (value instanceof NullValue ? negativeTtl : ttl).toNanos();
+            }
+
+            @Override
+            public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+                return expireAfterCreate(key, value, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+
+    /**
+     * Evicts the ids of saved executions once their transaction commits. An id looked up before it was inserted
+     * is cached as missing; without the eviction it would answer 404 until the negative TTL ends.
+     */
+    public static class ExecutionsByIdEviction {
+        private final Cache cache;
+
+        ExecutionsByIdEviction(Cache cache) {
+            this.cache = cache;
+        }
+
+        @TransactionalEventListener(fallbackExecution = true)
+        public void onExecutionsSaved(ExecutionsSavedEvent event) {
+            for (Execution execution : event.executions()) {
+                cache.evict(execution.getId());
+            }
+        }
+    }
+}
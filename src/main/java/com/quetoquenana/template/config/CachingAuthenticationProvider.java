@@ -0,0 +1,114 @@
+package com.quetoquenana.template.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Remembers successful username/password verifications so repeated HTTP Basic requests
+ * skip the password encoder (BCrypt) until the entry expires.
+ * <p>
+ * Entries are keyed by an HMAC of the credentials with a per-process random key, so plaintext
+ * passwords are never stored. A hit is only honoured while the user's stored password hash and
+ * account flags are unchanged; otherwise the entry is dropped and the delegate verifies again.
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int HMAC_KEY_LENGTH = 32;
+
+    private final AuthenticationProvider delegate;
+    private final UserDetailsService userDetailsService;
+    private final Cache<String, VerifiedUser> verifications;
+    private final ThreadLocal<Mac> macs;
+
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, UserDetailsService userDetailsService,
+                                         long maxSize, Duration ttl) {
+        this.delegate = delegate;
+        this.userDetailsService = userDetailsService;
+        this.verifications = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        byte[] key = new byte[HMAC_KEY_LENGTH];
+        new SecureRandom().nextBytes(key);
+        SecretKeySpec keySpec = new SecretKeySpec(key, HMAC_ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> newMac(keySpec));
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        if (authentication.getCredentials() == null) {
+            return delegate.authenticate(authentication);
+        }
+        String username = authentication.getName();
+        String cacheKey = cacheKey(username, authentication.getCredentials().toString());
+
+        VerifiedUser verified = verifications.getIfPresent(cacheKey);
+        if (verified != null) {
+            UserDetails current = userDetailsService.loadUserByUsername(username);
+            if (verified.isStillValidFor(current)) {
+                UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken.authenticated(
+                        current, null, current.getAuthorities());
+                result.setDetails(authentication.getDetails());
+                return result;
+            }
+            verifications.invalidate(cacheKey);
+        }
+
+        Authentication result = delegate.authenticate(authentication);
+        if (result != null && result.isAuthenticated() && result.getPrincipal() instanceof UserDetails user) {
+            verifications.put(cacheKey, new VerifiedUser(user.getPassword()));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+
+    private String cacheKey(String username, String password) {
+        Mac mac = macs.get();
+        mac.update(username.getBytes(StandardCharsets.UTF_8));
+        // Separator so ("ab", "c") and ("a", "bc") never share a key
+        mac.update((byte) 0);
+        return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static Mac newMac(SecretKeySpec keySpec) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(keySpec);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to initialize " + HMAC_ALGORITHM, e);
+        }
+    }
+
+    /**
+     * Snapshot of the stored password hash at verification time.
+     */
+    private record VerifiedUser(String passwordHash) {
+        boolean isStillValidFor(UserDetails current) {
+            return Objects.equals(passwordHash, current.getPassword())
+                    && current.isEnabled()
+                    && current.isAccountNonLocked()
+                    && current.isAccountNonExpired()
+                    && current.isCredentialsNonExpired();
+        }
+    }
+}
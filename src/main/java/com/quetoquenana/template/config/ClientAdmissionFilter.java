@@ -0,0 +1,36 @@
+package com.quetoquenana.template.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.MessageSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Applies the per-IP stage of {@link AdmissionControl} in the security filter chain, before authentication, so
+ * requests with wrong credentials are limited too. Rejected requests get {@code 429 Too Many Requests} with
+ * {@code Retry-After} before the password is checked.
+ */
+@RequiredArgsConstructor
+public class ClientAdmissionFilter extends OncePerRequestFilter {
+    private final AdmissionControl admissionControl;
+    private final ObjectMapper objectMapper;
+    private final MessageSource messageSource;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AdmissionControl.Admission admission = admissionControl.admitClient(request);
+        if (!admission.isAdmitted()) {
+            AdmissionControlFilter.reject(request, response, admission.retryAfterSeconds(), objectMapper,
+                    messageSource);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,28 @@
+package com.quetoquenana.template.config;
+
+import com.quetoquenana.template.service.ExecutionPartitionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.executions.partitions", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ExecutionPartitionScheduler {
+    private final ExecutionPartitionService executionPartitionService;
+
+    /**
+     * Run partition maintenance once the application is started and then on the configured schedule.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.executions.partitions.cron:0 0 3 * * *}")
+    public void maintainPartitions() {
+        log.info("Running executions partition maintenance.");
+        executionPartitionService.maintainPartitions();
+    }
+}
@@ -0,0 +1,30 @@
+package com.quetoquenana.template.config;
+
+import com.quetoquenana.template.service.HeartbeatService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.heartbeats", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class HeartbeatScheduler {
+    private final HeartbeatService heartbeatService;
+
+    /**
+     * Record a liveness heartbeat for this instance on the configured interval, starting right after startup.
+     */
+    @Scheduled(fixedRateString = "${app.heartbeats.interval:10s}")
+    public void recordHeartbeat() {
+        heartbeatService.recordHeartbeat();
+    }
+
+    /**
+     * Delete heartbeats past the retention period.
+     */
+    @Scheduled(cron = "${app.heartbeats.purge-cron:0 30 3 * * *}")
+    public void purgeExpiredHeartbeats() {
+        heartbeatService.purgeExpired();
+    }
+}
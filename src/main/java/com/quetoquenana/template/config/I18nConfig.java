@@ -4,22 +4,65 @@ import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.support.ReloadableResourceBundleMessageSource;
-import org.springframework.web.servlet.LocaleResolver;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.web.servlet.i18n.AcceptHeaderLocaleResolver;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
 @Configuration
 public class I18nConfig {
+    // messages.properties holds the English messages
+    private static final Locale DEFAULT_LOCALE = Locale.ENGLISH;
+    private static final String DEFAULT_MESSAGES = "messages.properties";
 
     @Bean
     public MessageSource messageSource() {
         ReloadableResourceBundleMessageSource messageSource = new ReloadableResourceBundleMessageSource();
         messageSource.setBasename("classpath:messages");
         messageSource.setDefaultEncoding("UTF-8");
+        // Unsupported locales get messages.properties, whatever the JVM default locale is
+        messageSource.setFallbackToSystemLocale(false);
         return messageSource;
     }
 
+    /**
+     * Resolves every request to one of the locales with a messages file (exact or same language),
+     * or to the default locale. Localized responses can therefore be cached per supported locale.
+     */
     @Bean
-    public LocaleResolver localeResolver() {
-        return new AcceptHeaderLocaleResolver();
+    public AcceptHeaderLocaleResolver localeResolver() {
+        AcceptHeaderLocaleResolver localeResolver = new AcceptHeaderLocaleResolver();
+        localeResolver.setSupportedLocales(supportedLocales());
+        localeResolver.setDefaultLocale(DEFAULT_LOCALE);
+        return localeResolver;
+    }
+
+    /**
+     * Only the messages files next to the application's messages.properties count: a {@code classpath*:} scan would
+     * also pick up messages files of dependency jars, and a {@code classpath:} pattern only searches the first
+     * classpath root (target/test-classes in tests).
+     */
+    private static List<Locale> supportedLocales() {
+        List<Locale> locales = new ArrayList<>();
+        locales.add(DEFAULT_LOCALE);
+        try {
+            String defaultMessages = new ClassPathResource(DEFAULT_MESSAGES).getURL().toString();
+            String root = defaultMessages.substring(0, defaultMessages.length() - DEFAULT_MESSAGES.length());
+            PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+            for (Resource resource : resolver.getResources(root + "messages_*.properties")) {
+                String filename = resource.getFilename();
+                String tag = filename.substring("messages_".length(), filename.length() - ".properties".length());
+                locales.add(Locale.forLanguageTag(tag.replace('_', '-')));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return locales;
     }
 }
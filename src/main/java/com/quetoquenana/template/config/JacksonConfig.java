@@ -0,0 +1,64 @@
+package com.quetoquenana.template.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.quetoquenana.template.model.Execution;
+import com.quetoquenana.template.model.StartupPhaseDurations;
+import com.quetoquenana.template.util.JsonViewWriterCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Writers for executions and lists of executions under the Execution views, built and warmed up at startup.
+     */
+    @Bean
+    public JsonViewWriterCache jsonViewWriterCache(ObjectMapper objectMapper) {
+        JsonViewWriterCache writerCache = new JsonViewWriterCache(objectMapper);
+        Execution sample = new Execution(UUID.randomUUID(), LocalDateTime.now(), "", "", "", "",
+                new StartupPhaseDurations(0L, 0L, 0L, 0L));
+        for (Class<?> view : List.of(Execution.ExecutionList.class, Execution.ExecutionDetail.class)) {
+            writerCache.prepare(objectMapper.constructType(Execution.class), view, sample);
+            writerCache.prepare(objectMapper.getTypeFactory().constructCollectionType(List.class, Execution.class),
+                    view, List.of(sample));
+        }
+        return writerCache;
+    }
+
+    /**
+     * Replaces the Spring Boot JSON converter; writes execution responses without per-response view writers.
+     */
+    @Bean
+    public JsonViewHttpMessageConverter jsonViewHttpMessageConverter(ObjectMapper objectMapper,
+                                                                     JsonViewWriterCache jsonViewWriterCache) {
+        return new JsonViewHttpMessageConverter(objectMapper, jsonViewWriterCache);
+    }
+
+    /**
+     * Smile ({@code Accept: application/x-jackson-smile}) with the Spring Boot Jackson settings and modules,
+     * so the controllers' JsonViews select the same fields as in JSON. Replaces the Spring MVC default converter
+     * in place, so JSON stays the default for {@code Accept: *}{@code /*}.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    /**
+     * CBOR ({@code Accept: application/cbor}), configured like the Smile converter.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
@@ -0,0 +1,191 @@
+package com.quetoquenana.template.config;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.quetoquenana.template.model.ApiResponse;
+import com.quetoquenana.template.model.Execution;
+import com.quetoquenana.template.util.JsonViewCursorPageUtil;
+import com.quetoquenana.template.util.JsonViewPageUtil;
+import com.quetoquenana.template.util.JsonViewSlicePageUtil;
+import com.quetoquenana.template.util.JsonViewWriterCache;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * JSON converter for {@link ApiResponse} bodies that hold executions under the Execution views. The envelope and
+ * the page metadata are written field by field, and the executions through the {@link JsonViewWriterCache}
+ * writer of the view, so no view writer is built and no envelope or page serializer is looked up per response.
+ * Output is byte-for-byte what the base converter writes; any other body, and any mapper setting that would
+ * change the envelope or page output, goes through the base converter.
+ */
+public class JsonViewHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+    private static final Set<Class<?>> VIEWS = Set.of(Execution.ExecutionList.class, Execution.ExecutionDetail.class);
+
+    private final JsonViewWriterCache writerCache;
+    private final JavaType executionType;
+    private final JavaType executionListType;
+    private final boolean direct;
+
+    public JsonViewHttpMessageConverter(ObjectMapper objectMapper, JsonViewWriterCache writerCache) {
+        super(objectMapper);
+        this.writerCache = writerCache;
+        this.executionType = objectMapper.constructType(Execution.class);
+        this.executionListType = objectMapper.getTypeFactory().constructCollectionType(List.class, Execution.class);
+        // "pageable" and "sort" hold no view property, so they are empty objects unless DEFAULT_VIEW_INCLUSION is on
+        this.direct = !objectMapper.isEnabled(MapperFeature.DEFAULT_VIEW_INCLUSION)
+                && !objectMapper.isEnabled(SerializationFeature.INDENT_OUTPUT)
+                && !objectMapper.isEnabled(SerializationFeature.WRAP_ROOT_VALUE)
+                && !objectMapper.isEnabled(SerializationFeature.WRITE_ENUMS_USING_TO_STRING)
+                && !objectMapper.isEnabled(SerializationFeature.WRITE_ENUMS_USING_INDEX);
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        if (!(object instanceof MappingJacksonValue value) || !isDirect(value)) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        ObjectMapper objectMapper = getObjectMapper();
+        JsonEncoding encoding = getJsonEncoding(outputMessage.getHeaders().getContentType());
+        try (JsonGenerator generator = objectMapper.getFactory()
+                .createGenerator(StreamUtils.nonClosing(outputMessage.getBody()), encoding)) {
+            objectMapper.getSerializationConfig().initialize(generator);
+            writePrefix(generator, object);
+            writeResponse(generator, (ApiResponse) value.getValue(), value.getSerializationView());
+            writeSuffix(generator, object);
+            generator.flush();
+        } catch (JsonProcessingException ex) {
+            throw new HttpMessageNotWritableException("Could not write JSON: " + ex.getOriginalMessage(), ex);
+        }
+    }
+
+    private boolean isDirect(MappingJacksonValue value) {
+        return direct && value.getFilters() == null && VIEWS.contains(value.getSerializationView())
+                && value.getValue() instanceof ApiResponse response && isExecutionData(response.getData());
+    }
+
+    private static boolean isExecutionData(@Nullable Object data) {
+        return switch (data) {
+            case null -> true;
+            case Execution execution -> true;
+            case List<?> list -> isExecutions(list);
+            case JsonViewPageUtil<?> page -> isExecutions(page.getContent());
+            case JsonViewSlicePageUtil<?> page -> isExecutions(page.getContent());
+            case JsonViewCursorPageUtil<?> page -> isExecutions(page.getContent());
+            default -> false;
+        };
+    }
+
+    private static boolean isExecutions(List<?> list) {
+        for (Object element : list) {
+            if (element != null && !(element instanceof Execution)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Same fields, order and NON_NULL inclusion as ApiResponse
+    private void writeResponse(JsonGenerator generator, ApiResponse response, Class<?> view) throws IOException {
+        generator.writeStartObject();
+        if (response.getMessage() != null) {
+            generator.writeStringField("message", response.getMessage());
+        }
+        if (response.getErrorCode() != null) {
+            generator.writeNumberField("errorCode", response.getErrorCode());
+        }
+        if (response.getData() != null) {
+            generator.writeFieldName("data");
+            writeData(generator, response.getData(), view);
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeData(JsonGenerator generator, Object data, Class<?> view) throws IOException {
+        switch (data) {
+            case Execution execution -> writerCache.writerFor(executionType, view).writeValue(generator, execution);
+            case List<?> executions -> writeExecutions(generator, executions, view);
+            case JsonViewPageUtil<?> page -> writePage(generator, page, view);
+            case JsonViewSlicePageUtil<?> page -> writeSlicePage(generator, page, view);
+            case JsonViewCursorPageUtil<?> page -> writeCursorPage(generator, page, view);
+            default -> throw new IllegalStateException("Unsupported data type " + data.getClass().getName());
+        }
+    }
+
+    private void writeExecutions(JsonGenerator generator, List<?> executions, Class<?> view) throws IOException {
+        writerCache.writerFor(executionListType, view).writeValue(generator, executions);
+    }
+
+    // Property order pinned by @JsonPropertyOrder on JsonViewPageUtil
+    private void writePage(JsonGenerator generator, JsonViewPageUtil<?> page, Class<?> view) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName("content");
+        writeExecutions(generator, page.getContent(), view);
+        generator.writeFieldName("pageable");
+        writeEmptyObject(generator);
+        generator.writeBooleanField("hasNext", page.hasNext());
+        generator.writeNumberField("totalPages", page.getTotalPages());
+        generator.writeNumberField("totalElements", page.getTotalElements());
+        generator.writeBooleanField("hasContent", page.hasContent());
+        generator.writeBooleanField("last", page.isLast());
+        generator.writeNumberField("size", page.getSize());
+        generator.writeNumberField("number", page.getNumber());
+        generator.writeFieldName("sort");
+        writeEmptyObject(generator);
+        generator.writeNumberField("numberOfElements", page.getNumberOfElements());
+        generator.writeBooleanField("first", page.isFirst());
+        generator.writeBooleanField("empty", page.isEmpty());
+        generator.writeEndObject();
+    }
+
+    private void writeSlicePage(JsonGenerator generator, JsonViewSlicePageUtil<?> page, Class<?> view)
+            throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName("content");
+        writeExecutions(generator, page.getContent(), view);
+        generator.writeNumberField("number", page.getNumber());
+        generator.writeNumberField("size", page.getSize());
+        generator.writeNumberField("numberOfElements", page.getNumberOfElements());
+        generator.writeBooleanField("hasNext", page.isHasNext());
+        generator.writeStringField("total", page.getTotal().name());
+        if (page.getTotalElements() != null) {
+            generator.writeNumberField("totalElements", page.getTotalElements());
+        }
+        if (page.getTotalPages() != null) {
+            generator.writeNumberField("totalPages", page.getTotalPages());
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeCursorPage(JsonGenerator generator, JsonViewCursorPageUtil<?> page, Class<?> view)
+            throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName("content");
+        writeExecutions(generator, page.getContent(), view);
+        generator.writeNumberField("size", page.getSize());
+        generator.writeStringField("nextCursor", page.getNextCursor());
+        generator.writeNumberField("numberOfElements", page.getNumberOfElements());
+        generator.writeBooleanField("hasNext", page.isHasNext());
+        generator.writeEndObject();
+    }
+
+    private static void writeEmptyObject(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeEndObject();
+    }
+}
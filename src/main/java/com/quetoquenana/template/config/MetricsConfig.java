@@ -0,0 +1,62 @@
+package com.quetoquenana.template.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Metrics on top of the ones Spring Boot binds automatically (http.server.requests, spring.data.repository.invocations,
+ * hikaricp.connections.*). Percentile histograms are enabled in application.properties.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Connection pool saturation: share of the pool in use ({@code hikaricp.connections.usage.ratio}, 0 to 1)
+     * and requests waiting for a connection per pool connection ({@code hikaricp.connections.pending.ratio}).
+     * A usage ratio at 1 with a growing pending ratio means requests are queuing on the pool.
+     */
+    @Bean
+    public MeterBinder connectionPoolSaturationMetrics(DataSource dataSource) {
+        return registry -> {
+            HikariDataSource hikari = unwrapHikari(dataSource);
+            if (hikari == null) {
+                return;
+            }
+            Gauge.builder("hikaricp.connections.usage.ratio", hikari,
+                            pool -> ratio(pool, true))
+                    .description("Active connections divided by the maximum pool size")
+                    .tag("pool", hikari.getPoolName() == null ? "default" : hikari.getPoolName())
+                    .register(registry);
+            Gauge.builder("hikaricp.connections.pending.ratio", hikari,
+                            pool -> ratio(pool, false))
+                    .description("Threads waiting for a connection divided by the maximum pool size")
+                    .tag("pool", hikari.getPoolName() == null ? "default" : hikari.getPoolName())
+                    .register(registry);
+        };
+    }
+
+    private static double ratio(HikariDataSource hikari, boolean active) {
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        // The pool starts with the first connection request
+        if (pool == null) {
+            return 0;
+        }
+        int used = active ? pool.getActiveConnections() : pool.getThreadsAwaitingConnection();
+        return (double) used / Math.max(hikari.getMaximumPoolSize(), 1);
+    }
+
+    private static HikariDataSource unwrapHikari(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.quetoquenana.template.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+
+/**
+ * Read-only DataSource that balances connections round robin across the healthy replicas.
+ * <ul>
+ *     <li>Replicas are probed on {@code app.datasource.replicas.health-check-interval}, on a thread of their own
+ *     so a replica that does not answer never delays the application's scheduled jobs. One that fails a probe
+ *     or a connection attempt is skipped until it passes a probe again.</li>
+ *     <li>All reads of one HTTP request use the same replica, so a validator read first (see ETags) is never
+ *     newer than the data read after it. The request is found through {@link RequestContextHolder}, which is not
+ *     bound on the threads of {@code StreamingResponseBody} or SSE responses: reads there pick a replica per
+ *     connection. The export reads through a single connection, so it is unaffected.</li>
+ *     <li>Falls back to the primary when no replica is healthy, and during the read-your-writes window of the
+ *     authenticated principal that committed a write. Writes without an authenticated principal (startup
+ *     recording, heartbeats, scheduled jobs) open no window, and principals are remembered per instance only.</li>
+ * </ul>
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+    private static final String PINNED_REPLICA_ATTRIBUTE = ReplicaRoutingDataSource.class.getName() + ".replica";
+    private static final int HEALTH_CHECK_TIMEOUT_SECONDS = 2;
+    // Principals with an open read-your-writes window; past this, the oldest windows may close early
+    private static final int MAX_RECENT_WRITERS = 10_000;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+    // Principal name -> present while its window is open; null when the window is disabled
+    private final Cache<String, Boolean> recentWriters;
+    private ScheduledExecutorService healthChecks;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<? extends DataSource> replicas,
+                                    Duration readYourWritesWindow) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.recentWriters = readYourWritesWindow.isZero() ? null : Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .maximumSize(MAX_RECENT_WRITERS)
+                .build();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (isWithinReadYourWritesWindow()) {
+            return primary.getConnection();
+        }
+        Replica replica = choose();
+        if (replica == null) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.dataSource.getConnection();
+        } catch (SQLException e) {
+            replica.markDown(e);
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica credentials are configured per pool");
+    }
+
+    /**
+     * Remember that the current principal committed a read-write transaction, so its reads stay on the primary
+     * during the window. Called on the committing thread.
+     */
+    public void recordWrite() {
+        String principal = currentPrincipal();
+        if (recentWriters != null && principal != null) {
+            recentWriters.put(principal, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Probe the replicas every interval, starting after one interval, on a dedicated daemon thread.
+     */
+    public synchronized void startHealthChecks(Duration interval) {
+        if (healthChecks == null) {
+            healthChecks = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("replica-health-check").daemon().factory());
+            healthChecks.scheduleWithFixedDelay(this::checkHealth, interval.toMillis(), interval.toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Probe every replica and update its health.
+     */
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (connection.isValid(HEALTH_CHECK_TIMEOUT_SECONDS)) {
+                    replica.markUp();
+                } else {
+                    replica.markDown(null);
+                }
+            } catch (SQLException e) {
+                replica.markDown(e);
+            }
+        }
+    }
+
+    /**
+     * @return number of replicas currently receiving reads
+     */
+    public int getHealthyReplicaCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy.get()).count();
+    }
+
+    /**
+     * Stop the health checks, waiting for a probe in progress so no replica changes health afterwards, then close
+     * the replica pools.
+     */
+    @Override
+    public void close() throws Exception {
+        ScheduledExecutorService executor;
+        synchronized (this) {
+            executor = healthChecks;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            if (!executor.awaitTermination(HEALTH_CHECK_TIMEOUT_SECONDS + 1L, TimeUnit.SECONDS)) {
+                log.warn("Replica health check did not stop within {} seconds", HEALTH_CHECK_TIMEOUT_SECONDS + 1);
+            }
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private boolean isWithinReadYourWritesWindow() {
+        if (recentWriters == null) {
+            return false;
+        }
+        String principal = currentPrincipal();
+        return principal != null && recentWriters.getIfPresent(principal) != null;
+    }
+
+    @Nullable
+    private static String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+
+    private Replica choose() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null
+                && request.getAttribute(PINNED_REPLICA_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Replica pinned
+                && pinned.healthy.get()) {
+            return pinned;
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy.get()) {
+                if (request != null) {
+                    request.setAttribute(PINNED_REPLICA_ATTRIBUTE, replica, RequestAttributes.SCOPE_REQUEST);
+                }
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private static final class Replica {
+        private final DataSource dataSource;
+        private final AtomicBoolean healthy = new AtomicBoolean(true);
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private void markUp() {
+            if (healthy.compareAndSet(false, true)) {
+                log.info("Replica {} is healthy again, routing reads to it.", dataSource);
+            }
+        }
+
+        private void markDown(SQLException cause) {
+            if (healthy.compareAndSet(true, false)) {
+                log.warn("Replica {} is unavailable, skipping it until the next successful health check: {}",
+                        dataSource, cause == null ? "connection not valid" : cause.getMessage());
+            }
+        }
+    }
+}
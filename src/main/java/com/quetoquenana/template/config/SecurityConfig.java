@@ -1,7 +1,13 @@
 package com.quetoquenana.template.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -9,24 +15,37 @@ import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+
 import static org.springframework.security.config.Customizer.withDefaults;
 
 @EnableMethodSecurity
 @Configuration
+@EnableConfigurationProperties(AdmissionProperties.class)
 public class SecurityConfig {
 
+    /**
+     * Admission control runs in two stages: the per-IP limit before HTTP Basic authentication, so failed logins
+     * are limited too, and the per-principal limit after it.
+     */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, AdmissionControl admissionControl,
+                                           ObjectMapper objectMapper, MessageSource messageSource) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/executions").permitAll()
                         .anyRequest().authenticated()
                 )
-                .httpBasic(withDefaults());
+                .httpBasic(withDefaults())
+                .addFilterBefore(new ClientAdmissionFilter(admissionControl, objectMapper, messageSource),
+                        BasicAuthenticationFilter.class)
+                .addFilterAfter(new AdmissionControlFilter(admissionControl, objectMapper, messageSource),
+                        BasicAuthenticationFilter.class);
         return http.build();
     }
 
@@ -35,6 +54,25 @@ public class SecurityConfig {
         return new BCryptPasswordEncoder();
     }
 
+    /**
+     * Password verification for HTTP Basic. Unless disabled, successful verifications are cached
+     * so the BCrypt hash runs once per credential and TTL instead of on every request.
+     */
+    @Bean
+    public AuthenticationProvider authenticationProvider(
+            UserDetailsService users,
+            PasswordEncoder passwordEncoder,
+            @Value("${app.security.auth-cache.enabled:true}") boolean cacheEnabled,
+            @Value("${app.security.auth-cache.max-size:10000}") long cacheMaxSize,
+            @Value("${app.security.auth-cache.ttl:5m}") Duration cacheTtl) {
+        DaoAuthenticationProvider daoAuthenticationProvider = new DaoAuthenticationProvider(users);
+        daoAuthenticationProvider.setPasswordEncoder(passwordEncoder);
+        if (!cacheEnabled) {
+            return daoAuthenticationProvider;
+        }
+        return new CachingAuthenticationProvider(daoAuthenticationProvider, users, cacheMaxSize, cacheTtl);
+    }
+
     @Bean
     public UserDetailsService users(PasswordEncoder passwordEncoder) {
         return new InMemoryUserDetailsManager(
@@ -0,0 +1,86 @@
+package com.quetoquenana.template.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.Arrays;
+
+/**
+ * Startup phase timing and the beans that must stay eager when lazy initialization is enabled
+ * (see application-fast-start.properties).
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    public static StartupPhaseTimer startupPhaseTimer() {
+        return new StartupPhaseTimer();
+    }
+
+    /**
+     * Run the Flyway migration as Spring Boot would, measuring how long it takes.
+     */
+    @Bean
+    public FlywayMigrationStrategy timedFlywayMigrationStrategy(StartupPhaseTimer startupPhaseTimer) {
+        return flyway -> {
+            long start = System.nanoTime();
+            flyway.migrate();
+            startupPhaseTimer.setFlywayMigrationMillis(StartupPhaseTimer.millisSince(start));
+        };
+    }
+
+    /**
+     * Measure the JPA bootstrap: the entity manager factory is built while its factory bean is initialized.
+     */
+    @Bean
+    public static BeanPostProcessor jpaBootstrapTimer(StartupPhaseTimer startupPhaseTimer) {
+        return new BeanPostProcessor() {
+            private long start;
+
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof AbstractEntityManagerFactoryBean) {
+                    start = System.nanoTime();
+                }
+                return bean;
+            }
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof AbstractEntityManagerFactoryBean) {
+                    startupPhaseTimer.setJpaBootstrapMillis(StartupPhaseTimer.millisSince(start));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Beans created at startup even with spring.main.lazy-initialization=true.
+     * Scheduled beans would otherwise never be registered, the pinning monitor would never start, and the
+     * entity manager factory is used by StartupExecutionRecorder as soon as the application is ready anyway.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerStartupBeans() {
+        LazyInitializationExcludeFilter eagerTypes = LazyInitializationExcludeFilter.forBeanTypes(
+                AbstractEntityManagerFactoryBean.class,
+                EntityManagerFactory.class,
+                VirtualThreadPinningMonitor.class
+        );
+        return (beanName, beanDefinition, beanType) ->
+                eagerTypes.isExcluded(beanName, beanDefinition, beanType) || hasScheduledMethods(beanType);
+    }
+
+    private static boolean hasScheduledMethods(Class<?> beanType) {
+        return beanType != null && Arrays.stream(ReflectionUtils.getUniqueDeclaredMethods(beanType))
+                .anyMatch(method -> AnnotatedElementUtils.hasAnnotation(method, Scheduled.class));
+    }
+}
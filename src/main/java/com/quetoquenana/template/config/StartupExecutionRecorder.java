@@ -1,6 +1,7 @@
 package com.quetoquenana.template.config;
 
 import com.quetoquenana.template.service.ExecutionService;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.stereotype.Component;
@@ -12,13 +13,24 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class StartupExecutionRecorder {
     private final ExecutionService executionService;
+    private final StartupPhaseTimer startupPhaseTimer;
+
+    /**
+     * Keep the context refresh duration until the application is ready.
+     */
+    @EventListener
+    public void recordContextRefresh(ApplicationStartedEvent event) {
+        if (event.getTimeTaken() != null) {
+            startupPhaseTimer.setContextRefreshMillis(event.getTimeTaken().toMillis());
+        }
+    }
 
     /**
      * Save a new execution record when the application is fully started.
      */
-    @EventListener(ApplicationReadyEvent.class)
-    public void recordExecutionOnStartup() {
+    @EventListener
+    public void recordExecutionOnStartup(ApplicationReadyEvent event) {
         log.info("Application started, recording execution event.");
-        executionService.saveExecutionOnStartup();
+        executionService.saveExecutionOnStartup(startupPhaseTimer.toDurations(event.getTimeTaken()));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+package com.quetoquenana.template.config;
+
+import com.quetoquenana.template.model.StartupPhaseDurations;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * Collects how long each startup phase took while the application context starts.
+ * Phases that did not run (for example Flyway when it is disabled) stay null.
+ */
+@Getter
+@Setter
+public class StartupPhaseTimer {
+    private volatile Long contextRefreshMillis;
+    private volatile Long flywayMigrationMillis;
+    private volatile Long jpaBootstrapMillis;
+
+    /**
+     * Build the durations to persist, completed with the time the application took to become ready.
+     * @param timeToReady time from SpringApplication.run to ApplicationReadyEvent, may be null
+     * @return startup phase durations
+     */
+    public StartupPhaseDurations toDurations(Duration timeToReady) {
+        return new StartupPhaseDurations(
+                contextRefreshMillis,
+                flywayMigrationMillis,
+                jpaBootstrapMillis,
+                timeToReady == null ? null : timeToReady.toMillis()
+        );
+    }
+
+    static long millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
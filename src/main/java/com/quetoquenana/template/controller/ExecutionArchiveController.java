@@ -0,0 +1,113 @@
+package com.quetoquenana.template.controller;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.quetoquenana.template.exception.InvalidRequestException;
+import com.quetoquenana.template.exception.RecordNotFoundException;
+import com.quetoquenana.template.model.ApiBaseResponseView;
+import com.quetoquenana.template.model.ApiResponse;
+import com.quetoquenana.template.model.Execution;
+import com.quetoquenana.template.model.ExecutionArchive;
+import com.quetoquenana.template.service.ExecutionArchiveService;
+import com.quetoquenana.template.util.AsyncRequestTimeout;
+import com.quetoquenana.template.util.NdjsonStreamingBody;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/executions/archives")
+@RequiredArgsConstructor
+@Slf4j
+public class ExecutionArchiveController {
+
+    private final ExecutionArchiveService executionArchiveService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.executions.export.timeout:10m}")
+    private Duration exportTimeout;
+
+    /**
+     * Copy the executions of a time range from the table into a new archive file
+     * @param from start of the range (inclusive, ISO date-time)
+     * @param to end of the range (exclusive, ISO date-time)
+     * @return ResponseEntity with ApiResponse (the created archive)
+     */
+    @PostMapping
+    @PreAuthorize("hasRole('SYSTEM')")
+    @JsonView(ApiBaseResponseView.Always.class)
+    public ResponseEntity<ApiResponse> createArchive(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("POST /api/executions/archives?from={}&to={} called", from, to);
+        ExecutionArchive archive = executionArchiveService.createArchive(from, to);
+        return ResponseEntity.status(HttpStatus.CREATED).body(new ApiResponse(archive));
+    }
+
+    /**
+     * Get the available archives, ordered by range
+     * @return ResponseEntity with ApiResponse (list of archives)
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('SYSTEM')")
+    @JsonView(ApiBaseResponseView.Always.class)
+    public ResponseEntity<ApiResponse> getArchives() {
+        log.info("GET /api/executions/archives called");
+        return ResponseEntity.ok(new ApiResponse(executionArchiveService.findAll()));
+    }
+
+    /**
+     * Get an archived execution by id
+     * @param id UUID of execution
+     * @return ResponseEntity with ApiResponse (execution or error)
+     */
+    @GetMapping("/executions/{id}")
+    @PreAuthorize("hasRole('SYSTEM')")
+    @JsonView(Execution.ExecutionDetail.class)
+    public ResponseEntity<ApiResponse> getArchivedExecutionById(@PathVariable UUID id) {
+        log.info("GET /api/executions/archives/executions/{} called", id);
+        return executionArchiveService.findById(id)
+                .map(execution -> ResponseEntity.ok(new ApiResponse(execution)))
+                .orElseThrow(RecordNotFoundException::new);
+    }
+
+    /**
+     * Stream the archived executions of a time range as newline-delimited JSON, one ExecutionList view per line,
+     * in (executedAt, id) order. Rows are decoded from the mapped archives as they are written.
+     * @param from start of the range (inclusive, optional)
+     * @param to end of the range (exclusive, optional)
+     * @param webRequest current request, for the async timeout
+     * @return ResponseEntity with a streaming NDJSON body
+     */
+    @GetMapping(value = "/executions", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('SYSTEM')")
+    public ResponseEntity<StreamingResponseBody> exportArchivedExecutions(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            NativeWebRequest webRequest) {
+        log.info("GET /api/executions/archives/executions?from={}&to={} called", from, to);
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new InvalidRequestException("executed.range.invalid");
+        }
+        AsyncRequestTimeout.apply(webRequest, exportTimeout);
+        ObjectWriter writer = objectMapper.writerWithView(Execution.ExecutionList.class);
+        NdjsonStreamingBody<Execution> body = new NdjsonStreamingBody<>(writer,
+                consumer -> executionArchiveService.forEachExecution(from, to, consumer));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
@@ -1,19 +1,48 @@
 package com.quetoquenana.template.controller;
 
 import com.fasterxml.jackson.annotation.JsonView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.quetoquenana.template.exception.InvalidRequestException;
 import com.quetoquenana.template.exception.RecordNotFoundException;
 import com.quetoquenana.template.model.ApiResponse;
+import com.quetoquenana.template.model.BatchIngestionResult;
 import com.quetoquenana.template.model.Execution;
+import com.quetoquenana.template.model.ExecutionFilter;
+import com.quetoquenana.template.model.PageTotal;
 import com.quetoquenana.template.service.ExecutionService;
+import com.quetoquenana.template.util.AsyncRequestTimeout;
+import com.quetoquenana.template.util.ExecutionCursor;
+import com.quetoquenana.template.util.JsonViewCursorPageUtil;
 import com.quetoquenana.template.util.JsonViewPageUtil;
+import com.quetoquenana.template.util.JsonViewSlicePageUtil;
+import com.quetoquenana.template.util.NdjsonStreamingBody;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.SortDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
@@ -23,44 +52,74 @@ import java.util.UUID;
 @RequiredArgsConstructor
 @Slf4j
 public class ExecutionController {
+    private static final int MAX_PAGE_SIZE = 1000;
+    // Shared caches may store responses but must revalidate every time, so each request still passes authentication
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePublic();
 
     private final ExecutionService executionService;
+    private final ObjectMapper objectMapper;
+    private final MessageSource messageSource;
+
+    @Value("${app.executions.export.timeout:10m}")
+    private Duration exportTimeout;
 
     /**
-     * Get all executions
+     * Get all executions. Answers 304 without querying the executions when If-None-Match matches.
+     * @param requestHeaders request headers, If-None-Match is evaluated
      * @return ResponseEntity with ApiResponse (list of executions)
      */
     @GetMapping
     @PreAuthorize("isAuthenticated()")
     @JsonView(Execution.ExecutionList.class)
-    public ResponseEntity<ApiResponse> getAllExecutions() {
+    public ResponseEntity<ApiResponse> getAllExecutions(@RequestHeader HttpHeaders requestHeaders) {
         log.info("GET /api/executions called");
+        // Read the version before the data: a concurrent insert then changes the ETag of the next response
+        String etag = executionService.getVersion().toETag();
+        if (isNotModified(requestHeaders, etag)) {
+            return notModified(etag);
+        }
         List<Execution> entities = executionService.findAll();
-        return ResponseEntity.ok(new ApiResponse(entities));
+        return revalidated(HttpStatus.OK, etag).body(new ApiResponse(entities));
     }
 
     /**
-     * Get execution by id
+     * Get execution by id. Executions are immutable, so the ETag is derived from the id alone. Retention removes
+     * them though, so the execution is looked up (through the cache) before a matching If-None-Match is answered
+     * with 304: a removed execution is a 404, never a 304.
+     * A miss is logged and answered by ControllerExceptionAdvice.
      * @param id UUID of execution
+     * @param requestHeaders request headers, If-None-Match is evaluated
      * @return ResponseEntity with ApiResponse (execution or error)
      */
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('SYSTEM')")
     @JsonView(Execution.ExecutionDetail.class)
-    public ResponseEntity<ApiResponse> getExecutionById(@PathVariable UUID id, Locale locale) {
+    public ResponseEntity<ApiResponse> getExecutionById(@PathVariable UUID id,
+                                                        @RequestHeader HttpHeaders requestHeaders) {
         log.info("GET /api/executions/{} called", id);
-        return executionService.findById(id)
-                .map(entity -> ResponseEntity.ok(new ApiResponse(entity)))
-                .orElseGet(() -> {
-                    log.error("Execution with id {} not found", id);
-                    throw new RecordNotFoundException("record.not.found", null, locale);
-                });
+        Execution entity = executionService.findById(id).orElseThrow(RecordNotFoundException::new);
+        String etag = "W/\"" + id + "\"";
+        if (isNotModified(requestHeaders, etag)) {
+            return notModified(etag);
+        }
+        return revalidated(HttpStatus.OK, etag).body(new ApiResponse(entity));
     }
 
     /**
-     * Get executions with pagination
+     * Get executions with pagination, optionally filtered and sorted.
+     * Answers 304 without the page and count queries when If-None-Match matches.
+     * With {@code total=APPROXIMATE} or {@code total=NONE} no count query is run: the page reads one extra row
+     * to tell whether a next page exists, and the total is a planner estimate or left out.
      * @param page page number (default 0)
-     * @param size page size (default 10)
+     * @param size page size (default 10, at most 1000)
+     * @param environment only executions of this environment
+     * @param appVersion only executions of this app version
+     * @param serverName only executions of this server
+     * @param executedFrom only executions at or after this time
+     * @param executedTo only executions before this time
+     * @param sort {@code sort=property[,asc|desc]}, repeatable (default executedAt descending)
+     * @param total EXACT, APPROXIMATE or NONE (default EXACT)
+     * @param requestHeaders request headers, If-None-Match is evaluated
      * @return ResponseEntity with ApiResponse (paginated executions)
      */
     @GetMapping("/page")
@@ -68,9 +127,148 @@ public class ExecutionController {
     @JsonView(Execution.ExecutionList.class)
     public ResponseEntity<ApiResponse> getExecutionsPage(
             @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String environment,
+            @RequestParam(required = false) String appVersion,
+            @RequestParam(required = false) String serverName,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime executedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime executedTo,
+            @SortDefault(sort = "executedAt", direction = Sort.Direction.DESC) Sort sort,
+            @RequestParam(defaultValue = "EXACT") PageTotal total,
+            @RequestHeader HttpHeaders requestHeaders) {
+        log.info("GET /api/executions/page?page={}&size={}&total={} called", page, size, total);
+        if (page < 0) {
+            throw new InvalidRequestException("page.number.invalid");
+        }
+        validatePageSize(size);
+        ExecutionFilter filter = new ExecutionFilter(environment, appVersion, serverName, executedFrom, executedTo);
+        PageRequest pageRequest = PageRequest.of(page, size, sort);
+        // Before the precondition: an invalid request is a 400 even when If-None-Match matches
+        executionService.validateQuery(filter, pageRequest);
+        String etag = executionService.getVersion().toETag(page, size, digest(environment, appVersion, serverName,
+                executedFrom, executedTo, sort, total));
+        if (isNotModified(requestHeaders, etag)) {
+            return notModified(etag);
+        }
+        if (total == PageTotal.EXACT) {
+            Page<Execution> entities = executionService.findAll(filter, pageRequest);
+            return revalidated(HttpStatus.OK, etag)
+                    .body(new ApiResponse(new JsonViewPageUtil<>(entities, entities.getPageable())));
+        }
+        Slice<Execution> entities = executionService.findSlice(filter, pageRequest);
+        Long estimatedTotal = total == PageTotal.APPROXIMATE ? executionService.estimateTotal(filter) : null;
+        return revalidated(HttpStatus.OK, etag)
+                .body(new ApiResponse(new JsonViewSlicePageUtil<>(entities, estimatedTotal)));
+    }
+
+    /**
+     * Get executions with keyset (cursor) pagination ordered by (executedAt, id)
+     * @param cursor opaque continuation token from a previous response (absent for the first page)
+     * @param size page size (default 10, at most 1000)
+     * @return ResponseEntity with ApiResponse (cursor page of executions)
+     */
+    @GetMapping("/cursor")
+    @PreAuthorize("hasRole('SYSTEM')")
+    @JsonView(Execution.ExecutionList.class)
+    public ResponseEntity<ApiResponse> getExecutionsByCursor(
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "10") int size) {
-        log.info("GET /api/executions/page?page={}&size={} called", page, size);
-        Page<Execution> entities = executionService.findAll(PageRequest.of(page, size));
-        return ResponseEntity.ok(new ApiResponse(new JsonViewPageUtil<>(entities, entities.getPageable())));
+        log.info("GET /api/executions/cursor?size={} called", size);
+        validatePageSize(size);
+        Slice<Execution> entities = executionService.findAllAfter(ExecutionCursor.decode(cursor), size);
+        String nextCursor = entities.hasNext()
+                ? ExecutionCursor.of(entities.getContent().getLast()).encode()
+                : null;
+        return ResponseEntity.ok(new ApiResponse(new JsonViewCursorPageUtil<>(entities.getContent(), size, nextCursor)));
+    }
+
+    /**
+     * Export all executions as newline-delimited JSON, one ExecutionList view per line.
+     * Rows are written as they are read from the database, so memory stays flat for any table size.
+     * The request may run for {@code app.executions.export.timeout}.
+     * @param webRequest current request, for the async timeout
+     * @return ResponseEntity with a streaming NDJSON body
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('SYSTEM')")
+    public ResponseEntity<StreamingResponseBody> exportExecutions(NativeWebRequest webRequest) {
+        log.info("GET /api/executions/export called");
+        AsyncRequestTimeout.apply(webRequest, exportTimeout);
+        ObjectWriter writer = objectMapper.writerWithView(Execution.ExecutionList.class);
+        NdjsonStreamingBody<Execution> body = new NdjsonStreamingBody<>(writer, executionService::forEachExecution);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Bulk ingestion of executions reported by external jobs
+     * @param executions executions to store; a missing id is generated
+     * @param locale locale for the per-record error messages
+     * @return ResponseEntity with ApiResponse (ingestion result with per-record errors and throughput)
+     */
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('SYSTEM')")
+    @JsonView(Execution.ExecutionList.class)
+    public ResponseEntity<ApiResponse> saveExecutionsBatch(@RequestBody List<Execution> executions, Locale locale) {
+        log.info("POST /api/executions/batch called with {} executions", executions.size());
+        BatchIngestionResult result = executionService.saveBatch(executions);
+        result.getErrors().forEach(error ->
+                error.setMessage(messageSource.getMessage(error.getMessageKey(), error.getMessageArgs(), locale)));
+        log.info("Batch ingestion stored {} of {} executions ({} rows/s)",
+                result.getInserted(), result.getReceived(), result.getRowsPerSecond());
+        return ResponseEntity.ok(new ApiResponse(result));
+    }
+
+    // Also keeps size + 1, read by the slice and cursor queries, from overflowing
+    private static void validatePageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("page.size.invalid", MAX_PAGE_SIZE);
+        }
+    }
+
+    // Only called once a current representation exists (collections always have one), so "*" may match
+    private static boolean isNotModified(HttpHeaders requestHeaders, String etag) {
+        // Weak comparison, as required for If-None-Match
+        String opaqueTag = stripWeakPrefix(etag);
+        return requestHeaders.getIfNoneMatch().stream()
+                .anyMatch(tag -> tag.equals("*") || stripWeakPrefix(tag).equals(opaqueTag));
+    }
+
+    /**
+     * ETag qualifier for request parameters: SHA-256 of their length-prefixed string forms, so distinct
+     * parameter combinations never share an ETag in practice and no parameter text reaches the header.
+     */
+    private static String digest(Object... parameters) {
+        StringBuilder canonical = new StringBuilder();
+        for (Object parameter : parameters) {
+            if (parameter == null) {
+                canonical.append("-;");
+            } else {
+                String value = parameter.toString();
+                canonical.append(value.length()).append(':').append(value).append(';');
+            }
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String stripWeakPrefix(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static ResponseEntity<ApiResponse> notModified(String etag) {
+        return revalidated(HttpStatus.NOT_MODIFIED, etag).build();
+    }
+
+    // The same version is served as JSON, Smile or CBOR (possibly compressed), hence weak ETags and Vary: Accept
+    private static ResponseEntity.BodyBuilder revalidated(HttpStatus status, String etag) {
+        return ResponseEntity.status(status).eTag(etag).cacheControl(CACHE_CONTROL).varyBy(HttpHeaders.ACCEPT);
     }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.quetoquenana.template.controller;
+
+import com.quetoquenana.template.service.ExecutionFeedService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/executions/stream")
+@RequiredArgsConstructor
+@Slf4j
+public class ExecutionFeedController {
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final ExecutionFeedService executionFeedService;
+
+    /**
+     * Stream newly saved executions as Server-Sent Events, one {@code execution} event per execution
+     * with its id as event id and the ExecutionList view as data. Replaces polling {@code GET /api/executions}.
+     * @param lastEventIdHeader id of the last execution received, sent by EventSource when it reconnects
+     * @param lastEventId same as the header, for the first connection of clients that cannot set headers
+     * @return ResponseEntity with the event stream, or 503 when the maximum number of subscribers is reached
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<SseEmitter> streamExecutions(
+            @RequestHeader(value = LAST_EVENT_ID, required = false) UUID lastEventIdHeader,
+            @RequestParam(required = false) UUID lastEventId) {
+        UUID resumeAfter = lastEventIdHeader != null ? lastEventIdHeader : lastEventId;
+        log.info("GET /api/executions/stream called, resuming after {}", resumeAfter);
+        return executionFeedService.subscribe(resumeAfter)
+                .map(emitter -> ResponseEntity.ok()
+                        .contentType(MediaType.TEXT_EVENT_STREAM)
+                        .body(emitter))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+}
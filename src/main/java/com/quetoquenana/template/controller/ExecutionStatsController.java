@@ -0,0 +1,62 @@
+package com.quetoquenana.template.controller;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import com.quetoquenana.template.model.ApiBaseResponseView;
+import com.quetoquenana.template.model.ApiResponse;
+import com.quetoquenana.template.model.ExecutionStatBucket;
+import com.quetoquenana.template.service.ExecutionStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/executions/stats")
+@RequiredArgsConstructor
+@Slf4j
+public class ExecutionStatsController {
+
+    private final ExecutionStatsService executionStatsService;
+
+    /**
+     * Get a time-bucketed histogram of executions, read from the hourly rollup
+     * @param from start of the range (inclusive, ISO date-time, a bucket start of the granularity)
+     * @param to end of the range (exclusive, ISO date-time, a bucket start of the granularity)
+     * @param granularity bucket width (default HOUR)
+     * @param groupBy optional dimension to split each bucket by
+     * @return ResponseEntity with ApiResponse (list of buckets)
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('SYSTEM')")
+    @JsonView(ApiBaseResponseView.Always.class)
+    public ResponseEntity<ApiResponse> getExecutionStats(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "HOUR") ExecutionStatBucket.Granularity granularity,
+            @RequestParam(required = false) ExecutionStatBucket.Dimension groupBy) {
+        log.info("GET /api/executions/stats?from={}&to={}&granularity={}&groupBy={} called", from, to, granularity, groupBy);
+        List<ExecutionStatBucket> buckets = executionStatsService.getHistogram(from, to, granularity, groupBy);
+        return ResponseEntity.ok(new ApiResponse(buckets));
+    }
+
+    /**
+     * Rebuild the statistics rollup of a time range from the existing executions
+     * @param from start of the range (inclusive, ISO date-time, on the hour)
+     * @param to end of the range (exclusive, ISO date-time, on the hour)
+     * @return ResponseEntity with ApiResponse (number of rollup rows written)
+     */
+    @PostMapping("/backfill")
+    @PreAuthorize("hasRole('SYSTEM')")
+    @JsonView(ApiBaseResponseView.Always.class)
+    public ResponseEntity<ApiResponse> backfillExecutionStats(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("POST /api/executions/stats/backfill?from={}&to={} called", from, to);
+        return ResponseEntity.ok(new ApiResponse(executionStatsService.backfill(from, to)));
+    }
+}
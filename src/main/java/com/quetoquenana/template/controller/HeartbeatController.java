@@ -0,0 +1,34 @@
+package com.quetoquenana.template.controller;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import com.quetoquenana.template.model.ApiBaseResponseView;
+import com.quetoquenana.template.model.ApiResponse;
+import com.quetoquenana.template.service.HeartbeatService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/instances")
+@RequiredArgsConstructor
+@Slf4j
+public class HeartbeatController {
+
+    private final HeartbeatService heartbeatService;
+
+    /**
+     * Get the instances that sent a heartbeat within the live window, with their latest heartbeat
+     * @return ResponseEntity with ApiResponse (list of heartbeats, one per server)
+     */
+    @GetMapping("/live")
+    @PreAuthorize("hasRole('SYSTEM')")
+    @JsonView(ApiBaseResponseView.Always.class)
+    public ResponseEntity<ApiResponse> getLiveInstances() {
+        log.info("GET /api/instances/live called");
+        return ResponseEntity.ok(new ApiResponse(heartbeatService.findLiveInstances()));
+    }
+}
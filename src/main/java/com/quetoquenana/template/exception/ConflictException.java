@@ -0,0 +1,23 @@
+package com.quetoquenana.template.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * The request lost a race with a concurrent change and can be sent again as is after {@code retryAfter}.
+ */
+@Getter
+public class ConflictException extends RuntimeException {
+    private final String messageKey;
+    private final Duration retryAfter;
+    private final Object[] messageArgs;
+
+    public ConflictException(String messageKey, Duration retryAfter, Object... messageArgs) {
+        super(messageKey);
+        this.messageKey = messageKey;
+        this.retryAfter = retryAfter;
+        this.messageArgs = messageArgs;
+    }
+
+}
@@ -1,21 +1,71 @@
 package com.quetoquenana.template.exception;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.quetoquenana.template.model.ApiResponse;
+import com.quetoquenana.template.util.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.i18n.AcceptHeaderLocaleResolver;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 @Slf4j
 @ControllerAdvice
 public class ControllerExceptionAdvice {
-    @Autowired
-    private MessageSource messageSource;
+    public static final String NOT_FOUND_METRIC = "api.responses.not.found";
+    private static final String NOT_FOUND_MESSAGE_KEY = "record.not.found";
+    // At most one not-found log line per second (bursts of 10); the others are counted and reported with the next line
+    private static final double NOT_FOUND_LOG_RATE = 1.0;
+    private static final int NOT_FOUND_LOG_BURST = 10;
+
+    private final MessageSource messageSource;
+    private final Counter notFoundCounter;
+    private final ContentNegotiationManager contentNegotiationManager;
+    // Formats a pre-rendered body is written in, JSON first: it is the default when nothing else is acceptable
+    private final Map<MediaType, ObjectMapper> notFoundFormats = new LinkedHashMap<>();
+    private final Map<NotFoundKey, List<RenderedBody>> notFoundResponses = new ConcurrentHashMap<>();
+    private final TokenBucket notFoundLogBucket = new TokenBucket(NOT_FOUND_LOG_RATE, NOT_FOUND_LOG_BURST);
+    private final LongAdder suppressedNotFoundLogs = new LongAdder();
+
+    /**
+     * The not-found body is serialized up front for every supported locale, in JSON, Smile and CBOR; the locale
+     * resolver maps each request to one of the locales, so the cache cannot grow with arbitrary Accept-Language
+     * values.
+     */
+    public ControllerExceptionAdvice(MessageSource messageSource, MeterRegistry meterRegistry,
+                                     AcceptHeaderLocaleResolver localeResolver, ObjectMapper objectMapper,
+                                     MappingJackson2SmileHttpMessageConverter smileConverter,
+                                     MappingJackson2CborHttpMessageConverter cborConverter,
+                                     ContentNegotiationManager contentNegotiationManager) {
+        this.messageSource = messageSource;
+        this.notFoundCounter = meterRegistry.counter(NOT_FOUND_METRIC,
+                "exception", RecordNotFoundException.class.getSimpleName());
+        this.contentNegotiationManager = contentNegotiationManager;
+        notFoundFormats.put(MediaType.APPLICATION_JSON, objectMapper);
+        notFoundFormats.put(smileConverter.getSupportedMediaTypes().getFirst(), smileConverter.getObjectMapper());
+        notFoundFormats.put(cborConverter.getSupportedMediaTypes().getFirst(), cborConverter.getObjectMapper());
+        localeResolver.getSupportedLocales().forEach(locale -> notFoundResponse(NOT_FOUND_MESSAGE_KEY, locale));
+    }
 
     @ExceptionHandler(ImmutableFieldModificationException.class)
     public ResponseEntity<ApiResponse> handleImmutableFieldModificationException(
@@ -25,12 +75,99 @@ public class ControllerExceptionAdvice {
         return ResponseEntity.badRequest().body(new ApiResponse(message, HttpStatus.BAD_REQUEST.value()));
     }
 
-    @ExceptionHandler(RecordNotFoundException.class)
-    public ResponseEntity<ApiResponse> handleRecordNotFoundException(
-            RecordNotFoundException ex, Locale locale) {
-        log.error("RecordNotFoundException: {}", ex.getMessage());
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ApiResponse> handleInvalidRequestException(
+            InvalidRequestException ex, Locale locale) {
+        log.error("InvalidRequestException: {}", ex.getMessage());
+        String message = messageSource.getMessage(ex.getMessageKey(), ex.getMessageArgs(), locale);
+        return ResponseEntity.badRequest().body(new ApiResponse(message, HttpStatus.BAD_REQUEST.value()));
+    }
+
+    /**
+     * Nothing was changed and the same request can succeed later, so the client is told when to retry.
+     */
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ApiResponse> handleConflictException(ConflictException ex, Locale locale) {
+        log.warn("ConflictException: {}", ex.getMessage());
         String message = messageSource.getMessage(ex.getMessageKey(), ex.getMessageArgs(), locale);
-        return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                .body(new ApiResponse(message, HttpStatus.NOT_FOUND.value()));
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(new ApiResponse(message, HttpStatus.CONFLICT.value()));
+    }
+
+    /**
+     * Misses are expected (and cheap to provoke), so they are answered with pre-serialized bytes in the format the
+     * request accepts (JSON when it accepts none of them) and logged at a bounded rate. Messages with arguments are
+     * still resolved and serialized per request.
+     */
+    @ExceptionHandler(RecordNotFoundException.class)
+    public ResponseEntity<Object> handleRecordNotFoundException(
+            RecordNotFoundException ex, Locale locale, NativeWebRequest request) {
+        notFoundCounter.increment();
+        logNotFound(ex);
+        if (ex.getMessageArgs() != null && ex.getMessageArgs().length > 0) {
+            String message = messageSource.getMessage(ex.getMessageKey(), ex.getMessageArgs(), locale);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse(message, HttpStatus.NOT_FOUND.value()));
+        }
+        RenderedBody body = select(notFoundResponse(ex.getMessageKey(), locale), request);
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).contentType(body.mediaType()).body(body.bytes());
+    }
+
+    // Shared arrays: never modified after creation
+    private List<RenderedBody> notFoundResponse(String messageKey, Locale locale) {
+        return notFoundResponses.computeIfAbsent(new NotFoundKey(messageKey, locale), key -> {
+            ApiResponse response = new ApiResponse(
+                    messageSource.getMessage(key.messageKey(), null, key.locale()), HttpStatus.NOT_FOUND.value());
+            List<RenderedBody> bodies = new ArrayList<>();
+            notFoundFormats.forEach((mediaType, mapper) ->
+                    bodies.add(new RenderedBody(mediaType, render(mapper, response))));
+            return List.copyOf(bodies);
+        });
+    }
+
+    private static byte[] render(ObjectMapper mapper, ApiResponse response) {
+        try {
+            return mapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize the not-found response", e);
+        }
+    }
+
+    // Accepted types come sorted by quality and specificity, as for any other response
+    private RenderedBody select(List<RenderedBody> bodies, NativeWebRequest request) {
+        List<MediaType> accepted;
+        try {
+            accepted = contentNegotiationManager.resolveMediaTypes(request);
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            return bodies.getFirst();
+        }
+        for (MediaType mediaType : accepted) {
+            for (RenderedBody body : bodies) {
+                if (mediaType.includes(body.mediaType())) {
+                    return body;
+                }
+            }
+        }
+        return bodies.getFirst();
+    }
+
+    private void logNotFound(RecordNotFoundException ex) {
+        if (notFoundLogBucket.tryAcquire(System.nanoTime()) > 0) {
+            suppressedNotFoundLogs.increment();
+            return;
+        }
+        long suppressed = suppressedNotFoundLogs.sumThenReset();
+        if (suppressed > 0) {
+            log.warn("RecordNotFoundException: {} ({} more since the last report)", ex.getMessageKey(), suppressed);
+        } else {
+            log.warn("RecordNotFoundException: {}", ex.getMessageKey());
+        }
+    }
+
+    private record NotFoundKey(String messageKey, Locale locale) {
+    }
+
+    private record RenderedBody(MediaType mediaType, byte[] bytes) {
     }
 }
@@ -0,0 +1,16 @@
+package com.quetoquenana.template.exception;
+
+import lombok.Getter;
+
+@Getter
+public class InvalidRequestException extends RuntimeException {
+    private final String messageKey;
+    private final Object[] messageArgs;
+
+    public InvalidRequestException(String messageKey, Object... messageArgs) {
+        super(messageKey);
+        this.messageKey = messageKey;
+        this.messageArgs = messageArgs;
+    }
+
+}
@@ -2,6 +2,10 @@ package com.quetoquenana.template.exception;
 
 import lombok.Getter;
 
+/**
+ * Thrown when a requested record does not exist. A miss is an expected outcome (and a cheap one for scanners
+ * probing random ids), so the exception carries no stack trace and no suppressed exceptions.
+ */
 @Getter
 public class RecordNotFoundException extends RuntimeException {
     private static final String DEFAULT_MESSAGE_KEY = "record.not.found";
@@ -11,13 +15,11 @@ public class RecordNotFoundException extends RuntimeException {
 
 
     public RecordNotFoundException() {
-        super();
-        this.messageKey = DEFAULT_MESSAGE_KEY;
-        this.messageArgs = null;
+        this(DEFAULT_MESSAGE_KEY);
     }
 
     public RecordNotFoundException(String messageKey, Object... messageArgs) {
-        super(messageKey);
+        super(messageKey, null, false, false);
         this.messageKey = messageKey;
         this.messageArgs = messageArgs;
     }
@@ -0,0 +1,37 @@
+package com.quetoquenana.template.model;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk execution ingestion call.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchIngestionResult {
+    @JsonView(ApiBaseResponseView.Always.class)
+    private int received;
+
+    @JsonView(ApiBaseResponseView.Always.class)
+    private int inserted;
+
+    @JsonView(ApiBaseResponseView.Always.class)
+    private int duplicates;
+
+    @JsonView(ApiBaseResponseView.Always.class)
+    private int rejected;
+
+    @JsonView(ApiBaseResponseView.Always.class)
+    private long elapsedMillis;
+
+    @JsonView(ApiBaseResponseView.Always.class)
+    private long rowsPerSecond;
+
+    @JsonView(ApiBaseResponseView.Always.class)
+    private List<BatchItemError> errors;
+}
@@ -0,0 +1,35 @@
+package com.quetoquenana.template.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonView;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Validation error for one record of a batch, identified by its position in the request.
+ */
+@Data
+@NoArgsConstructor
+public class BatchItemError {
+    @JsonView(ApiBaseResponseView.Always.class)
+    private int index;
+
+    @JsonView(ApiBaseResponseView.Always.class)
+    private String field;
+
+    @JsonView(ApiBaseResponseView.Always.class)
+    private String message;
+
+    @JsonIgnore
+    private String messageKey;
+
+    @JsonIgnore
+    private Object[] messageArgs;
+
+    public BatchItemError(int index, String field, String messageKey, Object... messageArgs) {
+        this.index = index;
+        this.field = field;
+        this.messageKey = messageKey;
+        this.messageArgs = messageArgs;
+    }
+}
@@ -1,5 +1,6 @@
 package com.quetoquenana.template.model;
 
+import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Column;
@@ -8,6 +9,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import com.fasterxml.jackson.annotation.JsonView;
+import com.quetoquenana.template.util.TimeOrderedUuid;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -19,6 +21,7 @@ import java.util.UUID;
 @AllArgsConstructor
 public class Execution {
     @Id
+    @TimeOrderedUuid
     @JsonView({Execution.ExecutionList.class})
     private UUID id;
 
@@ -42,6 +45,22 @@ public class Execution {
     @JsonView({Execution.ExecutionList.class})
     private String environment;
 
+    @Embedded
+    @JsonView({Execution.ExecutionDetail.class})
+    private StartupPhaseDurations startup;
+
+    public Execution(UUID id, LocalDateTime executedAt, String serverName, String ipAddress,
+                     String appVersion, String environment) {
+        this(id, executedAt, serverName, ipAddress, appVersion, environment, null);
+    }
+
+    /**
+     * Only the ExecutionList columns; used by the list projections in ExecutionRepository.
+     */
+    public Execution(UUID id, LocalDateTime executedAt, String appVersion, String environment) {
+        this(id, executedAt, null, null, appVersion, environment, null);
+    }
+
     // JSON Views to control serialization responses
     public static class ExecutionList extends ApiBaseResponseView.Always {}
     public static class ExecutionDetail extends ExecutionList {}
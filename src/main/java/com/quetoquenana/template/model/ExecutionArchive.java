@@ -0,0 +1,38 @@
+package com.quetoquenana.template.model;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An archive file holding the executions of one executedAt range.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExecutionArchive {
+    @JsonView(ApiBaseResponseView.Always.class)
+    private String name;
+
+    // Archived range: rangeFrom inclusive, rangeTo exclusive
+    @JsonView(ApiBaseResponseView.Always.class)
+    private LocalDateTime rangeFrom;
+
+    @JsonView(ApiBaseResponseView.Always.class)
+    private LocalDateTime rangeTo;
+
+    @JsonView(ApiBaseResponseView.Always.class)
+    private LocalDateTime firstExecutedAt;
+
+    @JsonView(ApiBaseResponseView.Always.class)
+    private LocalDateTime lastExecutedAt;
+
+    @JsonView(ApiBaseResponseView.Always.class)
+    private long executions;
+
+    @JsonView(ApiBaseResponseView.Always.class)
+    private long sizeBytes;
+}
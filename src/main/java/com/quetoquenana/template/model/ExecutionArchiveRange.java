@@ -0,0 +1,29 @@
+package com.quetoquenana.template.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An executedAt range claimed by an archive, as recorded in the shared execution_archives table.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExecutionArchiveRange {
+    private String name;
+
+    // rangeFrom inclusive, rangeTo exclusive
+    private LocalDateTime rangeFrom;
+
+    private LocalDateTime rangeTo;
+
+    // False while the archive file is being written
+    private boolean completed;
+
+    public boolean contains(LocalDateTime executedAt) {
+        return !executedAt.isBefore(rangeFrom) && executedAt.isBefore(rangeTo);
+    }
+}
@@ -0,0 +1,22 @@
+package com.quetoquenana.template.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional filters of the paginated executions query. Null fields do not filter;
+ * the executedAt range includes {@code executedFrom} and excludes {@code executedTo}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExecutionFilter {
+    private String environment;
+    private String appVersion;
+    private String serverName;
+    private LocalDateTime executedFrom;
+    private LocalDateTime executedTo;
+}
@@ -0,0 +1,46 @@
+package com.quetoquenana.template.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Cheap fingerprint of the executions table, used as HTTP validator for the execution collection endpoints.
+ * Executions are immutable once written, so the set only changes when rows are inserted or deleted (the change
+ * counter grows) or expired partitions are removed (first executedAt moves).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExecutionSetVersion {
+    private LocalDateTime firstExecutedAt;
+    private LocalDateTime lastExecutedAt;
+    private long changes;
+
+    /**
+     * Weak entity tag for the representations of this version (they differ by encoding, not by content).
+     * @param qualifiers request parameters the representation depends on (page, size, ...)
+     * @return quoted ETag value
+     */
+    public String toETag(Object... qualifiers) {
+        StringBuilder etag = new StringBuilder("W/\"")
+                .append(Long.toHexString(changes))
+                .append('-').append(toHexMicros(firstExecutedAt))
+                .append('-').append(toHexMicros(lastExecutedAt));
+        for (Object qualifier : qualifiers) {
+            etag.append('-').append(qualifier);
+        }
+        return etag.append('"').toString();
+    }
+
+    private static String toHexMicros(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return "0";
+        }
+        long micros = dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + dateTime.getNano() / 1_000;
+        return Long.toHexString(micros);
+    }
+}
@@ -0,0 +1,61 @@
+package com.quetoquenana.template.model;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Number of executions in one time bucket, optionally for one value of the grouping dimension.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExecutionStatBucket {
+    @JsonView(ApiBaseResponseView.Always.class)
+    private LocalDateTime bucketStart;
+
+    @JsonView(ApiBaseResponseView.Always.class)
+    private String group;
+
+    @JsonView(ApiBaseResponseView.Always.class)
+    private long executions;
+
+    /**
+     * Histogram bucket width; values map to PostgreSQL date_trunc units.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public enum Granularity {
+        HOUR("hour", ChronoUnit.HOURS),
+        DAY("day", ChronoUnit.DAYS);
+
+        private final String unit;
+        private final ChronoUnit chronoUnit;
+
+        /**
+         * Whether the time is the start of a bucket of this width.
+         */
+        public boolean isBucketStart(LocalDateTime time) {
+            return time.truncatedTo(chronoUnit).equals(time);
+        }
+    }
+
+    /**
+     * Execution attribute the buckets can be grouped by; values map to execution_stats_hourly columns.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public enum Dimension {
+        APP_VERSION("app_version"),
+        ENVIRONMENT("environment"),
+        SERVER_NAME("server_name");
+
+        private final String column;
+    }
+}
@@ -0,0 +1,11 @@
+package com.quetoquenana.template.model;
+
+import java.util.List;
+
+/**
+ * Published by the execution save paths with the executions actually stored.
+ * Listeners should use {@code @TransactionalEventListener} so they only see committed rows.
+ * @param executions stored executions, in insertion order
+ */
+public record ExecutionsSavedEvent(List<Execution> executions) {
+}
@@ -0,0 +1,40 @@
+package com.quetoquenana.template.model;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Liveness sample of one running instance.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InstanceHeartbeat {
+    @JsonView(ApiBaseResponseView.Always.class)
+    private String serverName;
+
+    @JsonView(ApiBaseResponseView.Always.class)
+    private LocalDateTime beatAt;
+
+    @JsonView(ApiBaseResponseView.Always.class)
+    private String ipAddress;
+
+    @JsonView(ApiBaseResponseView.Always.class)
+    private String appVersion;
+
+    @JsonView(ApiBaseResponseView.Always.class)
+    private String environment;
+
+    @JsonView(ApiBaseResponseView.Always.class)
+    private long uptimeMillis;
+
+    @JsonView(ApiBaseResponseView.Always.class)
+    private long heapUsedBytes;
+
+    @JsonView(ApiBaseResponseView.Always.class)
+    private int liveThreads;
+}
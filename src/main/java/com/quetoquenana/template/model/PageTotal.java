@@ -0,0 +1,13 @@
+package com.quetoquenana.template.model;
+
+/**
+ * How the total of a paginated query is reported.
+ */
+public enum PageTotal {
+    /** Exact total from a count query over every matching row. */
+    EXACT,
+    /** Planner estimate of the total; no rows are counted. */
+    APPROXIMATE,
+    /** No total, only whether a next page exists. */
+    NONE
+}
@@ -0,0 +1,33 @@
+package com.quetoquenana.template.model;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * How long each startup phase took for the application start an execution records, in milliseconds.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StartupPhaseDurations {
+    @Column(name = "startup_context_refresh_ms")
+    @JsonView({Execution.ExecutionDetail.class})
+    private Long contextRefreshMillis;
+
+    @Column(name = "startup_flyway_ms")
+    @JsonView({Execution.ExecutionDetail.class})
+    private Long flywayMigrationMillis;
+
+    @Column(name = "startup_jpa_ms")
+    @JsonView({Execution.ExecutionDetail.class})
+    private Long jpaBootstrapMillis;
+
+    @Column(name = "startup_ready_ms")
+    @JsonView({Execution.ExecutionDetail.class})
+    private Long readyMillis;
+}
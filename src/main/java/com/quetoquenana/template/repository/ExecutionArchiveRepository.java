@@ -0,0 +1,87 @@
+package com.quetoquenana.template.repository;
+
+import com.quetoquenana.template.model.ExecutionArchiveRange;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Access to execution_archives, the archived ranges every instance checks before writing or removing executions.
+ * Claims and their completion or release commit on their own, so other instances see them while the archive
+ * transaction is still running.
+ */
+@Repository
+@Timed(value = "jdbc.repository.invocations", histogram = true)
+@RequiredArgsConstructor
+public class ExecutionArchiveRepository {
+    private static final RowMapper<ExecutionArchiveRange> RANGE_MAPPER = (rs, rowNum) -> new ExecutionArchiveRange(
+            rs.getString("name"),
+            rs.getObject("range_from", LocalDateTime.class),
+            rs.getObject("range_to", LocalDateTime.class),
+            rs.getBoolean("completed")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Record the range as being archived.
+     * @throws org.springframework.dao.DataIntegrityViolationException if it overlaps a recorded range
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void claim(String name, LocalDateTime from, LocalDateTime to) {
+        jdbcTemplate.update("INSERT INTO execution_archives (name, range_from, range_to) VALUES (?, ?, ?)",
+                name, from, to);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void complete(String name, long executions) {
+        jdbcTemplate.update("UPDATE execution_archives SET executions = ?, completed_at = now() WHERE name = ?",
+                executions, name);
+    }
+
+    /**
+     * Remove the claim of an archive that was not written.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void release(String name) {
+        jdbcTemplate.update("DELETE FROM execution_archives WHERE name = ? AND completed_at IS NULL", name);
+    }
+
+    /**
+     * Remove every claim that was never completed, e.g. by an instance that stopped while writing.
+     * @return number of claims removed
+     */
+    public int releaseIncomplete() {
+        return jdbcTemplate.update("DELETE FROM execution_archives WHERE completed_at IS NULL");
+    }
+
+    /**
+     * Recorded ranges overlapping [from, to), complete or not, ordered by rangeFrom. Served by the GiST index of
+     * the overlap constraint.
+     */
+    public List<ExecutionArchiveRange> findOverlapping(LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query("""
+                SELECT name, range_from, range_to, completed_at IS NOT NULL AS completed
+                FROM execution_archives
+                WHERE tsrange(range_from, range_to) && tsrange(?, ?)
+                ORDER BY range_from""", RANGE_MAPPER, from, to);
+    }
+
+    /**
+     * Ranges whose archive file has been written, ordered by rangeFrom: the archives every instance maps.
+     */
+    public List<ExecutionArchiveRange> findCompleted() {
+        return jdbcTemplate.query("""
+                SELECT name, range_from, range_to, completed_at IS NOT NULL AS completed
+                FROM execution_archives
+                WHERE completed_at IS NOT NULL
+                ORDER BY range_from""", RANGE_MAPPER);
+    }
+}
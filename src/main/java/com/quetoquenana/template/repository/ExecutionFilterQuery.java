@@ -0,0 +1,114 @@
+package com.quetoquenana.template.repository;
+
+import com.quetoquenana.template.model.ExecutionFilter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * SQL and arguments of a filtered executions query. Only the filters that are set become predicates, so
+ * PostgreSQL plans each combination on its own and can pick the matching composite index
+ * (see V6__add_executions_filter_indexes); a catch-all {@code (? IS NULL OR column = ?)} form would not.
+ * @param sql statement with positional parameters
+ * @param args values for the parameters, in order
+ */
+public record ExecutionFilterQuery(String sql, Object[] args) {
+    /**
+     * Properties the page can be sorted by, with their columns.
+     */
+    public static final Map<String, String> SORT_COLUMNS = Map.of(
+            "executedAt", "executed_at",
+            "appVersion", "app_version",
+            "environment", "environment",
+            "serverName", "server_name");
+
+    private static final String SELECT_LIST_VIEW = "SELECT id, executed_at, app_version, environment FROM executions";
+    private static final String SELECT_COUNT = "SELECT count(*) FROM executions";
+    private static final String EXPLAIN_SELECT = "EXPLAIN (FORMAT JSON) SELECT 1 FROM executions";
+
+    /**
+     * The requested page of ExecutionList columns. id is appended to the ORDER BY as tie breaker,
+     * so offsets are stable when sort values repeat.
+     * @param filter filters to apply
+     * @param pageable page, size and sort; sort properties must be keys of {@link #SORT_COLUMNS}
+     * @return page query
+     */
+    public static ExecutionFilterQuery page(ExecutionFilter filter, Pageable pageable) {
+        return select(filter, pageable, pageable.getPageSize());
+    }
+
+    /**
+     * Like {@link #page(ExecutionFilter, Pageable)} with one extra row, which tells whether a next page exists.
+     * @param filter filters to apply
+     * @param pageable page, size and sort
+     * @return query for up to size + 1 rows
+     */
+    public static ExecutionFilterQuery slice(ExecutionFilter filter, Pageable pageable) {
+        return select(filter, pageable, pageable.getPageSize() + 1);
+    }
+
+    /**
+     * Number of executions matching the filter.
+     * @param filter filters to apply
+     * @return count query
+     */
+    public static ExecutionFilterQuery count(ExecutionFilter filter) {
+        List<Object> args = new ArrayList<>();
+        return new ExecutionFilterQuery(SELECT_COUNT + where(filter, args), args.toArray());
+    }
+
+    /**
+     * Planner estimate of the number of executions matching the filter: EXPLAIN only plans the statement,
+     * from the table statistics, without reading any rows.
+     * @param filter filters to apply
+     * @return EXPLAIN (FORMAT JSON) statement; the estimate is the "Plan Rows" of the top node
+     */
+    public static ExecutionFilterQuery estimate(ExecutionFilter filter) {
+        List<Object> args = new ArrayList<>();
+        return new ExecutionFilterQuery(EXPLAIN_SELECT + where(filter, args), args.toArray());
+    }
+
+    private static ExecutionFilterQuery select(ExecutionFilter filter, Pageable pageable, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(SELECT_LIST_VIEW).append(where(filter, args));
+        if (pageable.getSort().isSorted()) {
+            StringJoiner orderBy = new StringJoiner(", ", " ORDER BY ", "");
+            Sort.Direction lastDirection = Sort.Direction.ASC;
+            for (Sort.Order order : pageable.getSort()) {
+                String column = SORT_COLUMNS.get(order.getProperty());
+                if (column == null) {
+                    throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty());
+                }
+                orderBy.add(column + " " + order.getDirection());
+                lastDirection = order.getDirection();
+            }
+            orderBy.add("id " + lastDirection);
+            sql.append(orderBy);
+        }
+        sql.append(" LIMIT ? OFFSET ?");
+        args.add(limit);
+        args.add(pageable.getOffset());
+        return new ExecutionFilterQuery(sql.toString(), args.toArray());
+    }
+
+    private static String where(ExecutionFilter filter, List<Object> args) {
+        StringJoiner where = new StringJoiner(" AND ", " WHERE ", "").setEmptyValue("");
+        addPredicate(where, args, "environment = ?", filter.getEnvironment());
+        addPredicate(where, args, "app_version = ?", filter.getAppVersion());
+        addPredicate(where, args, "server_name = ?", filter.getServerName());
+        addPredicate(where, args, "executed_at >= ?", filter.getExecutedFrom());
+        addPredicate(where, args, "executed_at < ?", filter.getExecutedTo());
+        return where.toString();
+    }
+
+    private static void addPredicate(StringJoiner where, List<Object> args, String predicate, Object value) {
+        if (value != null) {
+            where.add(predicate);
+            args.add(value);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.quetoquenana.template.repository;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.InvalidDataAccessResourceUsageException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * DDL access to the monthly partitions of the executions table.
+ */
+@Repository
+@Timed(value = "jdbc.repository.invocations", histogram = true)
+@RequiredArgsConstructor
+public class ExecutionPartitionRepository {
+    public static final String PARTITION_PREFIX = "executions_";
+    public static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    public static final String DEFAULT_PARTITION = "executions_default";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Names of the partitions currently attached to executions.
+     */
+    public List<String> findPartitionNames() {
+        return jdbcTemplate.queryForList("""
+                SELECT child.relname
+                FROM pg_inherits
+                JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+                JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+                WHERE parent.relname = 'executions'""", String.class);
+    }
+
+    /**
+     * Names of the monthly tables (executions_YYYYMM) that exist without being attached to executions, i.e. months
+     * detached by retention.
+     */
+    public List<String> findDetachedPartitionNames() {
+        return jdbcTemplate.queryForList("""
+                SELECT c.relname
+                FROM pg_class c
+                WHERE c.relkind = 'r'
+                  AND NOT c.relispartition
+                  AND c.relname ~ '^executions_[0-9]{6}$'
+                  AND pg_table_is_visible(c.oid)""", String.class);
+    }
+
+    /**
+     * Months that rows of executions_default belong to. Rows only land there when their month has no partition.
+     */
+    public List<YearMonth> findDefaultPartitionMonths() {
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT date_trunc('month', executed_at)::date FROM " + DEFAULT_PARTITION,
+                LocalDate.class).stream().map(YearMonth::from).toList();
+    }
+
+    /**
+     * Create the partition of the month unless it is attached already. PostgreSQL refuses to create a partition
+     * while executions_default holds rows of its range, so such rows are moved into the new table before it is
+     * attached. A table of the same name that is not attached (e.g. a detached month) is left alone and reported.
+     * @return number of rows moved out of executions_default
+     * @throws InvalidDataAccessResourceUsageException if a table of that name exists but is not a partition
+     */
+    @Transactional
+    public int createMonthlyPartition(YearMonth month) {
+        // Identifiers and bounds are derived from YearMonth, never from user input
+        String partitionName = partitionName(month);
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        String bounds = " FOR VALUES FROM ('" + from + "') TO ('" + to + "')";
+        List<Boolean> attached = jdbcTemplate.queryForList("""
+                SELECT EXISTS (SELECT 1 FROM pg_inherits
+                               WHERE inhrelid = c.oid AND inhparent = 'executions'::regclass)
+                FROM pg_class c
+                WHERE c.oid = to_regclass(?)""", Boolean.class, partitionName);
+        if (!attached.isEmpty()) {
+            if (attached.getFirst()) {
+                return 0;
+            }
+            // CREATE TABLE IF NOT EXISTS would silently keep the month without a partition
+            throw new InvalidDataAccessResourceUsageException("Table " + partitionName
+                    + " exists but is not a partition of executions; attach or drop it");
+        }
+        Boolean hasDefaultRows = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION + " WHERE executed_at >= ? AND executed_at < ?)",
+                Boolean.class, from, to);
+        if (!Boolean.TRUE.equals(hasDefaultRows)) {
+            // IF NOT EXISTS: another instance may have created it since the check
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName + " PARTITION OF executions" + bounds);
+            return 0;
+        }
+        jdbcTemplate.execute("CREATE TABLE " + partitionName
+                + " (LIKE executions INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        // Same column order: both tables are derived from executions
+        int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION
+                + " WHERE executed_at >= ? AND executed_at < ? RETURNING *) INSERT INTO " + partitionName
+                + " SELECT * FROM moved", from, to);
+        jdbcTemplate.execute("ALTER TABLE executions ATTACH PARTITION " + partitionName + bounds);
+        return moved;
+    }
+
+    /**
+     * Lock the partitions in SHARE mode until the current transaction ends: waits for the transactions that are
+     * writing to them and blocks new writes, while reads go on. Must run inside a transaction.
+     */
+    public void lockPartitions(Collection<String> partitionNames) {
+        if (!partitionNames.isEmpty()) {
+            jdbcTemplate.execute("LOCK TABLE " + String.join(", ", partitionNames) + " IN SHARE MODE");
+        }
+    }
+
+    public void detachPartition(String partitionName) {
+        jdbcTemplate.execute("ALTER TABLE executions DETACH PARTITION " + partitionName);
+    }
+
+    public void dropPartition(String partitionName) {
+        jdbcTemplate.execute("DROP TABLE " + partitionName);
+    }
+
+    public static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+}
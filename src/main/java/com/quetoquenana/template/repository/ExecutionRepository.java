@@ -1,9 +1,93 @@
 package com.quetoquenana.template.repository;
 
 import com.quetoquenana.template.model.Execution;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface ExecutionRepository extends JpaRepository<Execution, UUID> {
+/**
+ * The {@code ListView} queries select only the columns of the ExecutionList view and build the result with
+ * a constructor expression. The returned executions are not managed: Hibernate keeps no snapshot of them and
+ * never dirty checks them, and detail-only fields (serverName, ipAddress, startup) are always null.
+ */
+public interface ExecutionRepository extends JpaRepository<Execution, UUID>, ExecutionRepositoryCustom {
+    String EXPORT_FETCH_SIZE = "500";
+    String LIST_VIEW = "SELECT new com.quetoquenana.template.model.Execution("
+            + "e.id, e.executedAt, e.appVersion, e.environment) FROM Execution e";
+
+    @Query(LIST_VIEW)
+    List<Execution> findAllListView();
+
+    /**
+     * Lookup by id: one probe of the (id, executed_at) primary key index of each partition, stopping at the first
+     * match. The key only makes ids unique together with executed_at; ids are unique because the application
+     * generates every one of them (see ExecutionServiceImpl#saveBatch). Only for ids that carry no creation time:
+     * {@link #findByIdExecutedBetween} reads the partitions of a range only.
+     */
+    @Override
+    @Query(value = """
+            SELECT e.* FROM executions e
+            WHERE e.id = :id
+            LIMIT 1""",
+            nativeQuery = true)
+    Optional<Execution> findById(@Param("id") UUID id);
+
+    /**
+     * Lookup by id among the executions of [executedFrom, executedTo): the executed_at bounds let PostgreSQL prune
+     * the partitions outside the range, so only theirs is probed.
+     */
+    @Query(value = """
+            SELECT e.* FROM executions e
+            WHERE e.id = :id AND e.executed_at >= :executedFrom AND e.executed_at < :executedTo
+            LIMIT 1""",
+            nativeQuery = true)
+    Optional<Execution> findByIdExecutedBetween(@Param("id") UUID id,
+                                                @Param("executedFrom") LocalDateTime executedFrom,
+                                                @Param("executedTo") LocalDateTime executedTo);
+
+    /**
+     * First keyset page ordered by (executed_at, id).
+     */
+    @Query(LIST_VIEW + " ORDER BY e.executedAt, e.id")
+    List<Execution> findFirstKeysetPageListView(Limit limit);
+
+    /**
+     * Keyset page strictly after the given (executed_at, id) position.
+     * The row value comparison is served by idx_executions_executed_at_id, so cost does not depend on depth;
+     * the plain executed_at bound lets PostgreSQL prune older partitions.
+     */
+    @Query(LIST_VIEW + " WHERE e.executedAt >= :executedAt"
+            + " AND (e.executedAt, e.id) > (:executedAt, :id)"
+            + " ORDER BY e.executedAt, e.id")
+    List<Execution> findKeysetPageAfterListView(
+            @Param("executedAt") LocalDateTime executedAt,
+            @Param("id") UUID id,
+            Limit limit);
+
+    /**
+     * Executions saved after the one with the given id, in id order. Ids are UUIDv7 assigned when the row is saved,
+     * so this is the order rows were stored in whatever executedAt they carry. Served by the (id, executed_at)
+     * primary key index of each partition.
+     */
+    @Query(LIST_VIEW + " WHERE e.id > :id ORDER BY e.id")
+    List<Execution> findListViewWithIdAfter(@Param("id") UUID id, Limit limit);
+
+    /**
+     * Forward-only stream over all executions, ordered by (executed_at, id).
+     * Rows are pulled from a server-side cursor in batches of {@link #EXPORT_FETCH_SIZE};
+     * must be consumed inside a read-only transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(LIST_VIEW + " ORDER BY e.executedAt, e.id")
+    Stream<Execution> streamAllListViewOrderedByExecutedAt();
 }
@@ -0,0 +1,66 @@
+package com.quetoquenana.template.repository;
+
+import com.quetoquenana.template.model.Execution;
+import com.quetoquenana.template.model.ExecutionFilter;
+import com.quetoquenana.template.model.ExecutionSetVersion;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Repository operations that bypass the JPA persistence context.
+ */
+public interface ExecutionRepositoryCustom {
+    /**
+     * Insert executions with JDBC batching. Rows whose id already exists are skipped.
+     * @param executions executions with their id assigned
+     * @return the executions actually inserted, in input order
+     */
+    List<Execution> batchInsert(List<Execution> executions);
+
+    /**
+     * Read the current version of the executions table without scanning it.
+     * @return first and last executedAt plus the row count
+     */
+    ExecutionSetVersion findVersion();
+
+    /**
+     * Page of executions matching the filter, with the ExecutionList columns only.
+     * The count query is skipped when the page alone tells the total.
+     * @param filter filters to apply, null fields are ignored
+     * @param pageable page, size and sort (see {@link ExecutionFilterQuery#SORT_COLUMNS})
+     * @return page of unmanaged executions
+     */
+    Page<Execution> findListView(ExecutionFilter filter, Pageable pageable);
+
+    /**
+     * Slice of executions matching the filter, with the ExecutionList columns only. One extra row is read
+     * to tell whether a next slice exists; no count query is run.
+     * @param filter filters to apply, null fields are ignored
+     * @param pageable page, size and sort (see {@link ExecutionFilterQuery#SORT_COLUMNS})
+     * @return slice of unmanaged executions
+     */
+    Slice<Execution> findListViewSlice(ExecutionFilter filter, Pageable pageable);
+
+    /**
+     * Estimate the number of executions matching the filter from the planner statistics.
+     * Nothing is read but the catalog, so the cost does not grow with the table.
+     * @param filter filters to apply, null fields are ignored
+     * @return estimated row count, as accurate as the last ANALYZE
+     */
+    long estimateCount(ExecutionFilter filter);
+
+    /**
+     * Pass every execution with {@code from <= executedAt < to}, with all columns, to the consumer in
+     * (executedAt, id) order. Rows come from a server-side cursor and are never managed, so memory stays flat;
+     * must be called inside a read-only transaction.
+     * @param from start of the range (inclusive)
+     * @param to end of the range (exclusive)
+     * @param consumer receives each execution
+     */
+    void forEachInRange(LocalDateTime from, LocalDateTime to, Consumer<Execution> consumer);
+}
@@ -0,0 +1,166 @@
+package com.quetoquenana.template.repository;
+
+import com.quetoquenana.template.model.Execution;
+import com.quetoquenana.template.model.ExecutionFilter;
+import com.quetoquenana.template.model.ExecutionSetVersion;
+import com.quetoquenana.template.model.StartupPhaseDurations;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class ExecutionRepositoryCustomImpl implements ExecutionRepositoryCustom {
+    // The primary key of a partitioned table includes executed_at: a row whose id and executed_at are already
+    // stored is skipped and reports an update count of 0
+    private static final String INSERT_SQL = """
+            INSERT INTO executions (id, executed_at, server_name, ip_address, app_version, environment)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT (id, executed_at) DO NOTHING""";
+
+    // min/max come from the (executed_at, id) index of each partition; the change counter is a single row kept up
+    // to date by triggers, so the cost does not grow with the number of executions
+    private static final String VERSION_SQL = """
+            SELECT bounds.first_executed_at, bounds.last_executed_at, counter.changes
+            FROM (SELECT min(executed_at) AS first_executed_at, max(executed_at) AS last_executed_at
+                  FROM executions) bounds
+            CROSS JOIN execution_set_version counter""";
+
+    // Served by the (executed_at, id) index of each partition, only the partitions of the range are read
+    private static final String RANGE_SQL = """
+            SELECT id, executed_at, server_name, ip_address, app_version, environment,
+                   startup_context_refresh_ms, startup_flyway_ms, startup_jpa_ms, startup_ready_ms
+            FROM executions
+            WHERE executed_at >= ? AND executed_at < ?
+            ORDER BY executed_at, id""";
+
+    // The first "Plan Rows" of the JSON plan belongs to the top node, i.e. the rows the whole statement returns
+    private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\":\\s*(\\d+)");
+
+    private static final RowMapper<Execution> LIST_VIEW_MAPPER = (rs, rowNum) -> new Execution(
+            rs.getObject("id", UUID.class),
+            rs.getObject("executed_at", LocalDateTime.class),
+            rs.getString("app_version"),
+            rs.getString("environment")
+    );
+
+    private static final RowMapper<Execution> DETAIL_MAPPER = (rs, rowNum) -> {
+        StartupPhaseDurations startup = new StartupPhaseDurations(
+                rs.getObject("startup_context_refresh_ms", Long.class),
+                rs.getObject("startup_flyway_ms", Long.class),
+                rs.getObject("startup_jpa_ms", Long.class),
+                rs.getObject("startup_ready_ms", Long.class));
+        return new Execution(
+                rs.getObject("id", UUID.class),
+                rs.getObject("executed_at", LocalDateTime.class),
+                rs.getString("server_name"),
+                rs.getString("ip_address"),
+                rs.getString("app_version"),
+                rs.getString("environment"),
+                startup.getContextRefreshMillis() == null && startup.getFlywayMigrationMillis() == null
+                        && startup.getJpaBootstrapMillis() == null && startup.getReadyMillis() == null
+                        ? null : startup);
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int chunkSize;
+
+    public ExecutionRepositoryCustomImpl(JdbcTemplate jdbcTemplate,
+                                         @Value("${app.executions.batch.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Plain JDBC batches of {@code chunkSize} statements, one round trip per chunk,
+     * instead of a select plus insert per entity through {@code save}.
+     */
+    @Override
+    public List<Execution> batchInsert(List<Execution> executions) {
+        int[][] updateCounts = jdbcTemplate.batchUpdate(INSERT_SQL, executions, chunkSize, (ps, execution) -> {
+            ps.setObject(1, execution.getId());
+            ps.setObject(2, execution.getExecutedAt());
+            ps.setString(3, execution.getServerName());
+            ps.setString(4, execution.getIpAddress());
+            ps.setString(5, execution.getAppVersion());
+            ps.setString(6, execution.getEnvironment());
+        });
+        // Update counts come back per chunk in input order
+        List<Execution> inserted = new ArrayList<>(executions.size());
+        int index = 0;
+        for (int[] chunk : updateCounts) {
+            for (int count : chunk) {
+                if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                    inserted.add(executions.get(index));
+                }
+                index++;
+            }
+        }
+        return inserted;
+    }
+
+    @Override
+    public ExecutionSetVersion findVersion() {
+        return jdbcTemplate.queryForObject(VERSION_SQL, (rs, rowNum) -> new ExecutionSetVersion(
+                rs.getObject("first_executed_at", LocalDateTime.class),
+                rs.getObject("last_executed_at", LocalDateTime.class),
+                rs.getLong("changes")
+        ));
+    }
+
+    @Override
+    public Page<Execution> findListView(ExecutionFilter filter, Pageable pageable) {
+        ExecutionFilterQuery page = ExecutionFilterQuery.page(filter, pageable);
+        List<Execution> content = jdbcTemplate.query(page.sql(), LIST_VIEW_MAPPER, page.args());
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            ExecutionFilterQuery count = ExecutionFilterQuery.count(filter);
+            Long total = jdbcTemplate.queryForObject(count.sql(), Long.class, count.args());
+            return total == null ? 0 : total;
+        });
+    }
+
+    @Override
+    public Slice<Execution> findListViewSlice(ExecutionFilter filter, Pageable pageable) {
+        ExecutionFilterQuery slice = ExecutionFilterQuery.slice(filter, pageable);
+        List<Execution> content = jdbcTemplate.query(slice.sql(), LIST_VIEW_MAPPER, slice.args());
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    /**
+     * The estimate is the planner's row count for the filtered select. Partitions never analyzed are
+     * extrapolated by the planner from their current size.
+     */
+    @Override
+    public long estimateCount(ExecutionFilter filter) {
+        ExecutionFilterQuery estimate = ExecutionFilterQuery.estimate(filter);
+        String plan = jdbcTemplate.queryForObject(estimate.sql(), String.class, estimate.args());
+        Matcher rows = PLAN_ROWS.matcher(plan == null ? "" : plan);
+        return rows.find() ? Long.parseLong(rows.group(1)) : 0;
+    }
+
+    @Override
+    public void forEachInRange(LocalDateTime from, LocalDateTime to, Consumer<Execution> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(RANGE_SQL);
+            statement.setFetchSize(Integer.parseInt(ExecutionRepository.EXPORT_FETCH_SIZE));
+            statement.setObject(1, from);
+            statement.setObject(2, to);
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(DETAIL_MAPPER.mapRow(rs, 0)));
+    }
+}
@@ -0,0 +1,63 @@
+package com.quetoquenana.template.repository;
+
+import com.quetoquenana.template.model.ExecutionStatBucket;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Read and rebuild access to the execution_stats_hourly rollup, which the database keeps up to date on insert.
+ */
+@Repository
+@Timed(value = "jdbc.repository.invocations", histogram = true)
+@RequiredArgsConstructor
+public class ExecutionStatsRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Sum the hourly rollup into buckets of the given granularity. Only rollup rows are read.
+     * from and to must be bucket starts of the granularity (checked by the service), so both compare exactly.
+     * @param groupBy dimension to group by, or null for totals per bucket
+     */
+    public List<ExecutionStatBucket> findHistogram(LocalDateTime from, LocalDateTime to,
+                                                   ExecutionStatBucket.Granularity granularity,
+                                                   ExecutionStatBucket.Dimension groupBy) {
+        // Unit and column come from enums, never from user input
+        String group = groupBy == null ? "NULL" : "NULLIF(" + groupBy.getColumn() + ", '')";
+        String sql = "SELECT date_trunc('" + granularity.getUnit() + "', bucket_start) AS bucket, "
+                + group + " AS grp, sum(executions) AS executions "
+                + "FROM execution_stats_hourly "
+                + "WHERE bucket_start >= ? AND bucket_start < ? "
+                + "GROUP BY 1, 2 ORDER BY 1, 2";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new ExecutionStatBucket(
+                rs.getObject("bucket", LocalDateTime.class),
+                rs.getString("grp"),
+                rs.getLong("executions")
+        ), from, to);
+    }
+
+    /**
+     * Recompute the rollup buckets of [from, to) from the executions table: they are deleted and counted again,
+     * buckets outside the range are left alone. from and to must be hour starts. The caller locks the partitions
+     * of the range for the surrounding transaction, so no insert into it is counted twice or missed.
+     * @return number of rollup rows written
+     */
+    public int rebuild(LocalDateTime from, LocalDateTime to) {
+        jdbcTemplate.update("DELETE FROM execution_stats_hourly WHERE bucket_start >= ? AND bucket_start < ?",
+                from, to);
+        return jdbcTemplate.update("""
+                INSERT INTO execution_stats_hourly (bucket_start, app_version, environment, server_name, executions)
+                SELECT date_trunc('hour', executed_at),
+                       COALESCE(app_version, ''),
+                       COALESCE(environment, ''),
+                       COALESCE(server_name, ''),
+                       count(*)
+                FROM executions
+                WHERE executed_at >= ? AND executed_at < ?
+                GROUP BY 1, 2, 3, 4""", from, to);
+    }
+}
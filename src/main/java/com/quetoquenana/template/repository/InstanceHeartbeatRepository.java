@@ -0,0 +1,86 @@
+package com.quetoquenana.template.repository;
+
+import com.quetoquenana.template.model.InstanceHeartbeat;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Append-only access to instance_heartbeats.
+ */
+@Repository
+@Timed(value = "jdbc.repository.invocations", histogram = true)
+@RequiredArgsConstructor
+public class InstanceHeartbeatRepository {
+    private static final String INSERT_SQL = """
+            INSERT INTO instance_heartbeats
+                (server_name, beat_at, ip_address, app_version, environment, uptime_ms, heap_used_bytes, live_threads)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)""";
+
+    // Loose index scan: the recursive part jumps from one server_name to the next with a single index probe,
+    // then the lateral join reads the newest entry of each. Cost grows with the number of servers,
+    // not with the number of heartbeats.
+    private static final String LATEST_PER_SERVER_SQL = """
+            WITH RECURSIVE servers AS (
+                (SELECT server_name FROM instance_heartbeats ORDER BY server_name LIMIT 1)
+                UNION ALL
+                SELECT (SELECT h.server_name FROM instance_heartbeats h
+                        WHERE h.server_name > s.server_name
+                        ORDER BY h.server_name LIMIT 1)
+                FROM servers s
+                WHERE s.server_name IS NOT NULL
+            )
+            SELECT latest.*
+            FROM servers s
+            CROSS JOIN LATERAL (SELECT * FROM instance_heartbeats h
+                                WHERE h.server_name = s.server_name
+                                ORDER BY h.beat_at DESC LIMIT 1) latest
+            WHERE latest.beat_at >= ?
+            ORDER BY latest.server_name""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert heartbeats with one JDBC batch.
+     */
+    public void insertBatch(List<InstanceHeartbeat> heartbeats) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, heartbeats, heartbeats.size(), (ps, heartbeat) -> {
+            ps.setString(1, heartbeat.getServerName());
+            ps.setObject(2, heartbeat.getBeatAt());
+            ps.setString(3, heartbeat.getIpAddress());
+            ps.setString(4, heartbeat.getAppVersion());
+            ps.setString(5, heartbeat.getEnvironment());
+            ps.setLong(6, heartbeat.getUptimeMillis());
+            ps.setLong(7, heartbeat.getHeapUsedBytes());
+            ps.setInt(8, heartbeat.getLiveThreads());
+        });
+    }
+
+    /**
+     * Newest heartbeat of every server whose last heartbeat is not older than {@code since}.
+     */
+    public List<InstanceHeartbeat> findLatestPerServer(LocalDateTime since) {
+        return jdbcTemplate.query(LATEST_PER_SERVER_SQL, (rs, rowNum) -> new InstanceHeartbeat(
+                rs.getString("server_name"),
+                rs.getObject("beat_at", LocalDateTime.class),
+                rs.getString("ip_address"),
+                rs.getString("app_version"),
+                rs.getString("environment"),
+                rs.getLong("uptime_ms"),
+                rs.getLong("heap_used_bytes"),
+                rs.getInt("live_threads")
+        ), since);
+    }
+
+    /**
+     * Delete heartbeats older than the given time.
+     * @return number of rows deleted
+     */
+    public int deleteOlderThan(LocalDateTime before) {
+        return jdbcTemplate.update("DELETE FROM instance_heartbeats WHERE beat_at < ?", before);
+    }
+}
@@ -0,0 +1,23 @@
+package com.quetoquenana.template.service;
+
+import com.quetoquenana.template.model.Execution;
+import com.quetoquenana.template.model.ExecutionArchive;
+import com.quetoquenana.template.model.ExecutionArchiveRange;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+public interface ExecutionArchiveService {
+    ExecutionArchive createArchive(LocalDateTime from, LocalDateTime to);
+    List<ExecutionArchive> findAll();
+    Optional<Execution> findById(UUID id);
+    List<ExecutionArchiveRange> findArchivedRanges(LocalDateTime from, LocalDateTime to);
+    boolean isArchived(LocalDateTime from, LocalDateTime to);
+    void forEachExecution(LocalDateTime from, LocalDateTime to, Consumer<Execution> consumer);
+    void scan(LocalDateTime from, LocalDateTime to, boolean detail, Predicate<Execution> consumer);
+    List<ExecutionArchiveRange> findRemovedRanges(LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,430 @@
+package com.quetoquenana.template.service;
+
+import com.quetoquenana.template.exception.InvalidRequestException;
+import com.quetoquenana.template.model.Execution;
+import com.quetoquenana.template.model.ExecutionArchive;
+import com.quetoquenana.template.model.ExecutionArchiveRange;
+import com.quetoquenana.template.repository.ExecutionArchiveRepository;
+import com.quetoquenana.template.repository.ExecutionPartitionRepository;
+import com.quetoquenana.template.repository.ExecutionRepository;
+import com.quetoquenana.template.util.ExecutionArchiveFormat;
+import com.quetoquenana.template.util.ExecutionArchiveReader;
+import com.quetoquenana.template.util.ExecutionArchiveWriter;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Archives of executions in files, one file per executedAt range, in the columnar format of
+ * {@link ExecutionArchiveFormat}. Every archive in {@code app.executions.archive.directory} stays memory-mapped
+ * while the application runs, so lookups and scans read the page cache instead of the heap.
+ * <p>
+ * Creating an archive copies rows, it does not delete them: the partitions of an archived range are removed
+ * by the partition retention (see ExecutionPartitionServiceImpl). Once a month has no partition any more, its
+ * archived executions are read from here by {@link #findById(UUID)} and by the list, page, cursor and export
+ * queries of ExecutionService, through {@link #findRemovedRanges(LocalDateTime, LocalDateTime)}.
+ * <p>
+ * Only one instance, the one with {@code app.executions.archive.owner=true}, creates archives. Their ranges are
+ * recorded in the shared execution_archives table (see ExecutionArchiveRepository): every instance rejects batches
+ * in those ranges and retention on any instance checks them. The directory is meant to be shared by every instance:
+ * each one maps the completed archives recorded in the table, checking for new ones every
+ * {@code app.executions.archive.refresh-interval}.
+ */
+@Slf4j
+@Service
+@Timed(value = "executions.archive", histogram = true)
+public class ExecutionArchiveServiceImpl implements ExecutionArchiveService, InitializingBean, DisposableBean {
+    private static final DateTimeFormatter FILE_NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    private final ExecutionRepository executionRepository;
+    private final ExecutionPartitionRepository executionPartitionRepository;
+    private final ExecutionArchiveRepository executionArchiveRepository;
+    private final Path directory;
+    private final int blockRows;
+    private final int compressionLevel;
+    private final boolean owner;
+    private final Duration refreshInterval;
+
+    // Sorted by rangeFrom; replaced as a whole, under readersLock, when archives are added
+    private volatile List<ExecutionArchiveReader> readers = List.of();
+    private final Object readersLock = new Object();
+    // Recorded archives that could not be opened, reported once and tried again on every refresh
+    private final Set<String> unreadable = new HashSet<>();
+    private volatile long nextRefreshNanos;
+
+    public ExecutionArchiveServiceImpl(ExecutionRepository executionRepository,
+                                       ExecutionPartitionRepository executionPartitionRepository,
+                                       ExecutionArchiveRepository executionArchiveRepository,
+                                       @Value("${app.executions.archive.directory:archive}") Path directory,
+                                       @Value("${app.executions.archive.block-rows:65536}") int blockRows,
+                                       @Value("${app.executions.archive.compression-level:6}") int compressionLevel,
+                                       @Value("${app.executions.archive.owner:false}") boolean owner,
+                                       @Value("${app.executions.archive.refresh-interval:1m}")
+                                       Duration refreshInterval) {
+        this.executionRepository = executionRepository;
+        this.executionPartitionRepository = executionPartitionRepository;
+        this.executionArchiveRepository = executionArchiveRepository;
+        this.directory = directory;
+        this.blockRows = blockRows;
+        this.compressionLevel = compressionLevel;
+        this.owner = owner;
+        this.refreshInterval = refreshInterval;
+    }
+
+    /**
+     * Map the archives already in the directory, then the recorded ones not found there. Files that cannot be read
+     * are logged and skipped. The directory is only created by the first archive. On the owner, ranges still
+     * claimed by an archive that was never written (the instance stopped while writing it) are released, since
+     * only the owner writes archives.
+     */
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        if (owner) {
+            int released = executionArchiveRepository.releaseIncomplete();
+            if (released > 0) {
+                log.warn("Released {} archive ranges whose archive was never written", released);
+            }
+        }
+        if (!Files.isDirectory(directory)) {
+            log.info("No execution archives: {} does not exist", directory.toAbsolutePath());
+        } else {
+            List<ExecutionArchiveReader> opened = new ArrayList<>();
+            try (DirectoryStream<Path> files =
+                         Files.newDirectoryStream(directory, "*" + ExecutionArchiveFormat.FILE_EXTENSION)) {
+                for (Path file : files) {
+                    try {
+                        opened.add(ExecutionArchiveReader.open(file));
+                    } catch (IOException | RuntimeException e) {
+                        log.error("Skipping unreadable archive {}: {}", file, e.getMessage());
+                    }
+                }
+            }
+            add(opened);
+            log.info("Mapped {} execution archives from {}", opened.size(), directory.toAbsolutePath());
+        }
+        refresh();
+    }
+
+    @Override
+    public void destroy() {
+        readers.forEach(ExecutionArchiveReader::close);
+    }
+
+    /**
+     * Stream the executions of [from, to) from the table into a new archive file. The file is written under a
+     * temporary name and renamed when complete, so a failed run never leaves a partial archive behind.
+     * Ranges may not overlap, so every execution is in at most one archive. The range must end by now:
+     * executions saved into a range after its archive was written would never be archived, and
+     * ExecutionService#saveBatch rejects executedAt values in archived ranges.
+     * <p>
+     * The range is claimed in execution_archives, and committed, before the scan starts, so saveBatch rejects it on
+     * every instance from then on. The partitions of the range are then locked in SHARE mode so the scan waits for
+     * the batches already writing to them. The claim is completed, or released on failure, in a transaction of its
+     * own. The archive transaction is read-write so it runs on the primary: a replica may not have those rows yet.
+     */
+    @Override
+    @Transactional
+    public synchronized ExecutionArchive createArchive(LocalDateTime from, LocalDateTime to) {
+        if (!owner) {
+            throw new InvalidRequestException("archive.not.owner");
+        }
+        if (!from.isBefore(to)) {
+            throw new InvalidRequestException("executed.range.invalid");
+        }
+        if (to.isAfter(LocalDateTime.now())) {
+            throw new InvalidRequestException("archive.range.open");
+        }
+        List<ExecutionArchiveRange> overlapping = executionArchiveRepository.findOverlapping(from, to);
+        if (!overlapping.isEmpty()) {
+            throw new InvalidRequestException("archive.range.overlaps", overlapping.getFirst().getName());
+        }
+        String name = "executions_" + FILE_NAME_FORMAT.format(from) + "_" + FILE_NAME_FORMAT.format(to)
+                + ExecutionArchiveFormat.FILE_EXTENSION;
+        Path file = directory.resolve(name);
+        Path temporary = directory.resolve(name + ".tmp");
+        executionArchiveRepository.claim(name, from, to);
+        ExecutionArchiveReader reader = null;
+        try {
+            long start = System.nanoTime();
+            executionPartitionRepository.lockPartitions(partitionsOf(from, to));
+            Files.createDirectories(directory);
+            try (ExecutionArchiveWriter writer = new ExecutionArchiveWriter(temporary, from, to, blockRows, compressionLevel)) {
+                executionRepository.forEachInRange(from, to, execution -> {
+                    try {
+                        writer.write(execution);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+            reader = ExecutionArchiveReader.open(file);
+            executionArchiveRepository.complete(name, reader.rowCount());
+            ExecutionArchive archive = toArchive(reader);
+            log.info("Archived {} executions of [{}, {}) into {} ({} bytes) in {} ms", reader.rowCount(), from, to,
+                    name, reader.sizeBytes(), (System.nanoTime() - start) / 1_000_000);
+            add(List.of(reader));
+            return archive;
+        } catch (IOException e) {
+            abandon(name, temporary, file, reader);
+            throw new UncheckedIOException("Unable to write archive " + name, e);
+        } catch (RuntimeException e) {
+            abandon(name, temporary, file, reader);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<ExecutionArchive> findAll() {
+        return readers().stream().map(ExecutionArchiveServiceImpl::toArchive).toList();
+    }
+
+    /**
+     * Archives are checked newest first; within an archive only the blocks whose id range can hold the id are searched.
+     */
+    @Override
+    public Optional<Execution> findById(UUID id) {
+        List<ExecutionArchiveReader> current = readers();
+        for (int i = current.size() - 1; i >= 0; i--) {
+            Optional<Execution> execution = current.get(i).findById(id);
+            if (execution.isPresent()) {
+                return execution;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Ranges recorded by any instance that overlap [from, to), including those whose archive is being written.
+     */
+    @Override
+    public List<ExecutionArchiveRange> findArchivedRanges(LocalDateTime from, LocalDateTime to) {
+        return executionArchiveRepository.findOverlapping(from, to);
+    }
+
+    /**
+     * Whether the completed archives recorded by any instance together cover every instant of [from, to),
+     * possibly with several adjacent archives.
+     */
+    @Override
+    public boolean isArchived(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime covered = from;
+        for (ExecutionArchiveRange range : executionArchiveRepository.findOverlapping(from, to)) {
+            if (!covered.isBefore(to) || !range.isCompleted() || range.getRangeFrom().isAfter(covered)) {
+                break;
+            }
+            if (range.getRangeTo().isAfter(covered)) {
+                covered = range.getRangeTo();
+            }
+        }
+        return !covered.isBefore(to);
+    }
+
+    /**
+     * Pass the archived executions of [from, to) to the consumer in (executedAt, id) order, with the
+     * ExecutionList columns only. Archives and blocks outside the range are not read.
+     */
+    @Override
+    public void forEachExecution(LocalDateTime from, LocalDateTime to, Consumer<Execution> consumer) {
+        scan(from, to, false, execution -> {
+            consumer.accept(execution);
+            return true;
+        });
+    }
+
+    /**
+     * Like {@link #forEachExecution(LocalDateTime, LocalDateTime, Consumer)}, until the consumer returns false:
+     * the blocks after that one are not decoded and no further execution is passed.
+     * @param detail true for every column, false for the ExecutionList columns only
+     */
+    @Override
+    public void scan(LocalDateTime from, LocalDateTime to, boolean detail, Predicate<Execution> consumer) {
+        boolean[] more = {true};
+        Consumer<Execution> accept = execution -> {
+            if (more[0]) {
+                more[0] = consumer.test(execution);
+            }
+        };
+        for (ExecutionArchiveReader reader : readers()) {
+            if (!more[0]) {
+                return;
+            }
+            if ((to == null || reader.rangeFrom().isBefore(to)) && (from == null || from.isBefore(reader.rangeTo()))) {
+                reader.scan(from, to, detail, accept, () -> !more[0]);
+            }
+        }
+    }
+
+    /**
+     * Parts of the mapped archives within [from, to) whose month no longer has a partition: their executions are
+     * only in the archives. Months whose partition is still attached are left out, their rows are read from the
+     * table. Each part keeps the name of its archive; ordered by rangeFrom.
+     * @param from start of the range (inclusive), or null for the first archive
+     * @param to end of the range (exclusive), or null for the last archive
+     */
+    @Override
+    public List<ExecutionArchiveRange> findRemovedRanges(LocalDateTime from, LocalDateTime to) {
+        List<ExecutionArchiveReader> current = readers();
+        if (current.isEmpty()) {
+            return List.of();
+        }
+        Set<String> attached = new HashSet<>(executionPartitionRepository.findPartitionNames());
+        List<ExecutionArchiveRange> removed = new ArrayList<>();
+        for (ExecutionArchiveReader reader : current) {
+            String name = reader.file().getFileName().toString();
+            LocalDateTime start = from == null || reader.rangeFrom().isAfter(from) ? reader.rangeFrom() : from;
+            LocalDateTime end = to == null || reader.rangeTo().isBefore(to) ? reader.rangeTo() : to;
+            while (start.isBefore(end)) {
+                YearMonth month = YearMonth.from(start);
+                LocalDateTime monthEnd = month.plusMonths(1).atDay(1).atStartOfDay();
+                LocalDateTime partEnd = monthEnd.isBefore(end) ? monthEnd : end;
+                if (!attached.contains(ExecutionPartitionRepository.partitionName(month))) {
+                    ExecutionArchiveRange last = removed.isEmpty() ? null : removed.getLast();
+                    if (last != null && last.getName().equals(name) && last.getRangeTo().equals(start)) {
+                        last.setRangeTo(partEnd);
+                    } else {
+                        removed.add(new ExecutionArchiveRange(name, start, partEnd, true));
+                    }
+                }
+                start = partEnd;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * The mapped archives, after mapping the ones recorded since the last refresh when it is due.
+     */
+    private List<ExecutionArchiveReader> readers() {
+        if (System.nanoTime() - nextRefreshNanos >= 0) {
+            refresh();
+        }
+        return readers;
+    }
+
+    /**
+     * Map the completed archives recorded in execution_archives that are not mapped yet, from the shared directory.
+     * A database error leaves the mapped archives as they are until the next refresh.
+     */
+    private void refresh() {
+        synchronized (readersLock) {
+            long now = System.nanoTime();
+            if (now - nextRefreshNanos < 0) {
+                return;
+            }
+            nextRefreshNanos = now + refreshInterval.toNanos();
+            Set<String> mapped = new HashSet<>();
+            readers.forEach(reader -> mapped.add(reader.file().getFileName().toString()));
+            List<ExecutionArchiveReader> opened = new ArrayList<>();
+            try {
+                for (ExecutionArchiveRange range : executionArchiveRepository.findCompleted()) {
+                    if (mapped.contains(range.getName())) {
+                        continue;
+                    }
+                    try {
+                        opened.add(ExecutionArchiveReader.open(directory.resolve(range.getName())));
+                        unreadable.remove(range.getName());
+                    } catch (IOException | RuntimeException e) {
+                        if (unreadable.add(range.getName())) {
+                            log.warn("Archive {} of [{}, {}) is recorded but cannot be read from {}: {}",
+                                    range.getName(), range.getRangeFrom(), range.getRangeTo(),
+                                    directory.toAbsolutePath(), e.getMessage());
+                        }
+                    }
+                }
+            } catch (DataAccessException e) {
+                log.warn("Unable to read the recorded execution archives: {}", e.getMessage());
+            }
+            if (!opened.isEmpty()) {
+                add(opened);
+                log.info("Mapped {} recorded execution archives from {}", opened.size(), directory.toAbsolutePath());
+            }
+        }
+    }
+
+    // A file mapped already (e.g. by a refresh racing the archive that wrote it) keeps its first mapping
+    private void add(List<ExecutionArchiveReader> added) {
+        synchronized (readersLock) {
+            Set<String> mapped = new HashSet<>();
+            List<ExecutionArchiveReader> updated = new ArrayList<>(readers);
+            updated.forEach(reader -> mapped.add(reader.file().getFileName().toString()));
+            for (ExecutionArchiveReader reader : added) {
+                if (mapped.add(reader.file().getFileName().toString())) {
+                    updated.add(reader);
+                } else {
+                    reader.close();
+                }
+            }
+            updated.sort(Comparator.comparing(ExecutionArchiveReader::rangeFrom));
+            readers = List.copyOf(updated);
+        }
+    }
+
+    private List<String> partitionsOf(LocalDateTime from, LocalDateTime to) {
+        Set<String> attached = new HashSet<>(executionPartitionRepository.findPartitionNames());
+        List<String> partitions = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(from); month.atDay(1).atStartOfDay().isBefore(to);
+             month = month.plusMonths(1)) {
+            String partitionName = ExecutionPartitionRepository.partitionName(month);
+            if (attached.contains(partitionName)) {
+                partitions.add(partitionName);
+            }
+        }
+        return partitions;
+    }
+
+    private static ExecutionArchive toArchive(ExecutionArchiveReader reader) {
+        return new ExecutionArchive(
+                reader.file().getFileName().toString(),
+                reader.rangeFrom(),
+                reader.rangeTo(),
+                reader.firstExecutedAt(),
+                reader.lastExecutedAt(),
+                reader.rowCount(),
+                reader.sizeBytes()
+        );
+    }
+
+    // The claim is released last, so the range is never accepted again while a file of it may still be mapped
+    private void abandon(String name, Path temporary, Path file, ExecutionArchiveReader reader) {
+        if (reader != null) {
+            reader.close();
+        }
+        deleteQuietly(temporary);
+        deleteQuietly(file);
+        executionArchiveRepository.release(name);
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Unable to delete {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.quetoquenana.template.service;
+
+import com.quetoquenana.template.model.Execution;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ExecutionFeedService {
+    Optional<SseEmitter> subscribe(UUID lastEventId);
+    void publish(List<Execution> executions);
+    int subscriberCount();
+}
@@ -0,0 +1,327 @@
+package com.quetoquenana.template.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.quetoquenana.template.model.Execution;
+import com.quetoquenana.template.model.ExecutionsSavedEvent;
+import com.quetoquenana.template.util.UuidV7;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fans newly stored executions out to Server-Sent Events subscribers.
+ * <p>
+ * Every saved batch is rendered once, with the ExecutionList view, into SSE frames shared by all subscribers.
+ * Publishing only appends the batch to each subscriber's bounded queue, so the save path never waits for a client;
+ * each subscriber has its own virtual thread writing to its connection. A subscriber whose queue is full is evicted:
+ * it stops receiving, its queue is dropped and its connection is closed, and the client resumes from its
+ * Last-Event-ID when it reconnects.
+ * <p>
+ * The last {@code replay-size} events are kept for resuming. An id older than that is resumed from the table,
+ * in pages of {@code replay-size} executions in id order, until the subscriber has caught up. Ids are UUIDv7 assigned
+ * when the row is saved, so this is the order executions were saved in, even for the ones sent with a past
+ * executedAt. After {@code max-replay} rows without catching up the stream ends, and the client resumes from the
+ * last of them when it reconnects. An id that is not stored (or not time-ordered) cannot be resumed from: the
+ * subscriber gets a {@value #RESYNC_EVENT_NAME} event, to reload what it shows, and then the live events.
+ * Only executions saved by this instance are published.
+ */
+@Slf4j
+@Service
+public class ExecutionFeedServiceImpl implements ExecutionFeedService, DisposableBean {
+    public static final String EVENT_NAME = "execution";
+    public static final String RESYNC_EVENT_NAME = "resync";
+
+    private final ExecutionService executionService;
+    private final ObjectWriter writer;
+    private final int maxSubscribers;
+    private final int bufferSize;
+    private final int replaySize;
+    private final int maxReplay;
+    private final Duration keepAlive;
+    private final Duration timeout;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Publishing and subscribing hold this lock, so a new subscriber gets every event exactly once:
+    // either from the replay taken under the lock or from its queue
+    private final Object lock = new Object();
+    private final ArrayDeque<FeedEvent> recent;
+
+    private final Counter publishedEvents;
+    private final Counter evictions;
+    private final Counter rejections;
+
+    public ExecutionFeedServiceImpl(ExecutionService executionService, ObjectMapper objectMapper,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.executions.stream.max-subscribers:10000}") int maxSubscribers,
+                                    @Value("${app.executions.stream.buffer-size:64}") int bufferSize,
+                                    @Value("${app.executions.stream.replay-size:1000}") int replaySize,
+                                    @Value("${app.executions.stream.max-replay:10000}") int maxReplay,
+                                    @Value("${app.executions.stream.keep-alive:15s}") Duration keepAlive,
+                                    @Value("${app.executions.stream.timeout:30m}") Duration timeout) {
+        this.executionService = executionService;
+        this.writer = objectMapper.writerWithView(Execution.ExecutionList.class);
+        this.maxSubscribers = maxSubscribers;
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.maxReplay = maxReplay;
+        this.keepAlive = keepAlive;
+        this.timeout = timeout;
+        this.recent = new ArrayDeque<>(replaySize);
+        this.publishedEvents = Counter.builder("executions.stream.events")
+                .description("Executions published to the stream")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("executions.stream.evictions")
+                .description("Subscribers disconnected because their buffer was full")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("executions.stream.rejections")
+                .description("Subscriptions refused at max-subscribers")
+                .register(meterRegistry);
+        Gauge.builder("executions.stream.subscribers", subscribers, Set::size)
+                .description("Connected stream subscribers")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Subscribe to executions saved from now on.
+     * @param lastEventId id of the last execution the client received, to resume after it; null to start live
+     * @return emitter for the response, or empty when max-subscribers is reached
+     */
+    @Override
+    public Optional<SseEmitter> subscribe(UUID lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            rejections.increment();
+            return Optional.empty();
+        }
+        SseEmitter emitter = newEmitter();
+        Subscriber subscriber = new Subscriber(emitter, new ArrayBlockingQueue<>(bufferSize));
+        List<FeedEvent> replay;
+        synchronized (lock) {
+            subscribers.add(subscriber);
+            replay = lastEventId == null ? List.of() : recentAfter(lastEventId);
+        }
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(e -> close(subscriber));
+        subscriber.thread = Thread.ofVirtual().name("execution-feed").start(() -> deliver(subscriber, lastEventId, replay));
+        return Optional.of(emitter);
+    }
+
+    /**
+     * Only called after the saving transaction committed, so subscribers never see rolled-back rows.
+     * Startup saves run without a transaction and are published right away.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExecutionsSaved(ExecutionsSavedEvent event) {
+        try {
+            publish(event.executions());
+        } catch (RuntimeException e) {
+            // The rows are stored; a lost notification must not fail the save
+            log.warn("Could not publish {} executions to the stream: {}", event.executions().size(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void publish(List<Execution> executions) {
+        if (executions.isEmpty()) {
+            return;
+        }
+        List<FeedEvent> events = new ArrayList<>(executions.size());
+        for (Execution execution : executions) {
+            events.add(render(execution));
+        }
+        synchronized (lock) {
+            for (FeedEvent event : events) {
+                if (recent.size() == replaySize) {
+                    recent.removeFirst();
+                }
+                recent.addLast(event);
+            }
+            for (Subscriber subscriber : subscribers) {
+                if (!subscriber.queue.offer(events)) {
+                    evict(subscriber);
+                }
+            }
+        }
+        publishedEvents.increment(events.size());
+    }
+
+    @Override
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.forEach(this::close);
+    }
+
+    // Overridden in tests to capture what is sent
+    SseEmitter newEmitter() {
+        return new SseEmitter(timeout.toMillis());
+    }
+
+    private void deliver(Subscriber subscriber, UUID lastEventId, List<FeedEvent> replay) {
+        try {
+            // Events replayed from the table may arrive again through the queue; the recent events replayed
+            // under the lock never do
+            Set<UUID> replayed = new HashSet<>();
+            if (replay != null) {
+                send(subscriber, replay);
+            } else if (!databaseReplay(subscriber, lastEventId, replayed)) {
+                return;
+            }
+            while (!subscriber.closed) {
+                List<FeedEvent> batch = subscriber.queue.poll(keepAlive.toMillis(), TimeUnit.MILLISECONDS);
+                if (batch == null) {
+                    subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+                } else if (replayed.isEmpty()) {
+                    send(subscriber, batch);
+                } else {
+                    send(subscriber, batch.stream().filter(event -> !replayed.contains(event.id())).toList());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException e) {
+            // The client went away or the emitter already completed
+            log.debug("Execution stream subscriber closed: {}", e.getMessage());
+        } finally {
+            close(subscriber);
+            subscriber.emitter.complete();
+        }
+    }
+
+    // One write and flush per batch instead of one per execution
+    private static void send(Subscriber subscriber, List<FeedEvent> events) throws IOException {
+        if (events.isEmpty()) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> frames = new LinkedHashSet<>();
+        for (FeedEvent event : events) {
+            frames.addAll(event.frame());
+        }
+        subscriber.emitter.send(frames);
+    }
+
+    /**
+     * Events after the given id, or null when the id is no longer (or was never) in the recent events.
+     */
+    private List<FeedEvent> recentAfter(UUID lastEventId) {
+        List<FeedEvent> after = new ArrayList<>();
+        Iterator<FeedEvent> iterator = recent.descendingIterator();
+        while (iterator.hasNext()) {
+            FeedEvent event = iterator.next();
+            if (event.id().equals(lastEventId)) {
+                return after.reversed();
+            }
+            after.add(event);
+        }
+        return null;
+    }
+
+    /**
+     * Send the executions saved after the given id from the table, page by page, until caught up. When the id is
+     * unknown there is no position to resume from, and the subscriber is told to resync instead.
+     * @return false when the stream must end instead of going live: the subscriber was evicted meanwhile, or
+     * {@code max-replay} rows were sent and the client resumes after the last of them when it reconnects
+     */
+    private boolean databaseReplay(Subscriber subscriber, UUID lastEventId, Set<UUID> replayed) throws IOException {
+        if (UuidV7.timestamp(lastEventId).isEmpty() || executionService.findById(lastEventId).isEmpty()) {
+            log.debug("Execution stream cannot resume after unknown id {}, asking the client to resync", lastEventId);
+            subscriber.emitter.send(SseEmitter.event().name(RESYNC_EVENT_NAME).data(lastEventId.toString()).build());
+            return true;
+        }
+        UUID after = lastEventId;
+        while (!subscriber.closed) {
+            Slice<Execution> page = executionService.findAllSavedAfter(after, replaySize);
+            List<FeedEvent> events = page.getContent().stream().map(this::render).toList();
+            events.forEach(event -> replayed.add(event.id()));
+            send(subscriber, events);
+            if (!page.hasNext()) {
+                return true;
+            }
+            if (replayed.size() >= maxReplay) {
+                log.debug("Execution stream replay stopped after {} executions, the client resumes on reconnect",
+                        replayed.size());
+                return false;
+            }
+            after = page.getContent().getLast().getId();
+        }
+        return false;
+    }
+
+    private FeedEvent render(Execution execution) {
+        try {
+            return new FeedEvent(execution.getId(), SseEmitter.event()
+                    .id(execution.getId().toString())
+                    .name(EVENT_NAME)
+                    .data(writer.writeValueAsString(execution))
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Runs with the lock held: never blocks on the subscriber's connection
+    private void evict(Subscriber subscriber) {
+        evictions.increment();
+        log.warn("Evicting execution stream subscriber: {} batches pending", bufferSize);
+        close(subscriber);
+    }
+
+    private void close(Subscriber subscriber) {
+        subscriber.closed = true;
+        if (subscribers.remove(subscriber)) {
+            subscriber.queue.clear();
+            Thread thread = subscriber.thread;
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+    }
+
+    /**
+     * One execution rendered as an SSE frame, shared by every subscriber.
+     */
+    private record FeedEvent(UUID id, Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<List<FeedEvent>> queue;
+        private volatile Thread thread;
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, BlockingQueue<List<FeedEvent>> queue) {
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
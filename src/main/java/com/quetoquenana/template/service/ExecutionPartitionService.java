@@ -0,0 +1,5 @@
+package com.quetoquenana.template.service;
+
+public interface ExecutionPartitionService {
+    void maintainPartitions();
+}
@@ -0,0 +1,136 @@
+package com.quetoquenana.template.service;
+
+import com.quetoquenana.template.repository.ExecutionPartitionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExecutionPartitionServiceImpl implements ExecutionPartitionService {
+    private final ExecutionPartitionRepository executionPartitionRepository;
+    private final ExecutionArchiveService executionArchiveService;
+
+    @Value("${app.executions.partitions.premake-months:3}")
+    private int premakeMonths;
+
+    @Value("${app.executions.partitions.retention-months:12}")
+    private int retentionMonths;
+
+    @Value("${app.executions.partitions.drop-expired:false}")
+    private boolean dropExpired;
+
+    @Value("${app.executions.partitions.require-archive:false}")
+    private boolean requireArchive;
+
+    @Value("${app.executions.partitions.detached-grace-months:1}")
+    private int detachedGraceMonths;
+
+    /**
+     * Create the partitions of every month of the retention window up to {@code premakeMonths} ahead, and of
+     * every month with rows stranded in executions_default, then remove every partition that ends before the
+     * retention window. Removing a month is one DETACH or DROP, not a mass DELETE followed by vacuum.
+     * With {@code require-archive}, an expired month is only removed once completed archives cover it; until then
+     * it stays attached. Archived ranges are read from the shared database, so every instance decides alike.
+     * Detached months are kept {@code detachedGraceMonths} longer (to be backed up or attached again) and then
+     * dropped, so their storage is freed in the end.
+     */
+    @Override
+    public void maintainPartitions() {
+        YearMonth current = YearMonth.now();
+        YearMonth oldestRetained = current.minusMonths(retentionMonths);
+        Set<YearMonth> months = new TreeSet<>();
+        for (YearMonth month = oldestRetained; !month.isAfter(current.plusMonths(premakeMonths));
+             month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        // Stranded months older than the window get their partition too, so the loop below removes them
+        months.addAll(executionPartitionRepository.findDefaultPartitionMonths());
+        for (YearMonth month : months) {
+            createPartition(month);
+        }
+
+        for (String partitionName : executionPartitionRepository.findPartitionNames()) {
+            Optional<YearMonth> month = monthOf(partitionName);
+            if (month.isEmpty() || !month.get().isBefore(oldestRetained)) {
+                continue;
+            }
+            if (requireArchive && !isArchived(month.get())) {
+                log.warn("Keeping expired partition {}: its month is not archived", partitionName);
+            } else {
+                removeExpired(partitionName);
+            }
+        }
+
+        YearMonth oldestDetached = oldestRetained.minusMonths(detachedGraceMonths);
+        for (String tableName : executionPartitionRepository.findDetachedPartitionNames()) {
+            Optional<YearMonth> month = monthOf(tableName);
+            if (month.isPresent() && month.get().isBefore(oldestDetached)) {
+                dropDetached(tableName);
+            }
+        }
+    }
+
+    private void createPartition(YearMonth month) {
+        try {
+            int moved = executionPartitionRepository.createMonthlyPartition(month);
+            if (moved > 0) {
+                log.warn("Moved {} executions of {} out of {}", moved, month,
+                        ExecutionPartitionRepository.DEFAULT_PARTITION);
+            }
+        } catch (DataAccessException e) {
+            log.error("Unable to create partition for {}: {}", month, e.getMessage());
+        }
+    }
+
+    private boolean isArchived(YearMonth month) {
+        return executionArchiveService.isArchived(month.atDay(1).atStartOfDay(),
+                month.plusMonths(1).atDay(1).atStartOfDay());
+    }
+
+    private void removeExpired(String partitionName) {
+        try {
+            if (dropExpired) {
+                executionPartitionRepository.dropPartition(partitionName);
+                log.info("Dropped expired partition {}", partitionName);
+            } else {
+                executionPartitionRepository.detachPartition(partitionName);
+                log.info("Detached expired partition {}", partitionName);
+            }
+        } catch (DataAccessException e) {
+            log.error("Unable to remove expired partition {}: {}", partitionName, e.getMessage());
+        }
+    }
+
+    private void dropDetached(String tableName) {
+        try {
+            executionPartitionRepository.dropPartition(tableName);
+            log.info("Dropped detached partition {} after its grace period", tableName);
+        } catch (DataAccessException e) {
+            log.error("Unable to drop detached partition {}: {}", tableName, e.getMessage());
+        }
+    }
+
+    private static Optional<YearMonth> monthOf(String partitionName) {
+        if (!partitionName.startsWith(ExecutionPartitionRepository.PARTITION_PREFIX)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(YearMonth.parse(
+                    partitionName.substring(ExecutionPartitionRepository.PARTITION_PREFIX.length()),
+                    ExecutionPartitionRepository.PARTITION_SUFFIX));
+        } catch (DateTimeParseException e) {
+            // executions_default and any manually created table
+            return Optional.empty();
+        }
+    }
+}
@@ -1,16 +1,31 @@
 package com.quetoquenana.template.service;
 
+import com.quetoquenana.template.model.BatchIngestionResult;
 import com.quetoquenana.template.model.Execution;
+import com.quetoquenana.template.model.ExecutionFilter;
+import com.quetoquenana.template.model.ExecutionSetVersion;
+import com.quetoquenana.template.model.StartupPhaseDurations;
+import com.quetoquenana.template.util.ExecutionCursor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface ExecutionService {
     List<Execution> findAll();
     Optional<Execution> findById(UUID id);
-    void saveExecutionOnStartup();
-    Page<Execution> findAll(Pageable pageable);
+    void saveExecutionOnStartup(StartupPhaseDurations startup);
+    void validateQuery(ExecutionFilter filter, Pageable pageable);
+    Page<Execution> findAll(ExecutionFilter filter, Pageable pageable);
+    Slice<Execution> findSlice(ExecutionFilter filter, Pageable pageable);
+    long estimateTotal(ExecutionFilter filter);
+    Slice<Execution> findAllAfter(ExecutionCursor cursor, int size);
+    Slice<Execution> findAllSavedAfter(UUID id, int size);
+    void forEachExecution(Consumer<Execution> consumer);
+    BatchIngestionResult saveBatch(List<Execution> executions);
+    ExecutionSetVersion getVersion();
 }
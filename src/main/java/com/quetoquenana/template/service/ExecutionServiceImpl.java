@@ -1,23 +1,79 @@
 package com.quetoquenana.template.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.quetoquenana.template.config.CacheConfig;
+import com.quetoquenana.template.exception.ConflictException;
+import com.quetoquenana.template.exception.InvalidRequestException;
+import com.quetoquenana.template.model.BatchIngestionResult;
+import com.quetoquenana.template.model.BatchItemError;
 import com.quetoquenana.template.model.Execution;
+import com.quetoquenana.template.model.ExecutionArchiveRange;
+import com.quetoquenana.template.model.ExecutionFilter;
+import com.quetoquenana.template.model.ExecutionSetVersion;
+import com.quetoquenana.template.model.ExecutionsSavedEvent;
+import com.quetoquenana.template.model.StartupPhaseDurations;
+import com.quetoquenana.template.repository.ExecutionFilterQuery;
 import com.quetoquenana.template.repository.ExecutionRepository;
-import lombok.RequiredArgsConstructor;
+import com.quetoquenana.template.util.ExecutionCursor;
+import com.quetoquenana.template.util.UuidV7;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.net.InetAddress;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
-@RequiredArgsConstructor
+@Timed(value = "executions.service", histogram = true)
 public class ExecutionServiceImpl implements ExecutionService {
+    // Column sizes from the executions table
+    private static final int MAX_SERVER_NAME_LENGTH = 255;
+    private static final int MAX_IP_ADDRESS_LENGTH = 255;
+    private static final int MAX_APP_VERSION_LENGTH = 50;
+    private static final int MAX_ENVIRONMENT_LENGTH = 50;
+    // The claimed range is committed before its scan starts, so a batch sent again is checked against it at once
+    private static final Duration ARCHIVED_CONCURRENTLY_RETRY_AFTER = Duration.ofSeconds(1);
+    private static final Comparator<Execution> KEYSET_ORDER = order(Sort.by("executedAt"));
+
     private final ExecutionRepository executionRepository;
+    private final ExecutionArchiveService executionArchiveService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Rows handed to the controller per query
+    private final DistributionSummary findAllRows;
+    private final DistributionSummary pageRows;
+    private final DistributionSummary cursorRows;
+    private final DistributionSummary exportRows;
+
+    // Planner estimates per filter, re-read from the statistics once they are older than the TTL
+    private final Cache<ExecutionFilter, Long> totalEstimates;
 
     @Value("${app.version:0.0.1}")
     private String appVersion;
@@ -25,12 +81,42 @@ public class ExecutionServiceImpl implements ExecutionService {
     @Value("${spring.profiles.active:dev}")
     private String environment;
 
+    @Value("${app.executions.batch.max-size:10000}")
+    private int maxBatchSize;
+
+    @Value("${app.executions.partitions.premake-months:3}")
+    private int premakeMonths;
+
+    @Value("${app.executions.partitions.retention-months:12}")
+    private int retentionMonths;
+
+    @Value("${app.executions.archive.max-merged-rows:10000}")
+    private int maxMergedRows;
+
+    public ExecutionServiceImpl(ExecutionRepository executionRepository,
+                                ExecutionArchiveService executionArchiveService,
+                                ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry,
+                                @Value("${app.executions.total-estimate.max-size:1000}") long estimateMaxSize,
+                                @Value("${app.executions.total-estimate.ttl:1m}") Duration estimateTtl) {
+        this.executionRepository = executionRepository;
+        this.executionArchiveService = executionArchiveService;
+        this.eventPublisher = eventPublisher;
+        this.totalEstimates = Caffeine.newBuilder()
+                .maximumSize(estimateMaxSize)
+                .expireAfterWrite(estimateTtl)
+                .build();
+        this.findAllRows = rowsReturned(meterRegistry, "findAll");
+        this.pageRows = rowsReturned(meterRegistry, "page");
+        this.cursorRows = rowsReturned(meterRegistry, "cursor");
+        this.exportRows = rowsReturned(meterRegistry, "export");
+    }
+
     /**
      * Save a new execution record. Called by StartupExecutionRecorder.
+     * @param startup how long each startup phase took
      */
-    public void saveExecutionOnStartup() {
+    public void saveExecutionOnStartup(StartupPhaseDurations startup) {
         Execution execution = new Execution();
-        execution.setId(UUID.randomUUID());
         execution.setExecutedAt(LocalDateTime.now());
         try {
             execution.setServerName(InetAddress.getLocalHost().getHostName());
@@ -41,21 +127,452 @@ public class ExecutionServiceImpl implements ExecutionService {
         }
         execution.setAppVersion(appVersion);
         execution.setEnvironment(environment);
-        executionRepository.save(execution);
+        execution.setStartup(startup);
+        eventPublisher.publishEvent(new ExecutionsSavedEvent(List.of(executionRepository.save(execution))));
     }
 
+    /**
+     * List endpoints only render the ExecutionList view, so the list queries read just those columns
+     * (see ExecutionRepository); {@link #findById(UUID)} still loads the whole row. Every list query also returns
+     * the archived executions of the months retention has removed from the table (see
+     * ExecutionArchiveService#findRemovedRanges); with no such month, only the table is read.
+     */
     @Override
+    @Transactional(readOnly = true)
     public List<Execution> findAll() {
-        return executionRepository.findAll();
+        List<ExecutionArchiveRange> removed = executionArchiveService.findRemovedRanges(null, null);
+        List<Execution> executions = new ArrayList<>();
+        for (ExecutionArchiveRange range : removed) {
+            executionArchiveService.scan(range.getRangeFrom(), range.getRangeTo(), false, executions::add);
+        }
+        executions.addAll(executionRepository.findAllListView());
+        findAllRows.record(executions.size());
+        return executions;
     }
 
+    /**
+     * Executions are immutable once written, so lookups are served from the executions cache when enabled.
+     * Empty results are cached too (as negative entries) so unknown ids do not reach the database repeatedly.
+     * Ids no longer in the table are looked up in the archives. Ids are UUIDv7 assigned when the row is saved, and
+     * rows are only accepted with an executedAt in the ingestion window of that month, so the table is only probed in
+     * the partitions of that window. Ids without a creation time (rows older than UUIDv7 ids) probe every partition.
+     */
     @Override
+    @Cacheable(cacheNames = CacheConfig.EXECUTIONS_BY_ID, sync = true)
+    @Transactional(readOnly = true)
     public Optional<Execution> findById(UUID id) {
-        return executionRepository.findById(id);
+        Optional<Execution> stored = UuidV7.timestamp(id)
+                .map(created -> YearMonth.from(created.atZone(ZoneId.systemDefault())))
+                .map(month -> executionRepository.findByIdExecutedBetween(id, windowStart(month), windowEnd(month)))
+                .orElseGet(() -> executionRepository.findById(id));
+        return stored.or(() -> executionArchiveService.findById(id));
+    }
+
+    /**
+     * Filtered page. Only the filters that are set reach the SQL, each combination is served by one of the
+     * composite executions indexes. When the executedAt range reaches removed months, their archived executions
+     * are merged in: both sources are read up to the end of the page, which may then end at most
+     * {@code app.executions.archive.max-merged-rows} rows from the start.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Execution> findAll(ExecutionFilter filter, Pageable pageable) {
+        validateQuery(filter, pageable);
+        List<ExecutionArchiveRange> removed =
+                executionArchiveService.findRemovedRanges(filter.getExecutedFrom(), filter.getExecutedTo());
+        Page<Execution> page;
+        if (removed.isEmpty()) {
+            page = executionRepository.findListView(filter, pageable);
+        } else {
+            int window = mergedWindow(pageable);
+            Page<Execution> table = executionRepository.findListView(filter,
+                    PageRequest.of(0, window, pageable.getSort()));
+            ArchivedMatches archived = archivedMatches(filter, pageable.getSort(), removed, window);
+            List<Execution> merged = merge(table.getContent(), archived.first(), order(pageable.getSort()), window);
+            page = new PageImpl<>(pageOf(merged, pageable), pageable, table.getTotalElements() + archived.count());
+        }
+        pageRows.record(page.getNumberOfElements());
+        return page;
+    }
+
+    /**
+     * Same filters and order as {@link #findAll(ExecutionFilter, Pageable)} without the count query:
+     * one extra row tells whether a next page exists.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Execution> findSlice(ExecutionFilter filter, Pageable pageable) {
+        validateQuery(filter, pageable);
+        List<ExecutionArchiveRange> removed =
+                executionArchiveService.findRemovedRanges(filter.getExecutedFrom(), filter.getExecutedTo());
+        Slice<Execution> slice;
+        if (removed.isEmpty()) {
+            slice = executionRepository.findListViewSlice(filter, pageable);
+        } else {
+            int window = mergedWindow(pageable);
+            Slice<Execution> table = executionRepository.findListViewSlice(filter,
+                    PageRequest.of(0, window, pageable.getSort()));
+            ArchivedMatches archived = archivedMatches(filter, pageable.getSort(), removed, window + 1);
+            List<Execution> merged = merge(table.getContent(), archived.first(), order(pageable.getSort()),
+                    window + 1);
+            slice = new SliceImpl<>(pageOf(merged, pageable), pageable, table.hasNext() || merged.size() > window);
+        }
+        pageRows.record(slice.getNumberOfElements());
+        return slice;
+    }
+
+    /**
+     * Planner estimate for the filter, cached for {@code app.executions.total-estimate.ttl}; it follows
+     * the table as autovacuum re-analyzes the partitions. Archived executions are not estimated.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long estimateTotal(ExecutionFilter filter) {
+        return totalEstimates.get(filter, executionRepository::estimateCount);
+    }
+
+    /**
+     * Keyset page ordered by (executedAt, id). One extra row is fetched to know whether a next page exists,
+     * so no count query is executed. Archived executions of removed months after the cursor are merged in; their
+     * scan stops once it has read enough rows for the page.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Execution> findAllAfter(ExecutionCursor cursor, int size) {
+        List<Execution> rows = cursor == null
+                ? executionRepository.findFirstKeysetPageListView(Limit.of(size + 1))
+                : executionRepository.findKeysetPageAfterListView(
+                        cursor.getExecutedAt(), cursor.getId(), Limit.of(size + 1));
+        List<ExecutionArchiveRange> removed =
+                executionArchiveService.findRemovedRanges(cursor == null ? null : cursor.getExecutedAt(), null);
+        if (!removed.isEmpty()) {
+            rows = merge(rows, archivedAfter(cursor, removed, size + 1), KEYSET_ORDER, size + 1);
+        }
+        boolean hasNext = rows.size() > size;
+        List<Execution> content = hasNext ? rows.subList(0, size) : rows;
+        cursorRows.record(content.size());
+        return new SliceImpl<>(content, PageRequest.of(0, size), hasNext);
+    }
+
+    /**
+     * Executions saved after the given id, in id order, i.e. in the order they were saved. One extra row is fetched
+     * to know whether a next page exists.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Execution> findAllSavedAfter(UUID id, int size) {
+        List<Execution> rows = executionRepository.findListViewWithIdAfter(id, Limit.of(size + 1));
+        boolean hasNext = rows.size() > size;
+        List<Execution> content = hasNext ? rows.subList(0, size) : rows;
+        return new SliceImpl<>(content, PageRequest.of(0, size), hasNext);
+    }
+
+    /**
+     * Pass every execution to the consumer as it is read from the database cursor.
+     * Rows are list projections, never managed, so the persistence context stays empty regardless of table size.
+     * Each removed month is scanned from its archive when the table rows reach it, so the whole output stays in
+     * (executedAt, id) order.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachExecution(Consumer<Execution> consumer) {
+        long[] rows = {0};
+        Consumer<Execution> counting = execution -> {
+            consumer.accept(execution);
+            rows[0]++;
+        };
+        Iterator<ExecutionArchiveRange> removed = executionArchiveService.findRemovedRanges(null, null).iterator();
+        ExecutionArchiveRange next = removed.hasNext() ? removed.next() : null;
+        try (Stream<Execution> executions = executionRepository.streamAllListViewOrderedByExecutedAt()) {
+            Iterator<Execution> table = executions.iterator();
+            while (table.hasNext()) {
+                Execution execution = table.next();
+                while (next != null && !next.getRangeFrom().isAfter(execution.getExecutedAt())) {
+                    executionArchiveService.forEachExecution(next.getRangeFrom(), next.getRangeTo(), counting);
+                    next = removed.hasNext() ? removed.next() : null;
+                }
+                counting.accept(execution);
+            }
+        }
+        while (next != null) {
+            executionArchiveService.forEachExecution(next.getRangeFrom(), next.getRangeTo(), counting);
+            next = removed.hasNext() ? removed.next() : null;
+        }
+        exportRows.record(rows[0]);
+    }
+
+    /**
+     * Validate every record, then insert the valid ones with JDBC batching in a single transaction.
+     * Invalid records are reported by position and do not prevent the rest from being stored. Ids are always
+     * assigned here: the primary key of the partitioned table is (id, executed_at), so a client id could be stored
+     * again with another executedAt, and records sending one are rejected. executedAt must
+     * fall in a month that partition maintenance keeps: from the oldest retained month up to the last pre-made one,
+     * outside the ranges archived or being archived by any instance. The ranges are read again after the insert: a
+     * range claimed meanwhile may have been scanned before the rows were stored, so the batch is then rolled back
+     * with a {@link ConflictException}: sent again, its records in that range are rejected one by one.
+     * The inserted records are announced with an {@link ExecutionsSavedEvent} once the transaction commits.
+     */
+    @Override
+    @Transactional
+    public BatchIngestionResult saveBatch(List<Execution> executions) {
+        if (executions.isEmpty() || executions.size() > maxBatchSize) {
+            throw new InvalidRequestException("batch.size.invalid", maxBatchSize);
+        }
+        YearMonth current = YearMonth.now();
+        LocalDateTime earliest = windowStart(current);
+        LocalDateTime latest = windowEnd(current);
+        List<ExecutionArchiveRange> archived = executionArchiveService.findArchivedRanges(earliest, latest);
+        List<BatchItemError> errors = new ArrayList<>();
+        List<Execution> valid = new ArrayList<>(executions.size());
+        for (int index = 0; index < executions.size(); index++) {
+            Execution execution = executions.get(index);
+            if (isValid(index, execution, earliest, latest, archived, errors)) {
+                execution.setId(UuidV7.next());
+                valid.add(execution);
+            }
+        }
+
+        long start = System.nanoTime();
+        List<Execution> stored = valid.isEmpty() ? List.of() : executionRepository.batchInsert(valid);
+        long elapsedNanos = System.nanoTime() - start;
+        if (!stored.isEmpty() && isAnyArchived(stored, executionArchiveService.findArchivedRanges(earliest, latest))) {
+            throw new ConflictException("batch.archived.concurrently", ARCHIVED_CONCURRENTLY_RETRY_AFTER);
+        }
+        int inserted = stored.size();
+        if (inserted > 0) {
+            eventPublisher.publishEvent(new ExecutionsSavedEvent(stored));
+        }
+        long rowsPerSecond = elapsedNanos == 0 ? inserted : inserted * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+
+        return new BatchIngestionResult(
+                executions.size(),
+                inserted,
+                valid.size() - inserted,
+                executions.size() - valid.size(),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                rowsPerSecond,
+                errors
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ExecutionSetVersion getVersion() {
+        return executionRepository.findVersion();
     }
 
+    /**
+     * Reject sort properties without a column and empty executedAt ranges, as findAll and findSlice do.
+     */
     @Override
-    public Page<Execution> findAll(Pageable pageable) {
-        return executionRepository.findAll(pageable);
+    public void validateQuery(ExecutionFilter filter, Pageable pageable) {
+        for (Sort.Order order : pageable.getSort()) {
+            if (!ExecutionFilterQuery.SORT_COLUMNS.containsKey(order.getProperty())) {
+                throw new InvalidRequestException("sort.property.invalid", order.getProperty(),
+                        String.join(", ", ExecutionFilterQuery.SORT_COLUMNS.keySet().stream().sorted().toList()));
+            }
+        }
+        if (filter.getExecutedFrom() != null && filter.getExecutedTo() != null
+                && !filter.getExecutedFrom().isBefore(filter.getExecutedTo())) {
+            throw new InvalidRequestException("executed.range.invalid");
+        }
+    }
+
+    /**
+     * Rows a merged page needs: every row up to the end of the page, from both the table and the archives.
+     * @throws InvalidRequestException past {@code app.executions.archive.max-merged-rows}
+     */
+    private int mergedWindow(Pageable pageable) {
+        long window = pageable.getOffset() + pageable.getPageSize();
+        if (window > maxMergedRows) {
+            throw new InvalidRequestException("page.archived.too.deep", maxMergedRows);
+        }
+        return (int) window;
+    }
+
+    /**
+     * Archived executions of the removed ranges that match the filter: the first {@code limit} of them in the
+     * page order, and how many match. Every archived execution of the ranges is read, since any of them may sort
+     * first; the ranges are already clipped to the executedAt filter.
+     */
+    private ArchivedMatches archivedMatches(ExecutionFilter filter, Sort sort, List<ExecutionArchiveRange> removed,
+                                            int limit) {
+        Comparator<Execution> order = order(sort);
+        boolean detail = filter.getServerName() != null || sort.getOrderFor("serverName") != null;
+        // Max-heap of the first rows: the head is the one to drop when a row sorting before it arrives
+        PriorityQueue<Execution> first = new PriorityQueue<>(order.reversed());
+        long[] count = {0};
+        for (ExecutionArchiveRange range : removed) {
+            executionArchiveService.scan(range.getRangeFrom(), range.getRangeTo(), detail, execution -> {
+                if (matches(filter, execution)) {
+                    count[0]++;
+                    first.add(execution);
+                    if (first.size() > limit) {
+                        first.poll();
+                    }
+                }
+                return true;
+            });
+        }
+        List<Execution> sorted = new ArrayList<>(first);
+        sorted.sort(order);
+        return new ArchivedMatches(sorted, count[0]);
+    }
+
+    // The first limit archived executions after the cursor; removed ranges are disjoint and in executedAt order
+    private List<Execution> archivedAfter(ExecutionCursor cursor, List<ExecutionArchiveRange> removed, int limit) {
+        List<Execution> archived = new ArrayList<>(limit);
+        for (ExecutionArchiveRange range : removed) {
+            if (archived.size() >= limit) {
+                break;
+            }
+            executionArchiveService.scan(range.getRangeFrom(), range.getRangeTo(), false, execution -> {
+                if (cursor == null || isAfter(execution, cursor)) {
+                    archived.add(execution);
+                }
+                return archived.size() < limit;
+            });
+        }
+        return archived;
+    }
+
+    private static boolean isAfter(Execution execution, ExecutionCursor cursor) {
+        int executedAt = execution.getExecutedAt().compareTo(cursor.getExecutedAt());
+        return executedAt > 0 || executedAt == 0 && compareIds(execution.getId(), cursor.getId()) > 0;
+    }
+
+    private static boolean matches(ExecutionFilter filter, Execution execution) {
+        return (filter.getEnvironment() == null || filter.getEnvironment().equals(execution.getEnvironment()))
+                && (filter.getAppVersion() == null || filter.getAppVersion().equals(execution.getAppVersion()))
+                && (filter.getServerName() == null || filter.getServerName().equals(execution.getServerName()));
+    }
+
+    /**
+     * The page order in Java: NULLS LAST ascending and NULLS FIRST descending, id last in the direction of the last
+     * property, as in ExecutionFilterQuery. Strings compare by UTF-16 code unit, which can differ from the database
+     * collation, so archived rows may interleave slightly differently with table rows on text sorts.
+     */
+    private static Comparator<Execution> order(Sort sort) {
+        Comparator<Execution> order = (left, right) -> 0;
+        boolean descending = false;
+        for (Sort.Order property : sort) {
+            Comparator<Execution> column = switch (property.getProperty()) {
+                case "executedAt" -> Comparator.comparing(Execution::getExecutedAt,
+                        Comparator.nullsLast(Comparator.naturalOrder()));
+                case "appVersion" -> Comparator.comparing(Execution::getAppVersion,
+                        Comparator.nullsLast(Comparator.naturalOrder()));
+                case "environment" -> Comparator.comparing(Execution::getEnvironment,
+                        Comparator.nullsLast(Comparator.naturalOrder()));
+                case "serverName" -> Comparator.comparing(Execution::getServerName,
+                        Comparator.nullsLast(Comparator.naturalOrder()));
+                default -> throw new IllegalArgumentException("Unsupported sort property: " + property.getProperty());
+            };
+            descending = property.isDescending();
+            order = order.thenComparing(descending ? column.reversed() : column);
+        }
+        Comparator<Execution> id = Comparator.comparing(Execution::getId, ExecutionServiceImpl::compareIds);
+        return order.thenComparing(descending ? id.reversed() : id);
+    }
+
+    // PostgreSQL orders uuid values by their unsigned bytes; UUID#compareTo compares signed longs
+    private static int compareIds(UUID left, UUID right) {
+        int high = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
+    }
+
+    // The first limit rows of two lists already sorted by the order
+    private static List<Execution> merge(List<Execution> left, List<Execution> right, Comparator<Execution> order,
+                                         int limit) {
+        List<Execution> merged = new ArrayList<>(Math.min(limit, left.size() + right.size()));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < left.size() || j < right.size())) {
+            if (j == right.size() || i < left.size() && order.compare(left.get(i), right.get(j)) <= 0) {
+                merged.add(left.get(i++));
+            } else {
+                merged.add(right.get(j++));
+            }
+        }
+        return merged;
+    }
+
+    private static List<Execution> pageOf(List<Execution> merged, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), merged.size());
+        int to = Math.min(from + pageable.getPageSize(), merged.size());
+        return List.copyOf(merged.subList(from, to));
+    }
+
+    // Ingestion window of a month: from the oldest month retained then up to the last one pre-made then
+    private LocalDateTime windowStart(YearMonth month) {
+        return month.minusMonths(retentionMonths).atDay(1).atStartOfDay();
+    }
+
+    private LocalDateTime windowEnd(YearMonth month) {
+        return month.plusMonths(premakeMonths + 1L).atDay(1).atStartOfDay();
+    }
+
+    private static DistributionSummary rowsReturned(MeterRegistry meterRegistry, String query) {
+        return DistributionSummary.builder("executions.rows.returned")
+                .description("Executions returned per query")
+                .baseUnit("rows")
+                .tag("query", query)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static boolean isAnyArchived(List<Execution> executions, List<ExecutionArchiveRange> archived) {
+        for (Execution execution : executions) {
+            if (isArchived(execution.getExecutedAt(), archived)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isArchived(LocalDateTime executedAt, List<ExecutionArchiveRange> archived) {
+        for (ExecutionArchiveRange range : archived) {
+            if (range.contains(executedAt)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isValid(int index, Execution execution, LocalDateTime earliest, LocalDateTime latest,
+                            List<ExecutionArchiveRange> archived, List<BatchItemError> errors) {
+        if (execution == null) {
+            errors.add(new BatchItemError(index, null, "batch.item.null"));
+            return false;
+        }
+        int errorCount = errors.size();
+        if (execution.getId() != null) {
+            errors.add(new BatchItemError(index, "id", "batch.field.not.allowed", "id"));
+        }
+        if (execution.getExecutedAt() == null) {
+            errors.add(new BatchItemError(index, "executedAt", "batch.field.required", "executedAt"));
+        } else if (execution.getExecutedAt().isBefore(earliest) || !execution.getExecutedAt().isBefore(latest)) {
+            // Before the window the row would be removed by the next maintenance run, after it it would land in
+            // executions_default until its month is created
+            errors.add(new BatchItemError(index, "executedAt", "batch.field.out.of.range", "executedAt",
+                    earliest.toString(), latest.toString()));
+        } else if (isArchived(execution.getExecutedAt(), archived)) {
+            // The archive of that range is written or being written, so the row would be removed with its month
+            // without being archived
+            errors.add(new BatchItemError(index, "executedAt", "batch.field.archived", "executedAt"));
+        }
+        checkLength(index, "serverName", execution.getServerName(), MAX_SERVER_NAME_LENGTH, errors);
+        checkLength(index, "ipAddress", execution.getIpAddress(), MAX_IP_ADDRESS_LENGTH, errors);
+        checkLength(index, "appVersion", execution.getAppVersion(), MAX_APP_VERSION_LENGTH, errors);
+        checkLength(index, "environment", execution.getEnvironment(), MAX_ENVIRONMENT_LENGTH, errors);
+        return errors.size() == errorCount;
+    }
+
+    private static void checkLength(int index, String field, String value, int maxLength, List<BatchItemError> errors) {
+        if (value != null && value.length() > maxLength) {
+            errors.add(new BatchItemError(index, field, "batch.field.too.long", field, maxLength));
+        }
+    }
+
+    private record ArchivedMatches(List<Execution> first, long count) {
     }
 }
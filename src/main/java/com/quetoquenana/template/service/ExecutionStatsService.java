@@ -0,0 +1,13 @@
+package com.quetoquenana.template.service;
+
+import com.quetoquenana.template.model.ExecutionStatBucket;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ExecutionStatsService {
+    List<ExecutionStatBucket> getHistogram(LocalDateTime from, LocalDateTime to,
+                                           ExecutionStatBucket.Granularity granularity,
+                                           ExecutionStatBucket.Dimension groupBy);
+    int backfill(LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,85 @@
+package com.quetoquenana.template.service;
+
+import com.quetoquenana.template.exception.InvalidRequestException;
+import com.quetoquenana.template.model.ExecutionStatBucket;
+import com.quetoquenana.template.repository.ExecutionPartitionRepository;
+import com.quetoquenana.template.repository.ExecutionStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExecutionStatsServiceImpl implements ExecutionStatsService {
+    private final ExecutionStatsRepository executionStatsRepository;
+    private final ExecutionPartitionRepository executionPartitionRepository;
+
+    @Value("${app.executions.stats.max-range:366d}")
+    private Duration maxRange;
+
+    /**
+     * Both ends must be bucket starts of the granularity: every bucket is then complete and {@code to} is exact,
+     * since the hourly rollup cannot split an hour.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ExecutionStatBucket> getHistogram(LocalDateTime from, LocalDateTime to,
+                                                  ExecutionStatBucket.Granularity granularity,
+                                                  ExecutionStatBucket.Dimension groupBy) {
+        validateRange(from, to, granularity);
+        return executionStatsRepository.findHistogram(from, to, granularity, groupBy);
+    }
+
+    /**
+     * Rebuild the rollup of [from, to) from the raw executions, e.g. after restoring data or changing the rollup
+     * definition. Both ends must be hour starts. Only the months whose partition is attached are rebuilt: the
+     * buckets of detached or dropped months are kept, since their rows are gone from the table. Their partitions
+     * are locked in SHARE mode until the rebuild commits, which blocks inserts into those months only.
+     */
+    @Override
+    @Transactional
+    public int backfill(LocalDateTime from, LocalDateTime to) {
+        validateRange(from, to, ExecutionStatBucket.Granularity.HOUR);
+        Set<String> attached = new HashSet<>(executionPartitionRepository.findPartitionNames());
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(from); month.atDay(1).atStartOfDay().isBefore(to);
+             month = month.plusMonths(1)) {
+            if (attached.contains(ExecutionPartitionRepository.partitionName(month))) {
+                months.add(month);
+            } else {
+                log.info("Keeping the execution statistics of {}: it has no attached partition", month);
+            }
+        }
+        executionPartitionRepository.lockPartitions(months.stream().map(ExecutionPartitionRepository::partitionName)
+                .toList());
+        int rows = 0;
+        for (YearMonth month : months) {
+            LocalDateTime monthStart = month.atDay(1).atStartOfDay();
+            LocalDateTime monthEnd = month.plusMonths(1).atDay(1).atStartOfDay();
+            rows += executionStatsRepository.rebuild(from.isAfter(monthStart) ? from : monthStart,
+                    to.isBefore(monthEnd) ? to : monthEnd);
+        }
+        log.info("Execution statistics of [{}, {}) rebuilt with {} hourly rows", from, to, rows);
+        return rows;
+    }
+
+    private void validateRange(LocalDateTime from, LocalDateTime to, ExecutionStatBucket.Granularity granularity) {
+        if (!from.isBefore(to) || Duration.between(from, to).compareTo(maxRange) > 0) {
+            throw new InvalidRequestException("stats.range.invalid", maxRange.toDays());
+        }
+        if (!granularity.isBucketStart(from) || !granularity.isBucketStart(to)) {
+            throw new InvalidRequestException("stats.range.unaligned", granularity);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.quetoquenana.template.service;
+
+import com.quetoquenana.template.model.InstanceHeartbeat;
+
+import java.util.List;
+
+public interface HeartbeatService {
+    boolean recordHeartbeat();
+    List<InstanceHeartbeat> findLiveInstances();
+    int purgeExpired();
+}
@@ -0,0 +1,149 @@
+package com.quetoquenana.template.service;
+
+import com.quetoquenana.template.model.InstanceHeartbeat;
+import com.quetoquenana.template.repository.InstanceHeartbeatRepository;
+import com.quetoquenana.template.util.WriteBehindBuffer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@Service
+public class HeartbeatServiceImpl implements HeartbeatService, InitializingBean, DisposableBean {
+    private final InstanceHeartbeatRepository instanceHeartbeatRepository;
+    private final MeterRegistry meterRegistry;
+    private final String serverName;
+    private final String ipAddress;
+    // Null when heartbeats are disabled
+    private WriteBehindBuffer<InstanceHeartbeat> buffer;
+
+    @Value("${app.heartbeats.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.version:0.0.1}")
+    private String appVersion;
+
+    @Value("${spring.profiles.active:dev}")
+    private String environment;
+
+    @Value("${app.heartbeats.buffer-capacity:1000}")
+    private int bufferCapacity;
+
+    @Value("${app.heartbeats.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.heartbeats.flush-interval:5s}")
+    private Duration flushInterval;
+
+    @Value("${app.heartbeats.live-window:30s}")
+    private Duration liveWindow;
+
+    @Value("${app.heartbeats.retention:7d}")
+    private Duration retention;
+
+    public HeartbeatServiceImpl(InstanceHeartbeatRepository instanceHeartbeatRepository, MeterRegistry meterRegistry) {
+        this.instanceHeartbeatRepository = instanceHeartbeatRepository;
+        this.meterRegistry = meterRegistry;
+        String host;
+        String address;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+            address = InetAddress.getLocalHost().getHostAddress();
+        } catch (Exception e) {
+            host = "unknown";
+            address = "unknown";
+        }
+        this.serverName = host;
+        this.ipAddress = address;
+    }
+
+    /**
+     * Start the flusher thread and register the buffer meters, unless heartbeats are disabled. The service stays
+     * available in that case so the live instances can still be read.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        if (!enabled) {
+            return;
+        }
+        buffer = new WriteBehindBuffer<>("heartbeat-flusher", bufferCapacity, batchSize, flushInterval,
+                instanceHeartbeatRepository::insertBatch);
+        Gauge.builder("heartbeats.buffer.size", buffer, WriteBehindBuffer::size)
+                .description("Heartbeats waiting to be written")
+                .register(meterRegistry);
+        FunctionCounter.builder("heartbeats.written", buffer, WriteBehindBuffer::written)
+                .description("Heartbeats written to the database")
+                .register(meterRegistry);
+        FunctionCounter.builder("heartbeats.lost", buffer, WriteBehindBuffer::rejected)
+                .description("Heartbeats that were not written")
+                .tag("reason", "buffer_full")
+                .register(meterRegistry);
+        FunctionCounter.builder("heartbeats.lost", buffer, WriteBehindBuffer::failed)
+                .description("Heartbeats that were not written")
+                .tag("reason", "write_failed")
+                .register(meterRegistry);
+        buffer.start();
+    }
+
+    @Override
+    public void destroy() {
+        if (buffer != null) {
+            buffer.close();
+        }
+    }
+
+    /**
+     * Sample this instance and hand the heartbeat to the write-behind buffer; never waits for the database.
+     * @return false when the buffer is full and the heartbeat was dropped, or heartbeats are disabled
+     */
+    @Override
+    public boolean recordHeartbeat() {
+        if (buffer == null) {
+            return false;
+        }
+        InstanceHeartbeat heartbeat = new InstanceHeartbeat(
+                serverName,
+                LocalDateTime.now(),
+                ipAddress,
+                appVersion,
+                environment,
+                ManagementFactory.getRuntimeMXBean().getUptime(),
+                ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed(),
+                ManagementFactory.getThreadMXBean().getThreadCount()
+        );
+        boolean accepted = buffer.offer(heartbeat);
+        if (!accepted) {
+            log.warn("Heartbeat buffer full, {} heartbeats dropped so far", buffer.rejected());
+        }
+        return accepted;
+    }
+
+    /**
+     * Instances with a heartbeat within the live window, newest heartbeat each.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<InstanceHeartbeat> findLiveInstances() {
+        return instanceHeartbeatRepository.findLatestPerServer(LocalDateTime.now().minus(liveWindow));
+    }
+
+    @Override
+    @Transactional
+    public int purgeExpired() {
+        int rows = instanceHeartbeatRepository.deleteOlderThan(LocalDateTime.now().minus(retention));
+        log.info("Purged {} heartbeats older than {} days", rows, retention.toDays());
+        return rows;
+    }
+}
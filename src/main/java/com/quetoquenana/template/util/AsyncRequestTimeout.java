@@ -0,0 +1,37 @@
+package com.quetoquenana.template.util;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Async timeout for a single request, for handlers returning a {@code StreamingResponseBody}, which otherwise get
+ * the application-wide {@code spring.mvc.async.request-timeout}. Call {@link #apply} from the handler method; the
+ * timeout is set right before the async processing starts.
+ */
+public final class AsyncRequestTimeout implements CallableProcessingInterceptor {
+    private final long timeoutMillis;
+
+    private AsyncRequestTimeout(Duration timeout) {
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    /**
+     * Use the given timeout for the async processing of this request.
+     */
+    public static void apply(NativeWebRequest request, Duration timeout) {
+        WebAsyncUtils.getAsyncManager(request)
+                .registerCallableInterceptor(AsyncRequestTimeout.class.getName(), new AsyncRequestTimeout(timeout));
+    }
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        if (request instanceof AsyncWebRequest asyncWebRequest) {
+            asyncWebRequest.setTimeout(timeoutMillis);
+        }
+    }
+}
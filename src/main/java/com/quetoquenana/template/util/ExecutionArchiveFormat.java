@@ -0,0 +1,67 @@
+package com.quetoquenana.template.util;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Layout of an executions archive file (big-endian):
+ * <pre>
+ * header       magic, version, row count, block count, requested range, first/last executedAt,
+ *              dictionary offset, block index offset                                  ({@value #HEADER_SIZE} bytes)
+ * blocks       per block of up to {@code blockRows} rows, ordered by (executedAt, id):
+ *                id index: (msb, lsb, row) entries sorted by id, uncompressed, binary searchable in place
+ *                one deflate-compressed chunk per column, values as varints
+ * dictionaries serverName, ipAddress, appVersion and environment values; columns store their codes, 0 is null
+ * block index  per block: row count, first/last executedAt, id range, id index offset and the
+ *              offset, compressed and raw length of every column       ({@value #BLOCK_INDEX_ENTRY_SIZE} bytes each)
+ * </pre>
+ * executedAt is stored as microseconds since the epoch, delta encoded within a block.
+ * The startup durations are stored as {@code zigzag(value) + 1}, 0 being null.
+ */
+public final class ExecutionArchiveFormat {
+    public static final String FILE_EXTENSION = ".xca";
+
+    static final int MAGIC = 0x58434131; // "XCA1"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 72;
+
+    static final int EXECUTED_AT = 0;
+    static final int SERVER_NAME = 1;
+    static final int IP_ADDRESS = 2;
+    static final int APP_VERSION = 3;
+    static final int ENVIRONMENT = 4;
+    static final int STARTUP_CONTEXT_REFRESH = 5;
+    static final int STARTUP_FLYWAY = 6;
+    static final int STARTUP_JPA = 7;
+    static final int STARTUP_READY = 8;
+    static final int COLUMN_COUNT = 9;
+
+    // Dictionary columns are SERVER_NAME to ENVIRONMENT
+    static final int FIRST_DICTIONARY_COLUMN = SERVER_NAME;
+    static final int DICTIONARY_COUNT = 4;
+
+    static final int ID_ENTRY_SIZE = 20;
+    static final int COLUMN_ENTRY_SIZE = 16;
+    static final int BLOCK_INDEX_ENTRY_SIZE = 44 + COLUMN_COUNT * COLUMN_ENTRY_SIZE;
+
+    private ExecutionArchiveFormat() {
+    }
+
+    static long toMicros(LocalDateTime dateTime) {
+        return ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0), dateTime);
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1000, ZoneOffset.UTC);
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,361 @@
+package com.quetoquenana.template.util;
+
+import com.quetoquenana.template.model.Execution;
+import com.quetoquenana.template.model.StartupPhaseDurations;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static com.quetoquenana.template.util.ExecutionArchiveFormat.*;
+
+/**
+ * Reads an archive file (see {@link ExecutionArchiveFormat}) through a read-only memory mapping. Only the header
+ * and the dictionaries are copied to the heap; lookups binary-search the id index in place, and scans inflate one
+ * column of one block at a time, straight from the mapping, skipping blocks outside the requested range and the
+ * columns the view does not need. Safe for concurrent use until closed.
+ */
+public final class ExecutionArchiveReader implements AutoCloseable {
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final int DECODE_BUFFER_SIZE = 8192;
+
+    private final Path file;
+    private final Arena arena;
+    private final MemorySegment segment;
+    private final long rowCount;
+    private final int blockCount;
+    private final LocalDateTime rangeFrom;
+    private final LocalDateTime rangeTo;
+    private final long firstMicros;
+    private final long lastMicros;
+    private final long blockIndexOffset;
+    private final String[][] dictionaries = new String[DICTIONARY_COUNT][];
+
+    private ExecutionArchiveReader(Path file, Arena arena, MemorySegment segment) {
+        this.file = file;
+        this.arena = arena;
+        this.segment = segment;
+        if (segment.byteSize() < HEADER_SIZE || segment.get(INT, 0) != MAGIC) {
+            throw new IllegalArgumentException("Not an executions archive: " + file);
+        }
+        if (segment.get(INT, 4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported archive version " + segment.get(INT, 4) + ": " + file);
+        }
+        this.rowCount = segment.get(LONG, 8);
+        this.blockCount = segment.get(INT, 16);
+        this.rangeFrom = fromMicros(segment.get(LONG, 24));
+        this.rangeTo = fromMicros(segment.get(LONG, 32));
+        this.firstMicros = segment.get(LONG, 40);
+        this.lastMicros = segment.get(LONG, 48);
+        this.blockIndexOffset = segment.get(LONG, 64);
+        readDictionaries(segment.get(LONG, 56));
+    }
+
+    /**
+     * Map an archive file.
+     * @param file archive written by {@link ExecutionArchiveWriter}
+     * @return reader; close it to unmap the file
+     */
+    public static ExecutionArchiveReader open(Path file) throws IOException {
+        Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new ExecutionArchiveReader(file, arena,
+                    channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena));
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    public long sizeBytes() {
+        return segment.byteSize();
+    }
+
+    public long rowCount() {
+        return rowCount;
+    }
+
+    public LocalDateTime rangeFrom() {
+        return rangeFrom;
+    }
+
+    public LocalDateTime rangeTo() {
+        return rangeTo;
+    }
+
+    /**
+     * @return executedAt of the first execution, or null for an empty archive
+     */
+    public LocalDateTime firstExecutedAt() {
+        return rowCount == 0 ? null : fromMicros(firstMicros);
+    }
+
+    /**
+     * @return executedAt of the last execution, or null for an empty archive
+     */
+    public LocalDateTime lastExecutedAt() {
+        return rowCount == 0 ? null : fromMicros(lastMicros);
+    }
+
+    /**
+     * Find an execution by id: blocks whose id range cannot hold it are skipped, the others are binary-searched
+     * in place, and only the block holding the id is decoded.
+     * @param id execution id
+     * @return the execution with every column
+     */
+    public Optional<Execution> findById(UUID id) {
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        for (int block = 0; block < blockCount; block++) {
+            long entry = blockIndexOffset + (long) block * BLOCK_INDEX_ENTRY_SIZE;
+            if (msb < segment.get(LONG, entry + 20) || msb > segment.get(LONG, entry + 28)) {
+                continue;
+            }
+            int row = searchId(entry, msb, lsb);
+            if (row >= 0) {
+                Execution[] match = new Execution[1];
+                decodeBlock(block, true, null, null, row, execution -> match[0] = execution);
+                return Optional.ofNullable(match[0]);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Pass the executions with {@code from <= executedAt < to} to the consumer in (executedAt, id) order.
+     * @param from start of the range (inclusive), or null for the first execution
+     * @param to end of the range (exclusive), or null for the last execution
+     * @param detail true for every column, false for the ExecutionList columns only
+     * @param consumer receives the executions, one new instance each
+     */
+    public void scan(LocalDateTime from, LocalDateTime to, boolean detail, Consumer<Execution> consumer) {
+        scan(from, to, detail, consumer, () -> false);
+    }
+
+    /**
+     * Like {@link #scan(LocalDateTime, LocalDateTime, boolean, Consumer)}, without decoding the blocks that follow
+     * once {@code done} returns true; it is checked before each block.
+     */
+    public void scan(LocalDateTime from, LocalDateTime to, boolean detail, Consumer<Execution> consumer,
+                     BooleanSupplier done) {
+        Long lowerBound = from == null ? null : toMicros(from);
+        Long upperBound = to == null ? null : toMicros(to);
+        for (int block = 0; block < blockCount; block++) {
+            long entry = blockIndexOffset + (long) block * BLOCK_INDEX_ENTRY_SIZE;
+            if (lowerBound != null && segment.get(LONG, entry + 12) < lowerBound) {
+                continue;
+            }
+            if (upperBound != null && segment.get(LONG, entry + 4) >= upperBound || done.getAsBoolean()) {
+                break;
+            }
+            decodeBlock(block, detail, lowerBound, upperBound, -1, consumer);
+        }
+    }
+
+    /**
+     * Unmap the file. Must not be called while other threads still read.
+     */
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    private int searchId(long entry, long msb, long lsb) {
+        int rows = segment.get(INT, entry);
+        long ids = segment.get(LONG, entry + 36);
+        int low = 0;
+        int high = rows - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long offset = ids + (long) middle * ID_ENTRY_SIZE;
+            long middleMsb = segment.get(LONG, offset);
+            int comparison = middleMsb != msb
+                    ? Long.compare(middleMsb, msb)
+                    : Long.compare(segment.get(LONG, offset + 8), lsb);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return segment.get(INT, offset + 16);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Decode one block row by row, emitting the rows in [lowerBound, upperBound), or only {@code onlyRow} when >= 0.
+     */
+    private void decodeBlock(int block, boolean detail, Long lowerBound, Long upperBound, int onlyRow,
+                             Consumer<Execution> consumer) {
+        long entry = blockIndexOffset + (long) block * BLOCK_INDEX_ENTRY_SIZE;
+        int rows = segment.get(INT, entry);
+        long[] msb = new long[rows];
+        long[] lsb = new long[rows];
+        long ids = segment.get(LONG, entry + 36);
+        for (int i = 0; i < rows; i++) {
+            long offset = ids + (long) i * ID_ENTRY_SIZE;
+            int row = segment.get(INT, offset + 16);
+            msb[row] = segment.get(LONG, offset);
+            lsb[row] = segment.get(LONG, offset + 8);
+        }
+
+        ColumnDecoder[] columns = new ColumnDecoder[COLUMN_COUNT];
+        try {
+            for (int column = 0; column < COLUMN_COUNT; column++) {
+                if (detail || column == EXECUTED_AT || column == APP_VERSION || column == ENVIRONMENT) {
+                    long columnEntry = entry + 44 + (long) column * COLUMN_ENTRY_SIZE;
+                    columns[column] = new ColumnDecoder(segment.asSlice(segment.get(LONG, columnEntry),
+                            segment.get(INT, columnEntry + 8)).asByteBuffer());
+                }
+            }
+            long micros = 0;
+            int lastRow = onlyRow >= 0 ? onlyRow : rows - 1;
+            for (int row = 0; row <= lastRow; row++) {
+                long value = columns[EXECUTED_AT].readVarLong();
+                micros = row == 0 ? unzigzag(value) : micros + value;
+                String appVersion = dictionaryValue(APP_VERSION, columns[APP_VERSION].readVarLong());
+                String environment = dictionaryValue(ENVIRONMENT, columns[ENVIRONMENT].readVarLong());
+                String serverName = null;
+                String ipAddress = null;
+                StartupPhaseDurations startup = null;
+                if (detail) {
+                    serverName = dictionaryValue(SERVER_NAME, columns[SERVER_NAME].readVarLong());
+                    ipAddress = dictionaryValue(IP_ADDRESS, columns[IP_ADDRESS].readVarLong());
+                    startup = startup(columns);
+                }
+                if (onlyRow >= 0 && row != onlyRow) {
+                    continue;
+                }
+                if (lowerBound != null && micros < lowerBound) {
+                    continue;
+                }
+                if (upperBound != null && micros >= upperBound) {
+                    return;
+                }
+                UUID id = new UUID(msb[row], lsb[row]);
+                consumer.accept(detail
+                        ? new Execution(id, fromMicros(micros), serverName, ipAddress, appVersion, environment, startup)
+                        : new Execution(id, fromMicros(micros), appVersion, environment));
+            }
+        } finally {
+            for (ColumnDecoder column : columns) {
+                if (column != null) {
+                    column.close();
+                }
+            }
+        }
+    }
+
+    private static StartupPhaseDurations startup(ColumnDecoder[] columns) {
+        Long contextRefresh = nullable(columns[STARTUP_CONTEXT_REFRESH].readVarLong());
+        Long flyway = nullable(columns[STARTUP_FLYWAY].readVarLong());
+        Long jpa = nullable(columns[STARTUP_JPA].readVarLong());
+        Long ready = nullable(columns[STARTUP_READY].readVarLong());
+        if (contextRefresh == null && flyway == null && jpa == null && ready == null) {
+            return null;
+        }
+        return new StartupPhaseDurations(contextRefresh, flyway, jpa, ready);
+    }
+
+    private static Long nullable(long value) {
+        return value == 0 ? null : unzigzag(value - 1);
+    }
+
+    private String dictionaryValue(int column, long code) {
+        return code == 0 ? null : dictionaries[column - FIRST_DICTIONARY_COLUMN][(int) code - 1];
+    }
+
+    private void readDictionaries(long offset) {
+        long[] position = {offset};
+        for (int i = 0; i < DICTIONARY_COUNT; i++) {
+            String[] values = new String[(int) readVarLong(position)];
+            for (int code = 0; code < values.length; code++) {
+                byte[] bytes = new byte[(int) readVarLong(position)];
+                MemorySegment.copy(segment, ValueLayout.JAVA_BYTE, position[0], bytes, 0, bytes.length);
+                position[0] += bytes.length;
+                values[code] = new String(bytes, StandardCharsets.UTF_8);
+            }
+            dictionaries[i] = values;
+        }
+    }
+
+    private long readVarLong(long[] position) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = segment.get(ValueLayout.JAVA_BYTE, position[0]++);
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Inflates one compressed column from the mapping into a small buffer and reads its varints.
+     */
+    private static final class ColumnDecoder implements AutoCloseable {
+        private final Inflater inflater = new Inflater();
+        private final byte[] buffer = new byte[DECODE_BUFFER_SIZE];
+        private int position;
+        private int limit;
+
+        private ColumnDecoder(ByteBuffer compressed) {
+            inflater.setInput(compressed);
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+        }
+
+        private int readByte() {
+            if (position == limit) {
+                fill();
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        private void fill() {
+            try {
+                limit = inflater.inflate(buffer);
+            } catch (DataFormatException e) {
+                throw new IllegalStateException("Corrupt archive column", e);
+            }
+            if (limit == 0) {
+                throw new IllegalStateException("Truncated archive column");
+            }
+            position = 0;
+        }
+
+        @Override
+        public void close() {
+            inflater.end();
+        }
+    }
+}
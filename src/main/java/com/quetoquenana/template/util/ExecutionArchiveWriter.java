@@ -0,0 +1,269 @@
+package com.quetoquenana.template.util;
+
+import com.quetoquenana.template.model.Execution;
+import com.quetoquenana.template.model.StartupPhaseDurations;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+import static com.quetoquenana.template.util.ExecutionArchiveFormat.*;
+
+/**
+ * Writes executions into an archive file (see {@link ExecutionArchiveFormat}) as they are read, one block at a time,
+ * so memory is bounded by the block size and the dictionaries, not by the number of executions.
+ * Executions must be written in (executedAt, id) order. Nothing is readable until {@link #close()} wrote the
+ * dictionaries, the block index and the header.
+ */
+public final class ExecutionArchiveWriter implements AutoCloseable {
+    private final FileChannel channel;
+    private final LocalDateTime rangeFrom;
+    private final LocalDateTime rangeTo;
+    private final int blockRows;
+    private final Deflater deflater;
+
+    private final List<Map<String, Integer>> dictionaries = new ArrayList<>(DICTIONARY_COUNT);
+    private final List<ByteBuffer> blockIndex = new ArrayList<>();
+
+    // Current block
+    private final VarIntBuffer[] columns = new VarIntBuffer[COLUMN_COUNT];
+    private final long[] idMsb;
+    private final long[] idLsb;
+    private int blockSize;
+    private long blockFirstMicros;
+    private long previousMicros;
+
+    private long rowCount;
+    private long firstMicros;
+    private long lastMicros;
+    private long position = HEADER_SIZE;
+    private boolean closed;
+
+    /**
+     * @param file file to create; an existing file is replaced
+     * @param rangeFrom start of the archived range (inclusive), recorded in the header
+     * @param rangeTo end of the archived range (exclusive), recorded in the header
+     * @param blockRows rows per block; a block is the unit of compression and of decompression when reading
+     * @param compressionLevel deflate level, 1 (fastest) to 9 (smallest)
+     */
+    public ExecutionArchiveWriter(Path file, LocalDateTime rangeFrom, LocalDateTime rangeTo,
+                                  int blockRows, int compressionLevel) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        this.rangeFrom = rangeFrom;
+        this.rangeTo = rangeTo;
+        this.blockRows = blockRows;
+        this.deflater = new Deflater(compressionLevel);
+        this.idMsb = new long[blockRows];
+        this.idLsb = new long[blockRows];
+        for (int column = 0; column < COLUMN_COUNT; column++) {
+            columns[column] = new VarIntBuffer();
+        }
+        for (int i = 0; i < DICTIONARY_COUNT; i++) {
+            dictionaries.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Append one execution.
+     * @throws IllegalArgumentException when executions are not in executedAt order
+     */
+    public void write(Execution execution) throws IOException {
+        long micros = toMicros(execution.getExecutedAt());
+        if (rowCount > 0 && micros < lastMicros) {
+            throw new IllegalArgumentException("Executions must be written in executedAt order");
+        }
+        if (blockSize == 0) {
+            blockFirstMicros = micros;
+            columns[EXECUTED_AT].writeVarLong(zigzag(micros));
+        } else {
+            columns[EXECUTED_AT].writeVarLong(micros - previousMicros);
+        }
+        previousMicros = micros;
+        idMsb[blockSize] = execution.getId().getMostSignificantBits();
+        idLsb[blockSize] = execution.getId().getLeastSignificantBits();
+        writeCode(SERVER_NAME, execution.getServerName());
+        writeCode(IP_ADDRESS, execution.getIpAddress());
+        writeCode(APP_VERSION, execution.getAppVersion());
+        writeCode(ENVIRONMENT, execution.getEnvironment());
+        StartupPhaseDurations startup = execution.getStartup();
+        writeNullable(STARTUP_CONTEXT_REFRESH, startup == null ? null : startup.getContextRefreshMillis());
+        writeNullable(STARTUP_FLYWAY, startup == null ? null : startup.getFlywayMigrationMillis());
+        writeNullable(STARTUP_JPA, startup == null ? null : startup.getJpaBootstrapMillis());
+        writeNullable(STARTUP_READY, startup == null ? null : startup.getReadyMillis());
+
+        if (rowCount == 0) {
+            firstMicros = micros;
+        }
+        lastMicros = micros;
+        rowCount++;
+        if (++blockSize == blockRows) {
+            flushBlock();
+        }
+    }
+
+    public long rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Write the last block, the dictionaries, the block index and the header, then close the file.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            flushBlock();
+            long dictionaryOffset = position;
+            writeDictionaries();
+            long blockIndexOffset = position;
+            for (ByteBuffer entry : blockIndex) {
+                write(entry.flip());
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putLong(rowCount)
+                    .putInt(blockIndex.size())
+                    .putInt(blockRows)
+                    .putLong(toMicros(rangeFrom))
+                    .putLong(toMicros(rangeTo))
+                    .putLong(firstMicros)
+                    .putLong(lastMicros)
+                    .putLong(dictionaryOffset)
+                    .putLong(blockIndexOffset)
+                    .flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+        } finally {
+            deflater.end();
+            channel.close();
+        }
+    }
+
+    private void writeCode(int column, String value) {
+        int code = value == null ? 0 : dictionaries.get(column - FIRST_DICTIONARY_COLUMN)
+                .computeIfAbsent(value, key -> dictionaries.get(column - FIRST_DICTIONARY_COLUMN).size() + 1);
+        columns[column].writeVarLong(code);
+    }
+
+    private void writeNullable(int column, Long value) {
+        columns[column].writeVarLong(value == null ? 0 : zigzag(value) + 1);
+    }
+
+    private void flushBlock() throws IOException {
+        if (blockSize == 0) {
+            return;
+        }
+        ByteBuffer entry = ByteBuffer.allocate(BLOCK_INDEX_ENTRY_SIZE);
+        entry.putInt(blockSize).putLong(blockFirstMicros).putLong(previousMicros);
+
+        // Id index: rows of the block sorted by id
+        Integer[] order = new Integer[blockSize];
+        for (int row = 0; row < blockSize; row++) {
+            order[row] = row;
+        }
+        Arrays.sort(order, (a, b) -> idMsb[a] != idMsb[b]
+                ? Long.compare(idMsb[a], idMsb[b])
+                : Long.compare(idLsb[a], idLsb[b]));
+        entry.putLong(idMsb[order[0]]).putLong(idMsb[order[blockSize - 1]]).putLong(position);
+        ByteBuffer ids = ByteBuffer.allocate(blockSize * ID_ENTRY_SIZE);
+        for (int row : order) {
+            ids.putLong(idMsb[row]).putLong(idLsb[row]).putInt(row);
+        }
+        write(ids.flip());
+
+        for (VarIntBuffer column : columns) {
+            long offset = position;
+            deflater.reset();
+            deflater.setInput(column.bytes(), 0, column.length());
+            deflater.finish();
+            byte[] chunk = new byte[64 * 1024];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(chunk);
+                write(ByteBuffer.wrap(chunk, 0, length));
+            }
+            entry.putLong(offset).putInt((int) (position - offset)).putInt(column.length());
+            column.reset();
+        }
+        blockIndex.add(entry);
+        blockSize = 0;
+    }
+
+    private void writeDictionaries() throws IOException {
+        for (Map<String, Integer> dictionary : dictionaries) {
+            String[] values = new String[dictionary.size()];
+            dictionary.forEach((value, code) -> values[code - 1] = value);
+            VarIntBuffer buffer = new VarIntBuffer();
+            buffer.writeVarLong(values.length);
+            for (String value : values) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                buffer.writeVarLong(bytes.length);
+                buffer.writeBytes(bytes);
+            }
+            write(ByteBuffer.wrap(buffer.bytes(), 0, buffer.length()));
+        }
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    /**
+     * Growable byte array of unsigned LEB128 varints.
+     */
+    private static final class VarIntBuffer {
+        private byte[] bytes = new byte[4096];
+        private int length;
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[length++] = (byte) value;
+        }
+
+        void writeBytes(byte[] value) {
+            ensureCapacity(value.length);
+            System.arraycopy(value, 0, bytes, length, value.length);
+            length += value.length;
+        }
+
+        byte[] bytes() {
+            return bytes;
+        }
+
+        int length() {
+            return length;
+        }
+
+        void reset() {
+            length = 0;
+        }
+
+        private void ensureCapacity(int extra) {
+            if (length + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.quetoquenana.template.util;
+
+import com.quetoquenana.template.exception.InvalidRequestException;
+import com.quetoquenana.template.model.Execution;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last row returned by a keyset page, ordered by (executedAt, id).
+ * Clients only see it as an opaque, URL-safe continuation token.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ExecutionCursor {
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime executedAt;
+    private final UUID id;
+
+    public static ExecutionCursor of(Execution execution) {
+        return new ExecutionCursor(execution.getExecutedAt(), execution.getId());
+    }
+
+    /**
+     * Encode the cursor as an opaque token.
+     * @return Base64 URL-safe token
+     */
+    public String encode() {
+        String raw = executedAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token previously produced by {@link #encode()}.
+     * @param token continuation token, may be null or blank for the first page
+     * @return the cursor, or null when no token was given
+     * @throws InvalidRequestException when the token is malformed
+     */
+    public static ExecutionCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new ExecutionCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new InvalidRequestException("cursor.invalid");
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.quetoquenana.template.util;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonView;
+import com.quetoquenana.template.model.ApiBaseResponseView;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Keyset (cursor) page counterpart of {@link JsonViewPageUtil}.
+ * It has no totals, so no count query is needed to build it.
+ * Like the other page types, its property order is fixed for JsonViewHttpMessageConverter.
+ *
+ * @param <T> The type of the content of the page.
+ */
+@Getter
+@JsonPropertyOrder({"content", "size", "nextCursor", "numberOfElements", "hasNext"})
+@JsonView(ApiBaseResponseView.Always.class)
+public class JsonViewCursorPageUtil<T> {
+
+    @JsonView(ApiBaseResponseView.Always.class)
+    private final List<T> content;
+
+    @JsonView(ApiBaseResponseView.Always.class)
+    private final int size;
+
+    @JsonView(ApiBaseResponseView.Always.class)
+    private final int numberOfElements;
+
+    @JsonView(ApiBaseResponseView.Always.class)
+    private final boolean hasNext;
+
+    @JsonView(ApiBaseResponseView.Always.class)
+    private final String nextCursor;
+
+    public JsonViewCursorPageUtil(List<T> content, int size, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.numberOfElements = content.size();
+        this.hasNext = nextCursor != null;
+        this.nextCursor = nextCursor;
+    }
+}
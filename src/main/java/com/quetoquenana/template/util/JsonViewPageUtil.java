@@ -1,5 +1,6 @@
 package com.quetoquenana.template.util;
 
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonView;
 import com.quetoquenana.template.model.ApiBaseResponseView;
 import com.quetoquenana.template.model.Execution;
@@ -13,9 +14,13 @@ import java.util.List;
 /**
  * This class wraps the Page object with the JsonView annotation for Execution.
  * It exposes only the fields specified in ExecutionResponseView.
+ * The property order is pinned to the order this class has always been written in, since reflection does not
+ * guarantee one and JsonViewHttpMessageConverter writes the same fields directly.
  *
  * @param <T> The type of the content of the Page object.
  */
+@JsonPropertyOrder({"content", "pageable", "hasNext", "totalPages", "totalElements", "hasContent", "last", "size",
+        "number", "sort", "numberOfElements", "first", "empty"})
 @JsonView(ApiBaseResponseView.Always.class)
 public class JsonViewPageUtil<T> extends PageImpl<T> {
 
@@ -0,0 +1,71 @@
+package com.quetoquenana.template.util;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonView;
+import com.quetoquenana.template.model.ApiBaseResponseView;
+import com.quetoquenana.template.model.PageTotal;
+import lombok.Getter;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * Offset page counterpart of {@link JsonViewPageUtil} built from a {@link Slice}, so no count query is needed.
+ * The totals are either absent or an estimate, as told by {@code total}.
+ * Like the other page types, its property order is fixed for JsonViewHttpMessageConverter.
+ *
+ * @param <T> The type of the content of the page.
+ */
+@Getter
+@JsonPropertyOrder({"content", "number", "size", "numberOfElements", "hasNext", "total", "totalElements", "totalPages"})
+@JsonView(ApiBaseResponseView.Always.class)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JsonViewSlicePageUtil<T> {
+
+    @JsonView(ApiBaseResponseView.Always.class)
+    private final List<T> content;
+
+    @JsonView(ApiBaseResponseView.Always.class)
+    private final int number;
+
+    @JsonView(ApiBaseResponseView.Always.class)
+    private final int size;
+
+    @JsonView(ApiBaseResponseView.Always.class)
+    private final int numberOfElements;
+
+    @JsonView(ApiBaseResponseView.Always.class)
+    private final boolean hasNext;
+
+    @JsonView(ApiBaseResponseView.Always.class)
+    private final PageTotal total;
+
+    @JsonView(ApiBaseResponseView.Always.class)
+    private final Long totalElements;
+
+    @JsonView(ApiBaseResponseView.Always.class)
+    private final Integer totalPages;
+
+    /**
+     * @param slice requested slice
+     * @param estimatedTotal estimated number of matching rows, or null to report no total
+     */
+    public JsonViewSlicePageUtil(Slice<T> slice, Long estimatedTotal) {
+        this.content = slice.getContent();
+        this.number = slice.getNumber();
+        this.size = slice.getSize();
+        this.numberOfElements = slice.getNumberOfElements();
+        this.hasNext = slice.hasNext();
+        this.total = estimatedTotal == null ? PageTotal.NONE : PageTotal.APPROXIMATE;
+        if (estimatedTotal == null) {
+            this.totalElements = null;
+            this.totalPages = null;
+        } else {
+            // Never estimate fewer rows than this slice already proves to exist
+            long seen = slice.getPageable().getOffset() + numberOfElements + (hasNext ? 1 : 0);
+            this.totalElements = Math.max(estimatedTotal, seen);
+            this.totalPages = size == 0 ? 1 : (int) Math.ceilDiv(totalElements, size);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.quetoquenana.template.util;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ready-to-use {@link ObjectWriter}s per (value type, JsonView) pair.
+ * Each writer is created once with its root serializer already resolved, instead of building a new view writer
+ * and looking up the serializer on every response. The writers never flush, so they can write a value in the
+ * middle of a document.
+ */
+public class JsonViewWriterCache {
+    private static final OutputStream DISCARD = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    private final ObjectMapper objectMapper;
+    private final Map<ViewKey, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public JsonViewWriterCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Get (or build once) the writer for the given value type and view.
+     * @param type type of the values that will be written
+     * @param view active JsonView
+     * @return cached writer
+     */
+    public ObjectWriter writerFor(JavaType type, Class<?> view) {
+        return writers.computeIfAbsent(new ViewKey(type, view), key -> objectMapper.writerWithView(key.view())
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .forType(key.type()));
+    }
+
+    /**
+     * Build the writer for the type and view and serialize a representative value with it, so every nested
+     * serializer the view needs is constructed and cached before the first request.
+     * @param type value type
+     * @param view active JsonView
+     * @param sample representative value of the type
+     */
+    public void prepare(JavaType type, Class<?> view, Object sample) {
+        try {
+            writerFor(type, view).writeValue(DISCARD, sample);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record ViewKey(JavaType type, Class<?> view) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.quetoquenana.template.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Newline-delimited JSON body: one value per line, all written through a single generator.
+ * <p>
+ * Values are not flushed one by one; that would be one chunk (and, with response compression, one gzip sync-flush)
+ * per row. The generator buffer fills the response and the stream is flushed every {@code flushEvery} values, so
+ * clients still see progress on slow sources. An empty source produces an empty body.
+ * @param <T> value type
+ */
+public final class NdjsonStreamingBody<T> implements StreamingResponseBody {
+    public static final int DEFAULT_FLUSH_EVERY = 1000;
+
+    private final ObjectWriter writer;
+    private final int flushEvery;
+    private final Consumer<Consumer<T>> source;
+
+    /**
+     * @param writer writer for one value (view already applied)
+     * @param flushEvery values written between explicit flushes
+     * @param source hands every value to the given consumer, in order
+     */
+    public NdjsonStreamingBody(ObjectWriter writer, int flushEvery, Consumer<Consumer<T>> source) {
+        this.writer = writer.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE).withRootValueSeparator("\n");
+        this.flushEvery = flushEvery;
+        this.source = source;
+    }
+
+    public NdjsonStreamingBody(ObjectWriter writer, Consumer<Consumer<T>> source) {
+        this(writer, DEFAULT_FLUSH_EVERY, source);
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = writer.createGenerator(outputStream)) {
+            long[] written = {0};
+            source.accept(value -> {
+                try {
+                    writer.writeValue(generator, value);
+                    if (++written[0] % flushEvery == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (written[0] > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+    }
+}
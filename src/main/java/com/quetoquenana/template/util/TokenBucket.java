@@ -0,0 +1,50 @@
+package com.quetoquenana.template.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as GCRA (generic cell rate algorithm): the whole state is the theoretical
+ * arrival time of the next request, advanced with a single CAS. No timer or refill thread is needed.
+ */
+public final class TokenBucket {
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * @param ratePerSecond sustained requests per second
+     * @param burst requests allowed at once on an idle bucket
+     */
+    public TokenBucket(double ratePerSecond, int burst) {
+        this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * Math.max(burst, 1);
+    }
+
+    /**
+     * Take one token if available.
+     * @param nowNanos current {@link System#nanoTime()}
+     * @return 0 when the token was taken, otherwise nanoseconds until one is available
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival, nowNanos) + emissionIntervalNanos;
+            long waitNanos = next - nowNanos - burstToleranceNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * @param nowNanos current {@link System#nanoTime()}
+     * @return tokens that could be taken right now
+     */
+    public long availableTokens(long nowNanos) {
+        long backlog = Math.max(theoreticalArrival.get(), nowNanos) - nowNanos;
+        return Math.max(0, burstToleranceNanos - backlog) / emissionIntervalNanos;
+    }
+}
@@ -0,0 +1,58 @@
+package com.quetoquenana.template.util;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered UUIDs (RFC 9562 version 7): 48-bit Unix epoch milliseconds, a 12-bit sequence and 62 random bits.
+ * <p>
+ * Values from this JVM are strictly increasing, across threads and within the same millisecond: the
+ * millisecond and sequence are advanced together with a single CAS, and a sequence overflow borrows
+ * the next millisecond. Consecutive keys therefore land on the right-most B-tree leaf instead of random pages.
+ */
+public final class UuidV7 {
+    private static final int SEQUENCE_BITS = 12;
+    private static final long VERSION_7 = 0x7L << 12;
+    private static final long VARIANT_MASK = 0x3FFFFFFFFFFFFFFFL;
+    private static final long VARIANT_IETF = 0x8000000000000000L;
+
+    // (epoch millis << SEQUENCE_BITS) | sequence of the last generated value
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    /**
+     * Generate the next time-ordered UUID.
+     * @return version 7 UUID, greater than any previously returned by this JVM
+     */
+    public static UUID next() {
+        long now = System.currentTimeMillis() << SEQUENCE_BITS;
+        long previous;
+        long current;
+        do {
+            previous = LAST.get();
+            current = now > previous ? now : previous + 1;
+        } while (!LAST.compareAndSet(previous, current));
+
+        long millis = current >>> SEQUENCE_BITS;
+        long sequence = current & ((1L << SEQUENCE_BITS) - 1);
+        long mostSigBits = (millis << 16) | VERSION_7 | sequence;
+        long leastSigBits = (ThreadLocalRandom.current().nextLong() & VARIANT_MASK) | VARIANT_IETF;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Creation time carried by a version 7 UUID, to the millisecond.
+     * @return the time its first 48 bits encode, or empty for any other version
+     */
+    public static Optional<Instant> timestamp(UUID uuid) {
+        if (uuid.version() != 7) {
+            return Optional.empty();
+        }
+        return Optional.of(Instant.ofEpochMilli(uuid.getMostSignificantBits() >>> 16));
+    }
+}
@@ -0,0 +1,151 @@
+package com.quetoquenana.template.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Bounded, lock-free write-behind buffer. Producers add items with one CAS-based queue insert and never block;
+ * a single flusher thread hands them to the writer in batches of up to {@code batchSize}, as soon as a batch
+ * is full or every {@code flushInterval}, whichever comes first.
+ * <p>
+ * When the writer falls behind, the buffer fills up and new items are rejected instead of queuing without limit.
+ * Rejected items and items of failed batches are counted, so every item offered is either written or accounted
+ * as lost.
+ * @param <T> item type
+ */
+@Slf4j
+public final class WriteBehindBuffer<T> implements AutoCloseable {
+    private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+    // Reserved slots; may run ahead of the queue for a moment while an offer is in progress
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder written = new LongAdder();
+
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Consumer<List<T>> writer;
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    /**
+     * @param name flusher thread name
+     * @param capacity maximum items held before new ones are rejected
+     * @param batchSize maximum items per writer call; a full batch is flushed right away
+     * @param flushInterval maximum time an item waits for a batch to fill
+     * @param writer writes one batch; an exception marks the whole batch as failed
+     */
+    public WriteBehindBuffer(String name, int capacity, int batchSize, Duration flushInterval, Consumer<List<T>> writer) {
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.writer = writer;
+        this.flusher = Thread.ofPlatform().name(name).daemon().unstarted(this::flushLoop);
+    }
+
+    /**
+     * Start the flusher thread.
+     */
+    public void start() {
+        flusher.start();
+    }
+
+    /**
+     * Add an item without blocking.
+     * @param item item to write
+     * @return false when the buffer is full and the item was dropped
+     */
+    public boolean offer(T item) {
+        int reserved = size.getAndIncrement();
+        if (reserved >= capacity) {
+            size.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+        queue.offer(item);
+        // Wake the flusher once per full batch; otherwise the interval trigger picks the items up
+        if (reserved + 1 == batchSize) {
+            LockSupport.unpark(flusher);
+        }
+        return true;
+    }
+
+    /**
+     * Stop the flusher after writing what is still buffered.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join(Duration.ofNanos(flushIntervalNanos).plusSeconds(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    public long failed() {
+        return failed.sum();
+    }
+
+    public long written() {
+        return written.sum();
+    }
+
+    private void flushLoop() {
+        while (running) {
+            LockSupport.parkNanos(this, flushIntervalNanos);
+            flush();
+        }
+        flush();
+    }
+
+    private void flush() {
+        List<T> batch;
+        do {
+            batch = drain();
+            if (!batch.isEmpty()) {
+                write(batch);
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    private List<T> drain() {
+        List<T> batch = new ArrayList<>(Math.min(batchSize, Math.max(size.get(), 1)));
+        T item;
+        while (batch.size() < batchSize && (item = queue.poll()) != null) {
+            batch.add(item);
+        }
+        size.addAndGet(-batch.size());
+        return batch;
+    }
+
+    private void write(List<T> batch) {
+        try {
+            writer.accept(batch);
+            written.add(batch.size());
+        } catch (RuntimeException e) {
+            failed.add(batch.size());
+            log.warn("Write-behind batch of {} items failed, {} items lost so far: {}",
+                    batch.size(), failed.sum(), e.getMessage());
+        }
+    }
+}
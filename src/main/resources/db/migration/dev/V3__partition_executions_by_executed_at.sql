@@ -0,0 +1,60 @@
+-- Move executions to native range partitioning by executed_at, one partition per month (executions_YYYYMM).
+-- Future partitions are created and expired ones detached or dropped by the partition maintenance job.
+-- Flyway runs this script in one transaction that holds an ACCESS EXCLUSIVE lock on executions until the copy below
+-- commits, so the executions endpoints wait for it: plan a maintenance window sized to the table (every row and its
+-- index entries are written once more). The copy goes month by month straight into each partition, so no row is
+-- routed through the parent and each statement only touches one month.
+ALTER TABLE executions RENAME TO executions_unpartitioned;
+ALTER TABLE executions_unpartitioned RENAME CONSTRAINT executions_pkey TO executions_unpartitioned_pkey;
+ALTER INDEX idx_executions_executed_at_id RENAME TO idx_executions_unpartitioned_executed_at_id;
+
+-- The partition key must be part of the primary key, so the database only enforces (id, executed_at) uniqueness.
+-- Ids stay unique because the application assigns every one of them as a UUIDv7 and never accepts a client id.
+CREATE TABLE executions (
+    id UUID NOT NULL,
+    executed_at TIMESTAMP NOT NULL,
+    server_name VARCHAR(255),
+    ip_address VARCHAR(255),
+    app_version VARCHAR(50),
+    environment VARCHAR(50),
+    PRIMARY KEY (id, executed_at)
+) PARTITION BY RANGE (executed_at);
+
+CREATE INDEX idx_executions_executed_at_id ON executions (executed_at, id);
+
+-- Safety net for rows outside the pre-created months; stays empty while maintenance runs
+CREATE TABLE executions_default PARTITION OF executions DEFAULT;
+
+DO $$
+DECLARE
+    month_start DATE;
+    last_month DATE;
+    partition_name TEXT;
+BEGIN
+    SELECT date_trunc('month', COALESCE(min(executed_at), now()))::date INTO month_start FROM executions_unpartitioned;
+    last_month := (date_trunc('month', now()) + INTERVAL '3 months')::date;
+    WHILE month_start <= last_month LOOP
+        partition_name := 'executions_' || to_char(month_start, 'YYYYMM');
+        EXECUTE format('CREATE TABLE %I PARTITION OF executions FOR VALUES FROM (%L) TO (%L)',
+                       partition_name,
+                       month_start,
+                       (month_start + INTERVAL '1 month')::date);
+        EXECUTE format('INSERT INTO %I (id, executed_at, server_name, ip_address, app_version, environment) '
+                           || 'SELECT id, executed_at, server_name, ip_address, app_version, environment '
+                           || 'FROM executions_unpartitioned '
+                           || 'WHERE executed_at >= %L AND executed_at < %L '
+                           || 'ORDER BY executed_at, id',
+                       partition_name,
+                       month_start,
+                       (month_start + INTERVAL '1 month')::date);
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+-- Rows past the pre-created months (clock skew, manual inserts) go to executions_default
+INSERT INTO executions (id, executed_at, server_name, ip_address, app_version, environment)
+SELECT id, executed_at, server_name, ip_address, app_version, environment
+FROM executions_unpartitioned
+WHERE executed_at >= date_trunc('month', now()) + INTERVAL '4 months';
+
+DROP TABLE executions_unpartitioned;
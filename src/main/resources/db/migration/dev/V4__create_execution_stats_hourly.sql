@@ -0,0 +1,44 @@
+-- Hourly execution counts per app version, environment and server.
+-- Missing dimension values are stored as '' so they can be part of the primary key.
+CREATE TABLE execution_stats_hourly (
+    bucket_start TIMESTAMP NOT NULL,
+    app_version VARCHAR(50) NOT NULL,
+    environment VARCHAR(50) NOT NULL,
+    server_name VARCHAR(255) NOT NULL,
+    executions BIGINT NOT NULL,
+    PRIMARY KEY (bucket_start, app_version, environment, server_name)
+);
+
+-- Incremental maintenance: every insert statement on executions adds its rows to the rollup,
+-- whatever the write path (JPA save, JDBC batch, manual SQL).
+CREATE FUNCTION increment_execution_stats_hourly() RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO execution_stats_hourly (bucket_start, app_version, environment, server_name, executions)
+    SELECT date_trunc('hour', executed_at),
+           COALESCE(app_version, ''),
+           COALESCE(environment, ''),
+           COALESCE(server_name, ''),
+           count(*)
+    FROM new_executions
+    GROUP BY 1, 2, 3, 4
+    ON CONFLICT (bucket_start, app_version, environment, server_name)
+    DO UPDATE SET executions = execution_stats_hourly.executions + EXCLUDED.executions;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER executions_stats_hourly
+    AFTER INSERT ON executions
+    REFERENCING NEW TABLE AS new_executions
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION increment_execution_stats_hourly();
+
+-- Initial rollup of the existing rows
+INSERT INTO execution_stats_hourly (bucket_start, app_version, environment, server_name, executions)
+SELECT date_trunc('hour', executed_at),
+       COALESCE(app_version, ''),
+       COALESCE(environment, ''),
+       COALESCE(server_name, ''),
+       count(*)
+FROM executions
+GROUP BY 1, 2, 3, 4;
@@ -0,0 +1 @@
+CREATE INDEX idx_executions_executed_at_id ON executions (executed_at, id);
@@ -0,0 +1,6 @@
+-- Startup phase durations of the recorded application start, in milliseconds
+ALTER TABLE executions
+    ADD COLUMN startup_context_refresh_ms BIGINT,
+    ADD COLUMN startup_flyway_ms BIGINT,
+    ADD COLUMN startup_jpa_ms BIGINT,
+    ADD COLUMN startup_ready_ms BIGINT;
@@ -0,0 +1,13 @@
+-- Composite indexes for the filters of /api/executions/page: the equality column first, then (executed_at, id),
+-- so the filter, an executed_at range and the default executedAt sort are all served in index order.
+-- The other list view columns are INCLUDEd: filtered pages are answered with index-only scans, and a second
+-- equality filter (environment plus appVersion) is checked in the index without visiting the table.
+-- Created on the partitioned table, so every partition, including those created later, gets its own index.
+CREATE INDEX idx_executions_environment_executed_at
+    ON executions (environment, executed_at, id) INCLUDE (app_version);
+
+CREATE INDEX idx_executions_app_version_executed_at
+    ON executions (app_version, executed_at, id) INCLUDE (environment);
+
+CREATE INDEX idx_executions_server_name_executed_at
+    ON executions (server_name, executed_at, id) INCLUDE (app_version, environment);
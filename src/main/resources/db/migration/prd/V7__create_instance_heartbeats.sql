@@ -0,0 +1,20 @@
+-- Periodic liveness samples written by every running instance, in batches.
+CREATE TABLE instance_heartbeats (
+    server_name VARCHAR(255) NOT NULL,
+    beat_at TIMESTAMP NOT NULL,
+    ip_address VARCHAR(255),
+    app_version VARCHAR(50),
+    environment VARCHAR(50),
+    uptime_ms BIGINT NOT NULL,
+    heap_used_bytes BIGINT NOT NULL,
+    live_threads INTEGER NOT NULL
+);
+
+-- Latest heartbeat per server: one descending probe per server_name (see InstanceHeartbeatRepository),
+-- answered from the index alone thanks to the INCLUDEd columns.
+CREATE INDEX idx_instance_heartbeats_server_name_beat_at
+    ON instance_heartbeats (server_name, beat_at DESC)
+    INCLUDE (ip_address, app_version, environment, uptime_ms, heap_used_bytes, live_threads);
+
+-- Rows are appended in beat_at order, so a BRIN index is enough for the retention delete
+CREATE INDEX idx_instance_heartbeats_beat_at ON instance_heartbeats USING BRIN (beat_at);
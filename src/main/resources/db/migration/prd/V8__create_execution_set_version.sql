@@ -0,0 +1,56 @@
+-- Change counter of the executions set. Together with the first and last executed_at it is the HTTP validator of
+-- the collection endpoints, and reading it is one primary key lookup however many executions are stored.
+-- Removing a partition fires no trigger, but it moves the first executed_at, which changes the validator as well.
+-- Trade-off: concurrent insert transactions update the same row, so they serialize on it until commit, as they
+-- already do on the rows of execution_stats_hourly for the current hour.
+CREATE TABLE execution_set_version (
+    id BOOLEAN PRIMARY KEY DEFAULT TRUE CHECK (id),
+    changes BIGINT NOT NULL
+);
+
+INSERT INTO execution_set_version (id, changes)
+SELECT TRUE, count(*)
+FROM executions;
+
+-- Inserts are counted by the hourly rollup trigger, so an insert statement still runs a single trigger
+CREATE OR REPLACE FUNCTION increment_execution_stats_hourly() RETURNS TRIGGER AS $$
+DECLARE
+    inserted BIGINT;
+BEGIN
+    SELECT count(*) INTO inserted FROM new_executions;
+    -- Statements that skipped every row (ids already stored) leave the rollup and the counter unlocked
+    IF inserted = 0 THEN
+        RETURN NULL;
+    END IF;
+    INSERT INTO execution_stats_hourly (bucket_start, app_version, environment, server_name, executions)
+    SELECT date_trunc('hour', executed_at),
+           COALESCE(app_version, ''),
+           COALESCE(environment, ''),
+           COALESCE(server_name, ''),
+           count(*)
+    FROM new_executions
+    GROUP BY 1, 2, 3, 4
+    ON CONFLICT (bucket_start, app_version, environment, server_name)
+    DO UPDATE SET executions = execution_stats_hourly.executions + EXCLUDED.executions;
+    UPDATE execution_set_version SET changes = changes + inserted;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION count_execution_deletes() RETURNS TRIGGER AS $$
+DECLARE
+    deleted BIGINT;
+BEGIN
+    SELECT count(*) INTO deleted FROM old_executions;
+    IF deleted > 0 THEN
+        UPDATE execution_set_version SET changes = changes + deleted;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER executions_count_deletes
+    AFTER DELETE ON executions
+    REFERENCING OLD TABLE AS old_executions
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION count_execution_deletes();
@@ -0,0 +1,14 @@
+-- Ranges of executed_at copied into archive files, shared by every instance while the files stay on the one that
+-- owns the archives. A range is claimed (completed_at NULL) in its own transaction before its rows are scanned and
+-- completed once its file is written. /api/executions/batch rejects executedAt values in any listed range, and
+-- partition retention only removes months that completed ranges cover.
+CREATE TABLE execution_archives (
+    name VARCHAR(255) PRIMARY KEY,
+    range_from TIMESTAMP NOT NULL,
+    range_to TIMESTAMP NOT NULL,
+    executions BIGINT,
+    completed_at TIMESTAMP,
+    CHECK (range_from < range_to),
+    -- No two ranges overlap, whichever instance claims them; the GiST index also serves the overlap lookups
+    CONSTRAINT execution_archives_no_overlap EXCLUDE USING gist (tsrange(range_from, range_to) WITH &&)
+);
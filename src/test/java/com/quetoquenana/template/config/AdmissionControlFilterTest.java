@@ -0,0 +1,216 @@
+package com.quetoquenana.template.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.apache.catalina.valves.RemoteIpValve;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.autoconfigure.web.embedded.TomcatWebServerFactoryCustomizer;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.context.MessageSource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.ResourcePropertySource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+class AdmissionControlFilterTest {
+    @Mock
+    private MessageSource messageSource;
+
+    private AdmissionControl admissionControl;
+    private ClientAdmissionFilter clientFilter;
+    private AdmissionControlFilter principalFilter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(messageSource.getMessage(eq("request.rate.limited"), any(), any())).thenReturn("Too many requests.");
+        AdmissionProperties.Rule listAll = new AdmissionProperties.Rule();
+        listAll.setName("list-all");
+        listAll.setMethod("GET");
+        listAll.setPath("/api/executions");
+        listAll.setPrincipalRatePerSecond(0.001);
+        listAll.setPrincipalBurst(2);
+        listAll.setIpRatePerSecond(0.001);
+        listAll.setIpBurst(3);
+        listAll.setMaxConcurrent(1);
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setRules(List.of(listAll));
+        admissionControl = new AdmissionControl(properties, new SimpleMeterRegistry());
+        clientFilter = new ClientAdmissionFilter(admissionControl, new ObjectMapper(), messageSource);
+        principalFilter = new AdmissionControlFilter(admissionControl, new ObjectMapper(), messageSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testDoFilter_PrincipalBucketExhausted_Returns429WithRetryAfter() throws Exception {
+        // Given: an authenticated principal with a burst of 2
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                "user", null, AuthorityUtils.createAuthorityList("ROLE_SYSTEM")));
+        AtomicInteger calls = new AtomicInteger();
+        FilterChain chain = (req, res) -> calls.incrementAndGet();
+
+        // When: three requests arrive at once
+        doFilter(listRequest("10.0.0.1"), new MockHttpServletResponse(), chain);
+        doFilter(listRequest("10.0.0.1"), new MockHttpServletResponse(), chain);
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        doFilter(listRequest("10.0.0.1"), rejected, chain);
+
+        // Then: the third one is rejected before reaching the controller
+        assertEquals(2, calls.get());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), rejected.getStatus());
+        assertTrue(Long.parseLong(rejected.getHeader(HttpHeaders.RETRY_AFTER)) >= 1);
+        assertTrue(rejected.getContentAsString().contains("Too many requests."));
+    }
+
+    @Test
+    void testDoFilter_AnonymousClientsLimitedPerIp() throws Exception {
+        // Given: no principal, so only the IP bucket (burst 3) applies
+        FilterChain chain = (req, res) -> { };
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            doFilter(listRequest("10.0.0.2"), response, chain);
+            assertEquals(HttpStatus.OK.value(), response.getStatus());
+        }
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        doFilter(listRequest("10.0.0.2"), rejected, chain);
+        MockHttpServletResponse otherIp = new MockHttpServletResponse();
+        doFilter(listRequest("10.0.0.3"), otherIp, chain);
+
+        // Then
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), rejected.getStatus());
+        assertEquals(HttpStatus.OK.value(), otherIp.getStatus());
+    }
+
+    @Test
+    void testDoFilter_FailedAuthenticationLimitedPerIp() throws Exception {
+        // Given: authentication rejects every request with 401, as with a wrong password
+        FilterChain chain = (req, res) -> ((MockHttpServletResponse) res).setStatus(HttpStatus.UNAUTHORIZED.value());
+
+        // When: more guesses than the IP burst of 3 arrive
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            clientFilter.doFilter(listRequest("10.0.0.7"), response, chain);
+            assertEquals(HttpStatus.UNAUTHORIZED.value(), response.getStatus());
+        }
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        clientFilter.doFilter(listRequest("10.0.0.7"), rejected, chain);
+
+        // Then: the client is limited before its credentials are checked
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), rejected.getStatus());
+    }
+
+    @Test
+    void testDoFilter_IpRejectionDoesNotSpendPrincipalTokens() throws Exception {
+        // Given: a principal (burst 2) whose first IP has used up its burst of 3
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                "user", null, AuthorityUtils.createAuthorityList("ROLE_SYSTEM")));
+        for (int i = 0; i < 3; i++) {
+            clientFilter.doFilter(listRequest("10.0.0.8"), new MockHttpServletResponse(), (req, res) -> { });
+        }
+        AtomicInteger calls = new AtomicInteger();
+        FilterChain chain = (req, res) -> calls.incrementAndGet();
+
+        // When: the principal keeps sending from that IP, then moves to another one
+        for (int i = 0; i < 5; i++) {
+            doFilter(listRequest("10.0.0.8"), new MockHttpServletResponse(), chain);
+        }
+        doFilter(listRequest("10.0.0.9"), new MockHttpServletResponse(), chain);
+        doFilter(listRequest("10.0.0.9"), new MockHttpServletResponse(), chain);
+
+        // Then: the IP rejections left the principal's burst untouched
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testDoFilter_ConcurrencyLimitRejectsWhileInFlight() throws Exception {
+        // Given: a request that is still running when a second one arrives
+        MockHttpServletResponse concurrent = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> doFilter(listRequest("10.0.0.5"), concurrent, (r, s) -> { });
+
+        // When
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        doFilter(listRequest("10.0.0.4"), first, chain);
+
+        // Then: the nested request is rejected, and the permit is given back afterwards
+        assertEquals(HttpStatus.OK.value(), first.getStatus());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), concurrent.getStatus());
+        assertEquals("1", concurrent.getHeader(HttpHeaders.RETRY_AFTER));
+        Map<?, ?> listAll = (Map<?, ?>) ((Map<?, ?>) admissionControl.state().get("rules")).get("list-all");
+        assertEquals(0, listAll.get("inFlight"));
+        assertEquals(1L, listAll.get("concurrencyRejections"));
+    }
+
+    @Test
+    void testDoFilter_UnmatchedPathIsNotLimited() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 10; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/executions/page");
+            request.setRemoteAddr("10.0.0.6");
+            doFilter(request, new MockHttpServletResponse(), (req, res) -> calls.incrementAndGet());
+        }
+        assertEquals(10, calls.get());
+    }
+
+    @Test
+    void testShippedProperties_ClientIpTakenFromForwardedHeaderOfTrustedProxiesOnly() throws Exception {
+        // Given: the shipped server properties
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(
+                new ResourcePropertySource(new ClassPathResource("application.properties")));
+        ServerProperties serverProperties = Binder.get(environment).bindOrCreate("server", ServerProperties.class);
+        TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory();
+
+        // When: Tomcat is configured from them
+        new TomcatWebServerFactoryCustomizer(environment, serverProperties).customize(factory);
+
+        // Then: the remote address comes from X-Forwarded-For, but only when a private-network proxy sent it
+        RemoteIpValve valve = factory.getEngineValves().stream()
+                .filter(RemoteIpValve.class::isInstance).map(RemoteIpValve.class::cast).findFirst().orElseThrow();
+        assertEquals("x-forwarded-for", valve.getRemoteIpHeader().toLowerCase(Locale.ROOT));
+        assertTrue("10.0.0.1".matches(valve.getInternalProxies()));
+        assertFalse("203.0.113.7".matches(valve.getInternalProxies()));
+    }
+
+    // Both stages, as in the security filter chain (authentication runs in between)
+    private void doFilter(MockHttpServletRequest request, MockHttpServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        clientFilter.doFilter(request, response, (req, res) -> principalFilter.doFilter(req, res, chain));
+    }
+
+    private static MockHttpServletRequest listRequest(String remoteAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/executions");
+        request.setRemoteAddr(remoteAddress);
+        return request;
+    }
+}
@@ -0,0 +1,91 @@
+package com.quetoquenana.template.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.quetoquenana.template.model.ApiResponse;
+import com.quetoquenana.template.model.Execution;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryHttpMessageConvertersTest {
+    private final JacksonConfig jacksonConfig = new JacksonConfig();
+    private final ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private final Execution execution = new Execution(
+            UUID.randomUUID(),
+            LocalDateTime.of(2025, 1, 1, 10, 0),
+            "server1",
+            "127.0.0.1",
+            "1.0.0",
+            "dev"
+    );
+
+    @Test
+    void testSmile_ListViewSelectsSameFieldsAsJson() throws Exception {
+        // Given
+        AbstractJackson2HttpMessageConverter converter =
+                jacksonConfig.smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json());
+        ApiResponse response = new ApiResponse(List.of(execution));
+
+        // When
+        JsonNode decoded = new ObjectMapper(new SmileFactory())
+                .readTree(write(converter, response, Execution.ExecutionList.class));
+
+        // Then
+        assertBinaryId((ObjectNode) decoded.get("data").get(0));
+        assertEquals(toJsonTree(response, Execution.ExecutionList.class), decoded);
+        assertFalse(decoded.get("data").get(0).has("serverName"));
+    }
+
+    @Test
+    void testCbor_DetailViewSelectsSameFieldsAsJson() throws Exception {
+        // Given
+        AbstractJackson2HttpMessageConverter converter =
+                jacksonConfig.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json());
+        ApiResponse response = new ApiResponse(execution);
+
+        // When
+        JsonNode decoded = new ObjectMapper(new CBORFactory())
+                .readTree(write(converter, response, Execution.ExecutionDetail.class));
+
+        // Then
+        assertBinaryId((ObjectNode) decoded.get("data"));
+        assertEquals(toJsonTree(response, Execution.ExecutionDetail.class), decoded);
+        assertTrue(decoded.get("data").has("serverName"));
+    }
+
+    // Both formats write a UUID as its 16 bytes; replaced by its text form to compare with the JSON tree
+    private void assertBinaryId(ObjectNode node) throws Exception {
+        ByteBuffer bytes = ByteBuffer.wrap(node.get("id").binaryValue());
+        assertEquals(execution.getId(), new UUID(bytes.getLong(), bytes.getLong()));
+        node.put("id", execution.getId().toString());
+    }
+
+    private JsonNode toJsonTree(ApiResponse response, Class<?> view) throws Exception {
+        return jsonMapper.readTree(jsonMapper.writerWithView(view).writeValueAsBytes(response));
+    }
+
+    private static byte[] write(AbstractJackson2HttpMessageConverter converter, ApiResponse response, Class<?> view)
+            throws Exception {
+        MappingJacksonValue value = new MappingJacksonValue(response);
+        value.setSerializationView(view);
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        converter.write(value, converter.getSupportedMediaTypes().getFirst(), outputMessage);
+        return outputMessage.getBodyAsBytes();
+    }
+}
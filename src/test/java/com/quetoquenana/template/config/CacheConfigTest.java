@@ -0,0 +1,162 @@
+package com.quetoquenana.template.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.quetoquenana.template.model.Execution;
+import com.quetoquenana.template.model.ExecutionsSavedEvent;
+import com.quetoquenana.template.repository.ExecutionRepository;
+import com.quetoquenana.template.service.ExecutionArchiveService;
+import com.quetoquenana.template.service.ExecutionService;
+import com.quetoquenana.template.service.ExecutionServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Read-through cache of {@link ExecutionService#findById(UUID)}: the real {@link CacheConfig} and service proxy
+ * in a minimal context, with the repository and archives mocked.
+ */
+class CacheConfigTest {
+    // Boot's conversion service, as in the application, binds the "1h" and "30s" durations
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withUserConfiguration(CacheConfig.class, ServiceConfig.class)
+            .withPropertyValues("app.cache.executions.ttl=1h", "app.cache.executions.negative-ttl=30s");
+
+    @Test
+    void testFindById_Enabled_HitsRepositoryOnce() {
+        contextRunner.withPropertyValues("app.cache.executions.enabled=true").run(context -> {
+            // Given: a stored execution
+            UUID id = UUID.randomUUID();
+            Execution execution = new Execution(id, LocalDateTime.now(), "server1", "127.0.0.1", "1.0.0", "prd");
+            ExecutionRepository repository = context.getBean(ExecutionRepository.class);
+            when(repository.findById(id)).thenReturn(Optional.of(execution));
+            ExecutionService service = context.getBean(ExecutionService.class);
+
+            // When: it is looked up twice
+            Optional<Execution> first = service.findById(id);
+            Optional<Execution> second = service.findById(id);
+
+            // Then: the second lookup is served from the cache, with the positive TTL
+            assertEquals(Optional.of(execution), first);
+            assertEquals(Optional.of(execution), second);
+            verify(repository, times(1)).findById(id);
+            Duration expiresAfter = expiresAfter(context.getBean(CacheManager.class), id);
+            assertTrue(expiresAfter.compareTo(Duration.ofSeconds(30)) > 0);
+        });
+    }
+
+    @Test
+    void testFindById_Enabled_CachesEmptyResultWithNegativeTtl() {
+        contextRunner.withPropertyValues("app.cache.executions.enabled=true").run(context -> {
+            // Given: an id neither in the table nor in the archives
+            UUID id = UUID.randomUUID();
+            ExecutionRepository repository = context.getBean(ExecutionRepository.class);
+            ExecutionArchiveService archiveService = context.getBean(ExecutionArchiveService.class);
+            when(repository.findById(id)).thenReturn(Optional.empty());
+            when(archiveService.findById(id)).thenReturn(Optional.empty());
+            ExecutionService service = context.getBean(ExecutionService.class);
+
+            // When: it is looked up twice
+            assertTrue(service.findById(id).isEmpty());
+            assertTrue(service.findById(id).isEmpty());
+
+            // Then: the miss is cached as NullValue, for at most the negative TTL
+            verify(repository, times(1)).findById(id);
+            verify(archiveService, times(1)).findById(id);
+            CacheManager cacheManager = context.getBean(CacheManager.class);
+            CaffeineCache cache = (CaffeineCache) cacheManager.getCache(CacheConfig.EXECUTIONS_BY_ID);
+            assertNotNull(cache);
+            assertSame(NullValue.INSTANCE, cache.getNativeCache().getIfPresent(id));
+            Duration expiresAfter = expiresAfter(cacheManager, id);
+            assertTrue(expiresAfter.compareTo(Duration.ofSeconds(30)) <= 0);
+        });
+    }
+
+    @Test
+    void testFindById_Enabled_SavedExecutionEvictsCachedMiss() {
+        contextRunner.withPropertyValues("app.cache.executions.enabled=true").run(context -> {
+            // Given: an id looked up, and cached as missing, before it is inserted
+            UUID id = UUID.randomUUID();
+            Execution execution = new Execution(id, LocalDateTime.now(), "server1", "127.0.0.1", "1.0.0", "prd");
+            ExecutionRepository repository = context.getBean(ExecutionRepository.class);
+            when(repository.findById(id)).thenReturn(Optional.empty(), Optional.of(execution));
+            when(context.getBean(ExecutionArchiveService.class).findById(id)).thenReturn(Optional.empty());
+            ExecutionService service = context.getBean(ExecutionService.class);
+            assertTrue(service.findById(id).isEmpty());
+
+            // When: a batch with that id is saved
+            context.publishEvent(new ExecutionsSavedEvent(List.of(execution)));
+
+            // Then: the next lookup reads the stored execution, before the negative TTL ends
+            assertEquals(Optional.of(execution), service.findById(id));
+            verify(repository, times(2)).findById(id);
+        });
+    }
+
+    @Test
+    void testFindById_Disabled_AlwaysHitsRepository() {
+        contextRunner.withPropertyValues("app.cache.executions.enabled=false").run(context -> {
+            // Given: no cache manager, since the cache is disabled
+            assertFalse(context.containsBean("cacheManager"));
+            UUID id = UUID.randomUUID();
+            ExecutionRepository repository = context.getBean(ExecutionRepository.class);
+            when(repository.findById(id)).thenReturn(Optional.of(new Execution()));
+            ExecutionService service = context.getBean(ExecutionService.class);
+
+            // When: it is looked up twice
+            service.findById(id);
+            service.findById(id);
+
+            // Then: both lookups reach the repository
+            verify(repository, times(2)).findById(id);
+        });
+    }
+
+    private static Duration expiresAfter(CacheManager cacheManager, UUID id) {
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(CacheConfig.EXECUTIONS_BY_ID);
+        assertNotNull(cache);
+        Cache<Object, Object> nativeCache = cache.getNativeCache();
+        return nativeCache.policy().expireVariably().orElseThrow().getExpiresAfter(id).orElseThrow();
+    }
+
+    @Configuration
+    static class ServiceConfig {
+        @Bean
+        ExecutionRepository executionRepository() {
+            return mock(ExecutionRepository.class);
+        }
+
+        @Bean
+        ExecutionArchiveService executionArchiveService() {
+            return mock(ExecutionArchiveService.class);
+        }
+
+        @Bean
+        ExecutionService executionService(ExecutionRepository executionRepository,
+                                          ExecutionArchiveService executionArchiveService,
+                                          ApplicationEventPublisher eventPublisher) {
+            return new ExecutionServiceImpl(executionRepository, executionArchiveService, eventPublisher,
+                    new SimpleMeterRegistry(), 1000, Duration.ofMinutes(1));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.quetoquenana.template.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CachingAuthenticationProviderTest {
+    private InMemoryUserDetailsManager users;
+    private AuthenticationProvider delegate;
+    private CachingAuthenticationProvider provider;
+
+    @BeforeEach
+    @SuppressWarnings("deprecation")
+    void setUp() {
+        users = new InMemoryUserDetailsManager(
+                User.withUsername("user").password("password").roles("SYSTEM").build()
+        );
+        DaoAuthenticationProvider dao = new DaoAuthenticationProvider(users);
+        dao.setPasswordEncoder(NoOpPasswordEncoder.getInstance());
+        delegate = spy(dao);
+        provider = new CachingAuthenticationProvider(delegate, users, 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void testAuthenticate_CachesSuccessfulVerification() {
+        // Given: the same valid credentials are presented twice
+        Authentication first = provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "password"));
+        Authentication second = provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "password"));
+
+        // Then: both are authenticated but the delegate verified the password only once
+        assertTrue(first.isAuthenticated());
+        assertTrue(second.isAuthenticated());
+        assertEquals("user", second.getName());
+        verify(delegate, times(1)).authenticate(any());
+    }
+
+    @Test
+    void testAuthenticate_WrongPasswordIsNeverServedFromCache() {
+        provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "password"));
+
+        assertThrows(BadCredentialsException.class,
+                () -> provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "wrong")));
+    }
+
+    @Test
+    void testAuthenticate_UserChangeDropsCachedEntry() {
+        // Given: a cached verification
+        provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "password"));
+
+        // When: the user's password changes
+        users.updateUser(User.withUsername("user").password("changed").roles("SYSTEM").build());
+
+        // Then: the old password is rejected instead of being served from the cache
+        assertThrows(BadCredentialsException.class,
+                () -> provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "password")));
+    }
+}
@@ -0,0 +1,179 @@
+package com.quetoquenana.template.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.quetoquenana.template.model.ApiBaseResponseView;
+import com.quetoquenana.template.model.ApiResponse;
+import com.quetoquenana.template.model.Execution;
+import com.quetoquenana.template.model.StartupPhaseDurations;
+import com.quetoquenana.template.util.JsonViewCursorPageUtil;
+import com.quetoquenana.template.util.JsonViewPageUtil;
+import com.quetoquenana.template.util.JsonViewSlicePageUtil;
+import com.quetoquenana.template.util.JsonViewWriterCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+/**
+ * The direct writer path must produce exactly the bytes of the stock Jackson converter.
+ */
+class JsonViewHttpMessageConverterTest {
+    // Spring Boot's defaults for the MVC ObjectMapper, including ISO dates
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final MappingJackson2HttpMessageConverter defaultConverter =
+            new MappingJackson2HttpMessageConverter(objectMapper);
+    private final JsonViewWriterCache writerCache = spy(new JsonViewWriterCache(objectMapper));
+    private final JsonViewHttpMessageConverter converter = new JsonViewHttpMessageConverter(objectMapper, writerCache);
+
+    private final Execution execution = new Execution(UUID.fromString("0190c9a0-7b2e-7d4f-8a11-3c5e2f9d1b42"),
+            LocalDateTime.of(2025, 1, 1, 10, 0, 0, 123_000), "server1", "127.0.0.1", "1.0.0", "dev",
+            new StartupPhaseDurations(1200L, 300L, 500L, null));
+    private final Execution other = new Execution(UUID.fromString("0190c9a0-8c3f-7e50-9b22-4d6f3a0e2c53"),
+            LocalDateTime.of(2025, 1, 2, 8, 30),
+            "server \"2\"", "10.0.0.2", "1.1.0", "prd");
+
+    // Bodies as written before the direct converter existed
+    private static final String EXECUTION_DETAIL_JSON = "{\"id\":\"0190c9a0-7b2e-7d4f-8a11-3c5e2f9d1b42\","
+            + "\"executedAt\":\"2025-01-01T10:00:00.000123\",\"serverName\":\"server1\",\"ipAddress\":\"127.0.0.1\","
+            + "\"appVersion\":\"1.0.0\",\"environment\":\"dev\",\"startup\":{\"contextRefreshMillis\":1200,"
+            + "\"flywayMigrationMillis\":300,\"jpaBootstrapMillis\":500,\"readyMillis\":null}}";
+    private static final String EXECUTION_LIST_JSON = "{\"id\":\"0190c9a0-7b2e-7d4f-8a11-3c5e2f9d1b42\","
+            + "\"executedAt\":\"2025-01-01T10:00:00.000123\",\"appVersion\":\"1.0.0\",\"environment\":\"dev\"}";
+    private static final String OTHER_LIST_JSON = "{\"id\":\"0190c9a0-8c3f-7e50-9b22-4d6f3a0e2c53\","
+            + "\"executedAt\":\"2025-01-02T08:30:00\",\"appVersion\":\"1.1.0\",\"environment\":\"prd\"}";
+
+    @Test
+    void testWrite_DetailViewMatchesBaselineJson() throws Exception {
+        assertBaselineOutput(new ApiResponse(execution), Execution.ExecutionDetail.class,
+                "{\"message\":\"Success\",\"errorCode\":0,\"data\":" + EXECUTION_DETAIL_JSON + "}");
+    }
+
+    @Test
+    void testWrite_ListViewMatchesBaselineJson() throws Exception {
+        assertBaselineOutput(new ApiResponse(List.of(execution, other)), Execution.ExecutionList.class,
+                "{\"message\":\"Success\",\"errorCode\":0,\"data\":[" + EXECUTION_LIST_JSON + ","
+                        + OTHER_LIST_JSON + "]}");
+    }
+
+    @Test
+    void testWrite_PageViewMatchesBaselineJson() throws Exception {
+        PageRequest pageRequest = PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "executedAt"));
+        assertBaselineOutput(new ApiResponse(new JsonViewPageUtil<>(List.of(execution, other), pageRequest, 7)),
+                Execution.ExecutionList.class,
+                "{\"message\":\"Success\",\"errorCode\":0,\"data\":{\"content\":[" + EXECUTION_LIST_JSON + ","
+                        + OTHER_LIST_JSON + "],\"pageable\":{},\"hasNext\":true,\"totalPages\":4,\"totalElements\":7,"
+                        + "\"hasContent\":true,\"last\":false,\"size\":2,\"number\":1,\"sort\":{},"
+                        + "\"numberOfElements\":2,\"first\":false,\"empty\":false}}");
+        assertBaselineOutput(new ApiResponse(new JsonViewPageUtil<>(List.of(execution))),
+                Execution.ExecutionList.class,
+                "{\"message\":\"Success\",\"errorCode\":0,\"data\":{\"content\":[" + EXECUTION_LIST_JSON + "],"
+                        + "\"pageable\":{},\"hasNext\":false,\"totalPages\":1,\"totalElements\":1,"
+                        + "\"hasContent\":true,\"last\":true,\"size\":1,\"number\":0,\"sort\":{},"
+                        + "\"numberOfElements\":1,\"first\":true,\"empty\":false}}");
+    }
+
+    @Test
+    void testWrite_DetailViewMatchesDefaultConverter() throws Exception {
+        assertWrittenDirectly(new ApiResponse(execution), Execution.ExecutionDetail.class);
+        assertWrittenDirectly(new ApiResponse(other), Execution.ExecutionDetail.class);
+    }
+
+    @Test
+    void testWrite_ListViewMatchesDefaultConverter() throws Exception {
+        assertWrittenDirectly(new ApiResponse(List.of(execution, other)), Execution.ExecutionList.class);
+        assertWrittenDirectly(new ApiResponse(Arrays.asList(execution, null)), Execution.ExecutionList.class);
+        assertWrittenDirectly(new ApiResponse(List.of()), Execution.ExecutionList.class);
+    }
+
+    @Test
+    void testWrite_PageViewMatchesDefaultConverter() throws Exception {
+        PageRequest pageRequest = PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "executedAt"));
+        assertWrittenDirectly(new ApiResponse(new JsonViewPageUtil<>(List.of(execution, other), pageRequest, 7)),
+                Execution.ExecutionList.class);
+        assertWrittenDirectly(new ApiResponse(new JsonViewPageUtil<>(List.of(execution))),
+                Execution.ExecutionList.class);
+        assertWrittenDirectly(new ApiResponse(new JsonViewPageUtil<>(List.of(), PageRequest.of(0, 10), 0)),
+                Execution.ExecutionList.class);
+    }
+
+    @Test
+    void testWrite_SlicePageViewMatchesDefaultConverter() throws Exception {
+        SliceImpl<Execution> slice = new SliceImpl<>(List.of(execution, other), PageRequest.of(0, 2), true);
+        assertWrittenDirectly(new ApiResponse(new JsonViewSlicePageUtil<>(slice, 1000L)),
+                Execution.ExecutionList.class);
+        assertWrittenDirectly(new ApiResponse(new JsonViewSlicePageUtil<>(slice, null)),
+                Execution.ExecutionList.class);
+    }
+
+    @Test
+    void testWrite_CursorPageViewMatchesDefaultConverter() throws Exception {
+        assertWrittenDirectly(new ApiResponse(new JsonViewCursorPageUtil<>(List.of(execution), 1, "next")),
+                Execution.ExecutionList.class);
+        assertWrittenDirectly(new ApiResponse(new JsonViewCursorPageUtil<>(List.of(execution), 10, null)),
+                Execution.ExecutionList.class);
+    }
+
+    @Test
+    void testWrite_ErrorResponseMatchesDefaultConverter() throws Exception {
+        assertSameOutput(new ApiResponse("Ejecución \"no\" encontrada.", 404), Execution.ExecutionDetail.class);
+    }
+
+    @Test
+    void testWrite_OtherBodiesGoThroughDefaultConverter() throws Exception {
+        // Data other than executions, or a view other than the Execution views
+        assertSameOutput(new ApiResponse(Map.of("inserted", 1)), Execution.ExecutionList.class);
+        assertSameOutput(new ApiResponse(List.of(execution, "text")), Execution.ExecutionList.class);
+        assertSameOutput(new ApiResponse(execution), ApiBaseResponseView.Always.class);
+        verify(writerCache, never()).writerFor(any(), any());
+    }
+
+    // Both converters must keep writing the baseline bytes
+    private void assertBaselineOutput(ApiResponse response, Class<?> view, String expected) throws Exception {
+        assertEquals(expected, new String(write(defaultConverter, response, view), StandardCharsets.UTF_8));
+        assertEquals(expected, new String(write(converter, response, view), StandardCharsets.UTF_8));
+    }
+
+    private void assertWrittenDirectly(ApiResponse response, Class<?> view) throws Exception {
+        clearInvocations(writerCache);
+        assertSameOutput(response, view);
+        verify(writerCache, atLeastOnce()).writerFor(any(), any());
+    }
+
+    private void assertSameOutput(ApiResponse response, Class<?> view) throws Exception {
+        byte[] expected = write(defaultConverter, response, view);
+        assertArrayEquals(expected, write(converter, response, view), () -> new String(expected));
+    }
+
+    private static byte[] write(MappingJackson2HttpMessageConverter converter, ApiResponse response, Class<?> view)
+            throws Exception {
+        MappingJacksonValue value = new MappingJacksonValue(response);
+        value.setSerializationView(view);
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        converter.write(value, MediaType.APPLICATION_JSON, outputMessage);
+        return outputMessage.getBodyAsBytes();
+    }
+}
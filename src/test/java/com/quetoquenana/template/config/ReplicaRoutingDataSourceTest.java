@@ -0,0 +1,166 @@
+package com.quetoquenana.template.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+    @Mock
+    private DataSource primary;
+    @Mock
+    private DataSource replica1;
+    @Mock
+    private DataSource replica2;
+    @Mock
+    private Connection primaryConnection;
+    @Mock
+    private Connection replica1Connection;
+    @Mock
+    private Connection replica2Connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica1.getConnection()).thenReturn(replica1Connection);
+        when(replica2.getConnection()).thenReturn(replica2Connection);
+        when(replica1Connection.isValid(2)).thenReturn(true);
+        when(replica2Connection.isValid(2)).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testGetConnection_BalancesAcrossReplicas() throws SQLException {
+        // Given
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, List.of(replica1, replica2), Duration.ZERO);
+
+        // When / Then
+        assertSame(replica1Connection, dataSource.getConnection());
+        assertSame(replica2Connection, dataSource.getConnection());
+        assertSame(replica1Connection, dataSource.getConnection());
+    }
+
+    @Test
+    void testGetConnection_SkipsUnhealthyReplicaAndFallsBackToPrimary() throws SQLException {
+        // Given: the first replica fails its health check
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, List.of(replica1, replica2), Duration.ZERO);
+        when(replica1Connection.isValid(2)).thenReturn(false);
+        dataSource.checkHealth();
+
+        // When / Then: reads only go to the healthy replica
+        assertEquals(1, dataSource.getHealthyReplicaCount());
+        assertSame(replica2Connection, dataSource.getConnection());
+        assertSame(replica2Connection, dataSource.getConnection());
+
+        // And: with no healthy replica left, the primary serves reads
+        when(replica2.getConnection()).thenThrow(new SQLException("connection refused"));
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertEquals(0, dataSource.getHealthyReplicaCount());
+    }
+
+    @Test
+    void testGetConnection_ReadYourWritesUsesPrimaryAfterWrite() throws SQLException {
+        // Given
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, List.of(replica1), Duration.ofMinutes(1));
+        authenticate("writer");
+
+        // When: a write of this principal has just committed
+        assertSame(replica1Connection, dataSource.getConnection());
+        dataSource.recordWrite();
+
+        // Then: its reads go to the primary
+        assertSame(primaryConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void testGetConnection_ReadYourWritesOnlyForTheWriter() throws SQLException {
+        // Given: a principal and a background job (no principal) write
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, List.of(replica1), Duration.ofMinutes(1));
+        authenticate("writer");
+        dataSource.recordWrite();
+        SecurityContextHolder.clearContext();
+        dataSource.recordWrite();
+
+        // When / Then: other principals and anonymous reads stay on the replica
+        assertSame(replica1Connection, dataSource.getConnection());
+        authenticate("reader");
+        assertSame(replica1Connection, dataSource.getConnection());
+    }
+
+    @Test
+    void testGetConnection_SameReplicaWithinRequest() throws SQLException {
+        // Given
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, List.of(replica1, replica2), Duration.ZERO);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        // When / Then
+        assertSame(replica1Connection, dataSource.getConnection());
+        assertSame(replica1Connection, dataSource.getConnection());
+    }
+
+    private static void authenticate(String name) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(name, null, List.of()));
+    }
+
+    @Test
+    void testStartHealthChecks_ProbesOnItsOwnThread() throws Exception {
+        // Given: a replica that is down
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, List.of(replica1), Duration.ZERO);
+        AtomicInteger probes = new AtomicInteger();
+        Set<String> probeThreads = ConcurrentHashMap.newKeySet();
+        when(replica1Connection.isValid(2)).thenAnswer(invocation -> {
+            probeThreads.add(Thread.currentThread().getName());
+            probes.incrementAndGet();
+            return false;
+        });
+
+        // When
+        dataSource.startHealthChecks(Duration.ofMillis(10));
+
+        // Then: the probe marks the replica down from the dedicated thread
+        await(() -> dataSource.getHealthyReplicaCount() == 0);
+        assertEquals(Set.of("replica-health-check"), probeThreads);
+        // And: no probe runs once the data source is closed
+        dataSource.close();
+        int probesAtClose = probes.get();
+        Thread.sleep(50);
+        assertEquals(probesAtClose, probes.get());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met within 5 seconds");
+            Thread.sleep(10);
+        }
+    }
+}
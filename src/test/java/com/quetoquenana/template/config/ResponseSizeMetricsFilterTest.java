@@ -0,0 +1,64 @@
+package com.quetoquenana.template.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class ResponseSizeMetricsFilterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ResponseSizeMetricsFilter filter = new ResponseSizeMetricsFilter(meterRegistry);
+
+    @Test
+    void testDoFilter_RecordsBytesWrittenPerUri() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/executions/123");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        byte[] body = "{\"data\":\"a\"}".getBytes(StandardCharsets.UTF_8);
+        FilterChain chain = (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/executions/{id}");
+            res.getOutputStream().write(body);
+        };
+
+        // When
+        filter.doFilter(request, response, chain);
+
+        // Then
+        DistributionSummary summary = meterRegistry.find(ResponseSizeMetricsFilter.METRIC_NAME)
+                .tag("uri", "/api/executions/{id}")
+                .tag("status", "200")
+                .summary();
+        assertNotNull(summary);
+        assertEquals(1, summary.count());
+        assertEquals(body.length, summary.totalAmount());
+        assertEquals(body.length, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void testDoFilter_CountsWriterOutput() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/unknown");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setCharacterEncoding("UTF-8");
+        FilterChain chain = (req, res) -> res.getWriter().write("not found");
+
+        // When
+        filter.doFilter(request, response, chain);
+
+        // Then
+        DistributionSummary summary = meterRegistry.find(ResponseSizeMetricsFilter.METRIC_NAME)
+                .tag("uri", "UNKNOWN")
+                .summary();
+        assertNotNull(summary);
+        assertEquals("not found".length(), summary.totalAmount());
+        assertEquals("not found", response.getContentAsString());
+    }
+}
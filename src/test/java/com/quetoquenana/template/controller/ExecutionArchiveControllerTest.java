@@ -0,0 +1,124 @@
+package com.quetoquenana.template.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.quetoquenana.template.exception.InvalidRequestException;
+import com.quetoquenana.template.exception.RecordNotFoundException;
+import com.quetoquenana.template.model.ApiResponse;
+import com.quetoquenana.template.model.Execution;
+import com.quetoquenana.template.model.ExecutionArchive;
+import com.quetoquenana.template.service.ExecutionArchiveService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+class ExecutionArchiveControllerTest {
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2024, 2, 1, 0, 0);
+
+    @Mock
+    private ExecutionArchiveService executionArchiveService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @InjectMocks
+    private ExecutionArchiveController executionArchiveController;
+
+    private Execution execution;
+    private NativeWebRequest webRequest;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(executionArchiveController, "exportTimeout", Duration.ofMinutes(10));
+        webRequest = new ServletWebRequest(new MockHttpServletRequest());
+        execution = new Execution(UUID.randomUUID(), FROM.plusDays(1), "server1", "127.0.0.1", "1.0.0", "prd");
+    }
+
+    @Test
+    void testCreateArchive_ReturnsCreatedArchive() {
+        // Given: the service archives the range
+        ExecutionArchive archive = new ExecutionArchive("executions_20240101T000000_20240201T000000.xca",
+                FROM, TO, execution.getExecutedAt(), execution.getExecutedAt(), 1, 512);
+        when(executionArchiveService.createArchive(FROM, TO)).thenReturn(archive);
+
+        // When: the controller's createArchive is called
+        ResponseEntity<ApiResponse> response = executionArchiveController.createArchive(FROM, TO);
+
+        // Then: 201 with the archive in ApiResponse.data
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(archive, response.getBody().getData());
+    }
+
+    @Test
+    void testGetArchivedExecutionById_NotFound() {
+        // Given: no archive holds the id
+        UUID id = UUID.randomUUID();
+        when(executionArchiveService.findById(id)).thenReturn(Optional.empty());
+
+        // When / Then: the miss is left to ControllerExceptionAdvice
+        assertThrows(RecordNotFoundException.class, () -> executionArchiveController.getArchivedExecutionById(id));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testExportArchivedExecutions_StreamsNdjson() throws Exception {
+        // Given: the archives hold two executions of the range
+        doAnswer(invocation -> {
+            Consumer<Execution> consumer = invocation.getArgument(2);
+            consumer.accept(execution);
+            consumer.accept(execution);
+            return null;
+        }).when(executionArchiveService).forEachExecution(eq(FROM), eq(TO), any(Consumer.class));
+
+        // When: the controller's exportArchivedExecutions body is written
+        ResponseEntity<StreamingResponseBody> response =
+                executionArchiveController.exportArchivedExecutions(FROM, TO, webRequest);
+        assertNotNull(response.getBody());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        // Then: one ExecutionList view per line
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("executedAt"));
+        assertFalse(lines[0].contains("serverName"));
+    }
+
+    @Test
+    void testExportArchivedExecutions_InvalidRange() {
+        assertThrows(InvalidRequestException.class,
+                () -> executionArchiveController.exportArchivedExecutions(TO, FROM, webRequest));
+    }
+}
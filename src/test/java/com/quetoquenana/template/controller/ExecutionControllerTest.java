@@ -3,33 +3,63 @@ package com.quetoquenana.template.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.quetoquenana.template.exception.InvalidRequestException;
 import com.quetoquenana.template.exception.RecordNotFoundException;
 import com.quetoquenana.template.model.ApiBaseResponseView;
 import com.quetoquenana.template.model.ApiResponse;
+import com.quetoquenana.template.model.BatchIngestionResult;
+import com.quetoquenana.template.model.BatchItemError;
 import com.quetoquenana.template.model.Execution;
+import com.quetoquenana.template.model.ExecutionFilter;
+import com.quetoquenana.template.model.ExecutionSetVersion;
+import com.quetoquenana.template.model.PageTotal;
 import com.quetoquenana.template.service.ExecutionService;
+import com.quetoquenana.template.util.ExecutionCursor;
+import com.quetoquenana.template.util.JsonViewCursorPageUtil;
 import com.quetoquenana.template.util.JsonViewPageUtil;
+import com.quetoquenana.template.util.JsonViewSlicePageUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.context.MessageSource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class ExecutionControllerTest {
+    private static final Sort DEFAULT_SORT = Sort.by(Sort.Direction.DESC, "executedAt");
+
     @Mock
     private ExecutionService executionService;
 
@@ -41,12 +71,18 @@ class ExecutionControllerTest {
 
     private Execution execution;
     private UUID executionId;
+    private NativeWebRequest webRequest;
 
-    private ObjectMapper objectMapper;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(executionController, "exportTimeout", Duration.ofMinutes(10));
+        webRequest = new ServletWebRequest(new MockHttpServletRequest());
         executionId = UUID.randomUUID();
         execution = new Execution(
                 executionId,
@@ -56,9 +92,8 @@ class ExecutionControllerTest {
                 "1.0.0",
                 "dev"
         );
-        objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        when(executionService.getVersion()).thenReturn(
+                new ExecutionSetVersion(execution.getExecutedAt(), execution.getExecutedAt(), 1));
     }
 
     @Test
@@ -68,7 +103,7 @@ class ExecutionControllerTest {
         when(executionService.findAll()).thenReturn(executions);
 
         // When: the controller's getAllExecutions is called
-        ResponseEntity<ApiResponse> response = executionController.getAllExecutions();
+        ResponseEntity<ApiResponse> response = executionController.getAllExecutions(new HttpHeaders());
 
         // Then: the response should be 200 OK and contain the executions list in ApiResponse.data
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -94,7 +129,7 @@ class ExecutionControllerTest {
         when(executionService.findById(executionId)).thenReturn(Optional.ofNullable(execution));
 
         // When: the controller's getExecutionById is called
-        ResponseEntity<ApiResponse> response = executionController.getExecutionById(executionId, Locale.ENGLISH);
+        ResponseEntity<ApiResponse> response = executionController.getExecutionById(executionId, new HttpHeaders());
 
         // Then: the response should be 200 OK and contain the execution in ApiResponse.data
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -113,28 +148,27 @@ class ExecutionControllerTest {
     }
 
     @Test
-    void testGetExecutionById_NotFound_English() {
+    void testGetExecutionById_NotFound() {
+        // Given: no execution with the id
         when(executionService.findById(executionId)).thenReturn(Optional.empty());
-        when(messageSource.getMessage(eq("error.not.found"), any(), eq(Locale.ENGLISH))).thenReturn("Resource not found.");
-        assertThrows(RecordNotFoundException.class, () -> executionController.getExecutionById(executionId, Locale.ENGLISH));
-    }
 
-    @Test
-    void testGetExecutionById_NotFound_Spanish() {
-        when(executionService.findById(executionId)).thenReturn(Optional.empty());
-        Locale spanish = Locale.forLanguageTag("es");
-        when(messageSource.getMessage(eq("error.not.found"), any(), eq(spanish))).thenReturn("Recurso no encontrado.");
-        assertThrows(RecordNotFoundException.class, () -> executionController.getExecutionById(executionId, spanish));
+        // When: the controller's getExecutionById is called
+        RecordNotFoundException exception = assertThrows(RecordNotFoundException.class,
+                () -> executionController.getExecutionById(executionId, new HttpHeaders()));
+
+        // Then: the exception carries the message key for the advice and no stack trace
+        assertEquals("record.not.found", exception.getMessageKey());
+        assertEquals(0, exception.getStackTrace().length);
     }
 
     @Test
     void testGetExecutionsPage_ReturnsJsonViewPageUtil() throws Exception {
         // Given: a page with one execution returned by the service
         Page<Execution> page = new PageImpl<>(Collections.singletonList(execution), PageRequest.of(0, 10), 1);
-        when(executionService.findAll(PageRequest.of(0, 10))).thenReturn(page);
+        when(executionService.findAll(new ExecutionFilter(), PageRequest.of(0, 10, DEFAULT_SORT))).thenReturn(page);
 
         // When: the controller's getExecutionsPage is called
-        ResponseEntity<ApiResponse> response = executionController.getExecutionsPage(0, 10);
+        ResponseEntity<ApiResponse> response = getExecutionsPage(0, 10, new HttpHeaders());
 
         // Then: the response should be 200 OK and contain a JsonViewPageUtil in ApiResponse.data
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -157,4 +191,316 @@ class ExecutionControllerTest {
         assertTrue(metaJson.contains("totalPages"));
         assertTrue(metaJson.contains("totalElements"));
     }
+
+    @Test
+    void testGetAllExecutions_NotModified() {
+        // Given: the client already holds the current version of the list
+        String etag = executionService.getVersion().toETag();
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.setIfNoneMatch(etag);
+
+        // When: the controller's getAllExecutions is called
+        ResponseEntity<ApiResponse> response = executionController.getAllExecutions(requestHeaders);
+
+        // Then: 304 without body and without querying the executions
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(etag, response.getHeaders().getETag());
+        assertNull(response.getBody());
+        verify(executionService, never()).findAll();
+    }
+
+    @Test
+    void testGetExecutionById_NotModified() {
+        // Given: the client sends the ETag of a previous response for a stored id
+        when(executionService.findById(executionId)).thenReturn(Optional.of(execution));
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.setIfNoneMatch("W/\"" + executionId + "\"");
+
+        // When: the controller's getExecutionById is called
+        ResponseEntity<ApiResponse> response =
+                executionController.getExecutionById(executionId, requestHeaders);
+
+        // Then: 304 without body
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void testGetExecutionById_RemovedExecution_NotFoundDespiteETag() {
+        // Given: the client holds the ETag of an execution that retention has removed since
+        when(executionService.findById(executionId)).thenReturn(Optional.empty());
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.setIfNoneMatch("W/\"" + executionId + "\"");
+
+        // When / Then: 404, not 304
+        assertThrows(RecordNotFoundException.class,
+                () -> executionController.getExecutionById(executionId, requestHeaders));
+    }
+
+    @Test
+    void testGetExecutionById_WildcardOnMissingId_NotFound() {
+        // Given: If-None-Match: * for an id that does not exist
+        UUID missingId = UUID.randomUUID();
+        when(executionService.findById(missingId)).thenReturn(Optional.empty());
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.setIfNoneMatch("*");
+
+        // When / Then: "*" only matches an existing representation
+        assertThrows(RecordNotFoundException.class,
+                () -> executionController.getExecutionById(missingId, requestHeaders));
+    }
+
+    @Test
+    void testGetExecutionsPage_ETagChangesWithVersionAndPage() {
+        // Given: a page returned by the service
+        Page<Execution> page = new PageImpl<>(Collections.singletonList(execution), PageRequest.of(0, 10), 1);
+        when(executionService.findAll(any(ExecutionFilter.class), any(PageRequest.class))).thenReturn(page);
+        String stale = getExecutionsPage(0, 10, new HttpHeaders()).getHeaders().getETag();
+        String otherPage = getExecutionsPage(1, 10, new HttpHeaders()).getHeaders().getETag();
+        when(executionService.getVersion()).thenReturn(
+                new ExecutionSetVersion(execution.getExecutedAt(), LocalDateTime.now().plusSeconds(1), 2));
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.setIfNoneMatch(stale);
+
+        // When: the client revalidates after a new execution was stored
+        ResponseEntity<ApiResponse> response = getExecutionsPage(0, 10, requestHeaders);
+
+        // Then: the full page is returned with a new ETag and revalidation caching headers
+        assertNotEquals(stale, otherPage);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotEquals(stale, response.getHeaders().getETag());
+        assertEquals("no-cache, public", response.getHeaders().getCacheControl());
+    }
+
+    @Test
+    void testGetExecutionsPage_ETagDependsOnFilters() {
+        // Given: the same page requested with two different environments
+        when(executionService.findAll(any(ExecutionFilter.class), any(PageRequest.class)))
+                .thenReturn(new PageImpl<>(Collections.singletonList(execution), PageRequest.of(0, 10), 1));
+
+        // When
+        String prd = executionController.getExecutionsPage(0, 10, "prd", null, null, null, null, DEFAULT_SORT,
+                PageTotal.EXACT, new HttpHeaders()).getHeaders().getETag();
+        String dev = executionController.getExecutionsPage(0, 10, "dev", null, null, null, null, DEFAULT_SORT,
+                PageTotal.EXACT, new HttpHeaders()).getHeaders().getETag();
+        // Values that would collide if the parameters were simply concatenated
+        String shifted = executionController.getExecutionsPage(0, 10, "prd", "", null, null, null, DEFAULT_SORT,
+                PageTotal.EXACT, new HttpHeaders()).getHeaders().getETag();
+
+        // Then: every combination has its own ETag
+        assertNotEquals(prd, dev);
+        assertNotEquals(prd, shifted);
+    }
+
+    @Test
+    void testGetExecutionsPage_PassesFiltersAndSort() {
+        // Given: a filtered, sorted page request
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 2, 1, 0, 0);
+        Sort sort = Sort.by(Sort.Direction.ASC, "appVersion");
+        ExecutionFilter filter = new ExecutionFilter("prd", "1.0.0", null, from, to);
+        when(executionService.findAll(any(ExecutionFilter.class), any(PageRequest.class)))
+                .thenReturn(new PageImpl<>(Collections.singletonList(execution), PageRequest.of(0, 20, sort), 1));
+
+        // When: the controller's getExecutionsPage is called with filters
+        ResponseEntity<ApiResponse> response = executionController.getExecutionsPage(
+                0, 20, "prd", "1.0.0", null, from, to, sort, PageTotal.EXACT, new HttpHeaders());
+        String unfiltered = getExecutionsPage(0, 20, new HttpHeaders()).getHeaders().getETag();
+
+        // Then: the filter and sort reach the service and are part of the ETag
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(executionService).findAll(filter, PageRequest.of(0, 20, sort));
+        assertNotEquals(unfiltered, response.getHeaders().getETag());
+    }
+
+    @Test
+    void testGetExecutionsPage_ApproximateTotal() throws Exception {
+        // Given: a slice with more rows available and a planner estimate below what the slice proves
+        when(executionService.findSlice(new ExecutionFilter(), PageRequest.of(2, 10, DEFAULT_SORT))).thenReturn(
+                new SliceImpl<>(Collections.singletonList(execution), PageRequest.of(2, 10, DEFAULT_SORT), true));
+        when(executionService.estimateTotal(new ExecutionFilter())).thenReturn(15L);
+
+        // When: the controller's getExecutionsPage is called with total=APPROXIMATE
+        ResponseEntity<ApiResponse> response = getExecutionsPage(2, 10, PageTotal.APPROXIMATE, new HttpHeaders());
+
+        // Then: no count query is run and the estimate is raised to the rows the slice proves to exist
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertInstanceOf(JsonViewSlicePageUtil.class, response.getBody().getData());
+        JsonViewSlicePageUtil<?> slice = (JsonViewSlicePageUtil<?>) response.getBody().getData();
+        assertEquals(PageTotal.APPROXIMATE, slice.getTotal());
+        assertTrue(slice.isHasNext());
+        assertEquals(22L, slice.getTotalElements());
+        assertEquals(3, slice.getTotalPages());
+        verify(executionService, never()).findAll(any(ExecutionFilter.class), any(PageRequest.class));
+        String json = objectMapper.writerWithView(Execution.ExecutionList.class).writeValueAsString(slice);
+        assertTrue(json.contains("\"total\":\"APPROXIMATE\""));
+        assertFalse(json.contains("serverName"));
+    }
+
+    @Test
+    void testGetExecutionsPage_NoTotal() throws Exception {
+        // Given: the last slice of the filtered executions
+        when(executionService.findSlice(any(ExecutionFilter.class), any(PageRequest.class))).thenReturn(
+                new SliceImpl<>(Collections.singletonList(execution), PageRequest.of(0, 10, DEFAULT_SORT), false));
+        when(executionService.findAll(any(ExecutionFilter.class), any(PageRequest.class))).thenReturn(
+                new PageImpl<>(Collections.singletonList(execution), PageRequest.of(0, 10, DEFAULT_SORT), 1));
+        String exactETag = getExecutionsPage(0, 10, PageTotal.EXACT, new HttpHeaders()).getHeaders().getETag();
+
+        // When: the controller's getExecutionsPage is called with total=NONE
+        ResponseEntity<ApiResponse> response = getExecutionsPage(0, 10, PageTotal.NONE, new HttpHeaders());
+
+        // Then: neither a count nor an estimate is taken, the totals are left out and the ETag differs
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        JsonViewSlicePageUtil<?> slice = (JsonViewSlicePageUtil<?>) response.getBody().getData();
+        assertFalse(slice.isHasNext());
+        verify(executionService, never()).estimateTotal(any());
+        String json = objectMapper.writerWithView(Execution.ExecutionList.class).writeValueAsString(slice);
+        assertFalse(json.contains("totalElements"));
+        assertFalse(json.contains("totalPages"));
+        assertNotEquals(exactETag, response.getHeaders().getETag());
+    }
+
+    @Test
+    void testGetExecutionsByCursor_ReturnsNextCursor() throws Exception {
+        // Given: the service returns a full first page with more rows available
+        when(executionService.findAllAfter(isNull(), eq(1)))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(execution), PageRequest.of(0, 1), true));
+
+        // When: the controller's getExecutionsByCursor is called without a cursor
+        ResponseEntity<ApiResponse> response = executionController.getExecutionsByCursor(null, 1);
+
+        // Then: the response should be 200 OK and contain a JsonViewCursorPageUtil pointing after the last row
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertInstanceOf(JsonViewCursorPageUtil.class, response.getBody().getData());
+        JsonViewCursorPageUtil<?> cursorPage = (JsonViewCursorPageUtil<?>) response.getBody().getData();
+        assertTrue(cursorPage.isHasNext());
+        ExecutionCursor next = ExecutionCursor.decode(cursorPage.getNextCursor());
+        assertEquals(executionId, next.getId());
+        assertEquals(execution.getExecutedAt(), next.getExecutedAt());
+        // And: the JSON payload should include the cursor metadata but no totals
+        String json = objectMapper.writerWithView(Execution.ExecutionList.class).writeValueAsString(cursorPage);
+        assertTrue(json.contains("nextCursor"));
+        assertFalse(json.contains("totalElements"));
+        assertFalse(json.contains("serverName"));
+    }
+
+    @Test
+    void testGetExecutionsPage_InvalidSize() {
+        // When / Then: sizes outside 1..1000 are rejected before any query, like on /cursor
+        for (int size : new int[]{0, -1, 1001, Integer.MAX_VALUE}) {
+            InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+                    () -> getExecutionsPage(0, size, new HttpHeaders()));
+            assertEquals("page.size.invalid", exception.getMessageKey());
+        }
+        verify(executionService, never()).findAll(any(ExecutionFilter.class), any(PageRequest.class));
+        verify(executionService, never()).findSlice(any(ExecutionFilter.class), any(PageRequest.class));
+    }
+
+    @Test
+    void testGetExecutionsPage_ValidatedBeforePrecondition() {
+        // Given: a client whose If-None-Match matches any current representation
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.setIfNoneMatch("*");
+
+        // When / Then: a negative page is a 400, not a 304
+        InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+                () -> getExecutionsPage(-1, 10, requestHeaders));
+        assertEquals("page.number.invalid", exception.getMessageKey());
+
+        // And: so is a sort property the service rejects
+        doThrow(new InvalidRequestException("sort.property.invalid", "secret", "executedAt"))
+                .when(executionService).validateQuery(any(ExecutionFilter.class), any(PageRequest.class));
+        exception = assertThrows(InvalidRequestException.class, () -> executionController.getExecutionsPage(0, 10,
+                null, null, null, null, null, Sort.by("secret"), PageTotal.EXACT, requestHeaders));
+        assertEquals("sort.property.invalid", exception.getMessageKey());
+        verify(executionService, never()).getVersion();
+    }
+
+    @Test
+    void testGetExecutionsByCursor_InvalidCursor() {
+        assertThrows(InvalidRequestException.class, () -> executionController.getExecutionsByCursor("not-a-cursor", 10));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testExportExecutions_StreamsNdjson() throws Exception {
+        // Given: the service emits two executions
+        doAnswer(invocation -> {
+            Consumer<Execution> consumer = invocation.getArgument(0);
+            consumer.accept(execution);
+            consumer.accept(execution);
+            return null;
+        }).when(executionService).forEachExecution(any(Consumer.class));
+
+        // When: the controller's exportExecutions body is written
+        ResponseEntity<StreamingResponseBody> response = executionController.exportExecutions(webRequest);
+        assertNotNull(response.getBody());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        // Then: the response should be NDJSON with one ExecutionList view per line
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        for (String line : lines) {
+            assertTrue(line.startsWith("{"));
+            assertTrue(line.contains("executedAt"));
+            assertFalse(line.contains("serverName"));
+            assertFalse(line.contains("ipAddress"));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testExportExecutions_EmptyBody() throws Exception {
+        // Given: the service emits no executions
+        doAnswer(invocation -> null).when(executionService).forEachExecution(any(Consumer.class));
+
+        // When: the controller's exportExecutions body is written
+        ResponseEntity<StreamingResponseBody> response = executionController.exportExecutions(webRequest);
+        assertNotNull(response.getBody());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        // Then: the body is empty, not a lone line separator
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    void testSaveExecutionsBatch_ReportsPerItemErrors() {
+        // Given: the service stores one execution and rejects the second one
+        Execution invalid = new Execution();
+        List<Execution> executions = List.of(execution, invalid);
+        BatchItemError error = new BatchItemError(1, "executedAt", "batch.field.required", "executedAt");
+        when(executionService.saveBatch(executions))
+                .thenReturn(new BatchIngestionResult(2, 1, 0, 1, 5, 200, List.of(error)));
+        when(messageSource.getMessage(eq("batch.field.required"), any(), eq(Locale.ENGLISH)))
+                .thenReturn("executedAt is required.");
+
+        // When: the controller's saveExecutionsBatch is called
+        ResponseEntity<ApiResponse> response = executionController.saveExecutionsBatch(executions, Locale.ENGLISH);
+
+        // Then: the response should be 200 OK with the result and a localized message per rejected record
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertInstanceOf(BatchIngestionResult.class, response.getBody().getData());
+        BatchIngestionResult result = (BatchIngestionResult) response.getBody().getData();
+        assertEquals(1, result.getInserted());
+        assertEquals(1, result.getRejected());
+        assertEquals(1, result.getErrors().getFirst().getIndex());
+        assertEquals("executedAt is required.", result.getErrors().getFirst().getMessage());
+    }
+
+    private ResponseEntity<ApiResponse> getExecutionsPage(int page, int size, HttpHeaders requestHeaders) {
+        return getExecutionsPage(page, size, PageTotal.EXACT, requestHeaders);
+    }
+
+    private ResponseEntity<ApiResponse> getExecutionsPage(int page, int size, PageTotal total, HttpHeaders requestHeaders) {
+        return executionController.getExecutionsPage(page, size, null, null, null, null, null, DEFAULT_SORT, total,
+                requestHeaders);
+    }
 }
@@ -0,0 +1,63 @@
+package com.quetoquenana.template.controller;
+
+import com.quetoquenana.template.service.ExecutionFeedService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ExecutionFeedControllerTest {
+    @Mock
+    private ExecutionFeedService executionFeedService;
+
+    @InjectMocks
+    private ExecutionFeedController executionFeedController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testStreamExecutions_ResumesAfterLastEventIdHeader() {
+        // Given: a reconnecting client sending Last-Event-ID, plus a stale query parameter
+        UUID lastEventId = UUID.randomUUID();
+        SseEmitter emitter = new SseEmitter();
+        when(executionFeedService.subscribe(lastEventId)).thenReturn(Optional.of(emitter));
+
+        // When: the controller's streamExecutions is called
+        ResponseEntity<SseEmitter> response = executionFeedController.streamExecutions(lastEventId, UUID.randomUUID());
+
+        // Then: the header wins and the subscriber's emitter is returned as an event stream
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.TEXT_EVENT_STREAM, response.getHeaders().getContentType());
+        assertSame(emitter, response.getBody());
+        verify(executionFeedService).subscribe(lastEventId);
+    }
+
+    @Test
+    void testStreamExecutions_ServiceUnavailableAtMaxSubscribers() {
+        // Given: the feed refuses new subscribers
+        when(executionFeedService.subscribe(any())).thenReturn(Optional.empty());
+
+        // When: the controller's streamExecutions is called
+        ResponseEntity<SseEmitter> response = executionFeedController.streamExecutions(null, null);
+
+        // Then: 503 without a stream
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+}
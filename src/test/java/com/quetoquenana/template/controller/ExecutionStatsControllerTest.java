@@ -0,0 +1,69 @@
+package com.quetoquenana.template.controller;
+
+import com.quetoquenana.template.model.ApiResponse;
+import com.quetoquenana.template.model.ExecutionStatBucket;
+import com.quetoquenana.template.service.ExecutionStatsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class ExecutionStatsControllerTest {
+    @Mock
+    private ExecutionStatsService executionStatsService;
+
+    @InjectMocks
+    private ExecutionStatsController executionStatsController;
+
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        from = LocalDateTime.of(2025, 1, 1, 0, 0);
+        to = from.plusDays(1);
+    }
+
+    @Test
+    void testGetExecutionStats_ReturnsBuckets() {
+        // Given: the service returns one daily bucket per environment
+        List<ExecutionStatBucket> buckets = List.of(
+                new ExecutionStatBucket(from, "dev", 3),
+                new ExecutionStatBucket(from, "prd", 1)
+        );
+        when(executionStatsService.getHistogram(from, to, ExecutionStatBucket.Granularity.DAY,
+                ExecutionStatBucket.Dimension.ENVIRONMENT)).thenReturn(buckets);
+
+        // When: the controller's getExecutionStats is called
+        ResponseEntity<ApiResponse> response = executionStatsController.getExecutionStats(
+                from, to, ExecutionStatBucket.Granularity.DAY, ExecutionStatBucket.Dimension.ENVIRONMENT);
+
+        // Then: the response should be 200 OK and contain the buckets in ApiResponse.data
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(buckets, response.getBody().getData());
+    }
+
+    @Test
+    void testBackfillExecutionStats_ReturnsRowsWritten() {
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime to = from.plusMonths(1);
+        when(executionStatsService.backfill(from, to)).thenReturn(42);
+
+        ResponseEntity<ApiResponse> response = executionStatsController.backfillExecutionStats(from, to);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(42, response.getBody().getData());
+    }
+}
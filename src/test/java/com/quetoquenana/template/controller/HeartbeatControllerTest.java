@@ -0,0 +1,50 @@
+package com.quetoquenana.template.controller;
+
+import com.quetoquenana.template.model.ApiResponse;
+import com.quetoquenana.template.model.InstanceHeartbeat;
+import com.quetoquenana.template.service.HeartbeatService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class HeartbeatControllerTest {
+    @Mock
+    private HeartbeatService heartbeatService;
+
+    @InjectMocks
+    private HeartbeatController heartbeatController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testGetLiveInstances_ReturnsLatestHeartbeatPerServer() {
+        // Given: two live instances
+        LocalDateTime now = LocalDateTime.now();
+        List<InstanceHeartbeat> heartbeats = List.of(
+                new InstanceHeartbeat("server1", now, "10.0.0.1", "1.0.0", "prd", 60_000, 1 << 20, 40),
+                new InstanceHeartbeat("server2", now.minusSeconds(5), "10.0.0.2", "1.0.0", "prd", 120_000, 2 << 20, 42)
+        );
+        when(heartbeatService.findLiveInstances()).thenReturn(heartbeats);
+
+        // When: the controller's getLiveInstances is called
+        ResponseEntity<ApiResponse> response = heartbeatController.getLiveInstances();
+
+        // Then: the response should be 200 OK and contain the heartbeats in ApiResponse.data
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(heartbeats, response.getBody().getData());
+    }
+}
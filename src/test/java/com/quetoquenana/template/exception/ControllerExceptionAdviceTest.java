@@ -0,0 +1,110 @@
+package com.quetoquenana.template.exception;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quetoquenana.template.config.I18nConfig;
+import com.quetoquenana.template.model.ApiResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.i18n.AcceptHeaderLocaleResolver;
+
+import java.time.Duration;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ControllerExceptionAdviceTest {
+    private final I18nConfig i18nConfig = new I18nConfig();
+    private final AcceptHeaderLocaleResolver localeResolver = i18nConfig.localeResolver();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MappingJackson2CborHttpMessageConverter cborConverter = new MappingJackson2CborHttpMessageConverter();
+    private final ControllerExceptionAdvice advice = new ControllerExceptionAdvice(i18nConfig.messageSource(),
+            meterRegistry, localeResolver, objectMapper, new MappingJackson2SmileHttpMessageConverter(),
+            cborConverter, new ContentNegotiationManager());
+
+    @Test
+    void testSupportedLocales_OnlyApplicationMessagesFiles() {
+        // Then: English from messages.properties and Spanish from messages_es.properties
+        assertEquals(2, localeResolver.getSupportedLocales().size());
+        assertTrue(localeResolver.getSupportedLocales().contains(Locale.forLanguageTag("es")));
+    }
+
+    @Test
+    void testHandleRecordNotFound_English() throws Exception {
+        // When: a miss is handled for an English JSON request
+        ResponseEntity<Object> response = handle("en-US", MediaType.APPLICATION_JSON_VALUE);
+
+        // Then: 404 with the English message as JSON
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        ApiResponse body = objectMapper.readValue((byte[]) response.getBody(), ApiResponse.class);
+        assertEquals("Record not found.", body.getMessage());
+        assertEquals(404, body.getErrorCode());
+    }
+
+    @Test
+    void testHandleRecordNotFound_SpanishRegionUsesSpanishBody() throws Exception {
+        // When: a miss is handled for a regional Spanish request accepting anything
+        ResponseEntity<Object> response = handle("es-MX", MediaType.ALL_VALUE);
+
+        // Then: the Spanish message is returned, as JSON
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        ApiResponse body = objectMapper.readValue((byte[]) response.getBody(), ApiResponse.class);
+        assertEquals("Recurso no encontrado.", body.getMessage());
+    }
+
+    @Test
+    void testHandleRecordNotFound_NegotiatesPreRenderedFormat() throws Exception {
+        // When: a miss is handled for a request preferring CBOR
+        ResponseEntity<Object> response = handle("en", "application/cbor, application/json;q=0.5");
+
+        // Then: the CBOR body is returned
+        assertEquals(MediaType.APPLICATION_CBOR, response.getHeaders().getContentType());
+        ApiResponse body = cborConverter.getObjectMapper().readValue((byte[]) response.getBody(), ApiResponse.class);
+        assertEquals("Record not found.", body.getMessage());
+    }
+
+    @Test
+    void testHandleRecordNotFound_BodyIsPreRenderedOncePerLocale() {
+        // When: the same miss is handled twice for unsupported languages
+        Object first = handle("fr", MediaType.APPLICATION_JSON_VALUE).getBody();
+        Object second = handle("de", MediaType.APPLICATION_JSON_VALUE).getBody();
+
+        // Then: both get the same serialized default body and every miss is counted
+        assertInstanceOf(byte[].class, first);
+        assertSame(first, second);
+        assertEquals(2, meterRegistry.counter(ControllerExceptionAdvice.NOT_FOUND_METRIC,
+                "exception", RecordNotFoundException.class.getSimpleName()).count());
+    }
+
+    @Test
+    void testHandleConflict_RetryAfterWithLocalizedMessage() {
+        // When: a batch that lost a race with an archive is handled for a Spanish request
+        ResponseEntity<ApiResponse> response = advice.handleConflictException(
+                new ConflictException("batch.archived.concurrently", Duration.ofMillis(1500)),
+                Locale.forLanguageTag("es"));
+
+        // Then: 409 with a whole number of seconds to wait, and the Spanish message
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(409, response.getBody().getErrorCode());
+        assertTrue(response.getBody().getMessage().startsWith("Parte del lote"));
+    }
+
+    private ResponseEntity<Object> handle(String acceptLanguage, String accept) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Accept-Language", acceptLanguage);
+        request.addHeader("Accept", accept);
+        return advice.handleRecordNotFoundException(new RecordNotFoundException(),
+                localeResolver.resolveLocale(request), new ServletWebRequest(request));
+    }
+}
@@ -0,0 +1,164 @@
+package com.quetoquenana.template.load;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Load and latency regression suite for the executions API. The application runs on a random port against an
+ * embedded PostgreSQL with the dev migrations, seeded with {@code load.rows} executions. Every endpoint is driven
+ * with {@link LoadDriver} at each {@code load.concurrency} level and compared with the stored baselines
+ * (see {@link LoadBaselines}); the build fails on any regression or failed request.
+ * <p>
+ * System properties: {@code load.rows} (default 100000), {@code load.concurrency} (default {@code 1,16,64}),
+ * {@code load.warmup} and {@code load.duration} in seconds (default 5 and 15), {@code load.tolerance}
+ * (default 0.25), {@code load.baselines} (baseline file) and {@code load.updateBaselines=true} to store this run
+ * as the new baselines instead of comparing.
+ */
+@Slf4j
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                // Measure the endpoints themselves, not the rate limits or per-request INFO logging
+                "app.admission.enabled=false",
+                "logging.level.com.quetoquenana.template=WARN",
+                "logging.level.com.quetoquenana.template.load=INFO",
+                "app.heartbeats.enabled=false",
+                "app.executions.archive.directory=target/load/archive"
+        })
+class ExecutionLoadIT {
+    private static final int ROWS = Integer.getInteger("load.rows", 100_000);
+    private static final String AUTHORIZATION = "Basic " + Base64.getEncoder()
+            .encodeToString("user:password".getBytes(StandardCharsets.UTF_8));
+
+    private static EmbeddedPostgres postgres;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void embeddedPostgres(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void testExecutionEndpoints_WithinBaselines() throws Exception {
+        // Given: a seeded executions table and the requests of every read endpoint
+        seed();
+        int[] concurrencyLevels = Arrays.stream(System.getProperty("load.concurrency", "1,16,64").split(","))
+                .mapToInt(level -> Integer.parseInt(level.trim()))
+                .toArray();
+        Duration warmup = Duration.ofSeconds(Long.getLong("load.warmup", 5));
+        Duration duration = Duration.ofSeconds(Long.getLong("load.duration", 15));
+        double tolerance = Double.parseDouble(System.getProperty("load.tolerance", "0.25"));
+        Path baselinesFile = Path.of(System.getProperty("load.baselines", "src/test/resources/load/baselines.json"));
+        LoadBaselines baselines = LoadBaselines.read(baselinesFile);
+
+        // When: each endpoint is driven at each concurrency level
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        List<LoadResult> results = new ArrayList<>();
+        for (Map.Entry<String, HttpRequest> endpoint : endpoints().entrySet()) {
+            for (int concurrency : concurrencyLevels) {
+                LoadResult result = LoadDriver.run(endpoint.getKey(), client, endpoint::getValue,
+                        concurrency, warmup, duration);
+                log.info("{}", result);
+                results.add(result);
+            }
+        }
+        LoadBaselines.write(Path.of("target", "load", "execution-load.json"), results);
+        if (Boolean.getBoolean("load.updateBaselines")) {
+            LoadBaselines.write(baselinesFile, results);
+            log.info("Baselines written to {}", baselinesFile.toAbsolutePath());
+            return;
+        }
+
+        // Then: no endpoint is slower than its baseline allows, and no request failed
+        List<String> regressions = new ArrayList<>();
+        for (LoadResult result : results) {
+            regressions.addAll(baselines.regressions(result, tolerance));
+        }
+        assertTrue(regressions.isEmpty(), "Load regressions:\n" + String.join("\n", regressions));
+    }
+
+    private void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO executions (id, executed_at, server_name, ip_address, app_version, environment)
+                SELECT gen_random_uuid(),
+                       now()::timestamp - i * INTERVAL '1 second',
+                       'server-' || (i % 20),
+                       '10.0.0.' || (i % 250),
+                       '1.' || (i % 10),
+                       (ARRAY['dev', 'qa', 'prd'])[i % 3 + 1]
+                FROM generate_series(1, ?) AS i""", ROWS);
+        jdbcTemplate.execute("VACUUM ANALYZE executions");
+    }
+
+    private Map<String, HttpRequest> endpoints() {
+        UUID id = jdbcTemplate.queryForObject("SELECT id FROM executions ORDER BY executed_at DESC LIMIT 1", UUID.class);
+        LocalDateTime to = LocalDateTime.now();
+        String from = to.minusHours(1).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        Map<String, HttpRequest> endpoints = new LinkedHashMap<>();
+        endpoints.put("/api/executions", get("/api/executions"));
+        endpoints.put("/api/executions/{id}", get("/api/executions/" + id));
+        endpoints.put("/api/executions/page", get("/api/executions/page?page=0&size=20"));
+        endpoints.put("/api/executions/page?total=APPROXIMATE", get("/api/executions/page?page=0&size=20&total=APPROXIMATE"));
+        endpoints.put("/api/executions/page?total=NONE", get("/api/executions/page?page=0&size=20&total=NONE"));
+        endpoints.put("/api/executions/page?environment", get("/api/executions/page?page=0&size=20&environment=prd"));
+        endpoints.put("/api/executions/page?executedFrom", get("/api/executions/page?page=0&size=20&executedFrom=" + from));
+        endpoints.put("/api/executions/cursor", get("/api/executions/cursor?size=20"));
+        endpoints.put("/api/executions/export", get("/api/executions/export"));
+        // Stats ranges must start and end on the hour
+        LocalDateTime hour = to.truncatedTo(ChronoUnit.HOURS);
+        endpoints.put("/api/executions/stats", get("/api/executions/stats?from="
+                + hour.minusHours(1).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + "&to="
+                + hour.plusHours(1).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + "&groupBy=ENVIRONMENT"));
+        endpoints.put("/api/instances/live", get("/api/instances/live"));
+        return endpoints;
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/template" + path))
+                .header("Authorization", AUTHORIZATION)
+                .build();
+    }
+}
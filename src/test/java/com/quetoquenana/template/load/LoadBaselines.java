@@ -0,0 +1,90 @@
+package com.quetoquenana.template.load;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Stored reference results of the load suite, one {@link LoadResult} per (name, concurrency), and the comparison
+ * of a new run against them. Baselines depend on the machine: record them on the machine that runs the suite.
+ */
+public final class LoadBaselines {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Map<String, LoadResult> baselines = new LinkedHashMap<>();
+
+    public LoadBaselines(List<LoadResult> results) {
+        results.forEach(result -> baselines.put(key(result), result));
+    }
+
+    public static LoadBaselines read(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return new LoadBaselines(List.of());
+        }
+        return new LoadBaselines(OBJECT_MAPPER.readValue(path.toFile(), new TypeReference<List<LoadResult>>() {
+        }));
+    }
+
+    public static void write(Path path, List<LoadResult> results) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        OBJECT_MAPPER.writeValue(path.toFile(), results);
+    }
+
+    /**
+     * Compare a run with its baseline. Throughput may drop and latencies may grow by {@code tolerance}
+     * (0.25 = 25 %) before the run counts as a regression; any failed request is a regression, and so is a run
+     * without a stored baseline, since it cannot be checked. Record missing baselines with
+     * {@code -Dload.updateBaselines=true}.
+     * @param result new run
+     * @param tolerance allowed relative degradation
+     * @return regressions found, empty when the run is within the bounds of its baseline
+     */
+    public List<String> regressions(LoadResult result, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        if (result.errors() > 0) {
+            regressions.add(describe(result, "errors", result.errors(), 0));
+        }
+        LoadResult baseline = baselines.get(key(result));
+        if (baseline == null) {
+            regressions.add(String.format(Locale.ROOT, "%s c=%d: no baseline, record one with -Dload.updateBaselines=true",
+                    result.name(), result.concurrency()));
+            return regressions;
+        }
+        if (result.throughput() < baseline.throughput() * (1 - tolerance)) {
+            regressions.add(describe(result, "throughput", result.throughput(), baseline.throughput()));
+        }
+        checkLatency(regressions, result, "p50", result.p50Millis(), baseline.p50Millis(), tolerance);
+        checkLatency(regressions, result, "p99", result.p99Millis(), baseline.p99Millis(), tolerance);
+        checkLatency(regressions, result, "p999", result.p999Millis(), baseline.p999Millis(), tolerance);
+        return regressions;
+    }
+
+    public boolean contains(LoadResult result) {
+        return baselines.containsKey(key(result));
+    }
+
+    private static void checkLatency(List<String> regressions, LoadResult result, String metric,
+                                     double actual, double baseline, double tolerance) {
+        if (actual > baseline * (1 + tolerance)) {
+            regressions.add(describe(result, metric + " ms", actual, baseline));
+        }
+    }
+
+    private static String describe(LoadResult result, String metric, double actual, double baseline) {
+        return String.format(Locale.ROOT, "%s c=%d: %s %.3f, baseline %.3f",
+                result.name(), result.concurrency(), metric, actual, baseline);
+    }
+
+    private static String key(LoadResult result) {
+        return result.name() + "@" + result.concurrency();
+    }
+}
@@ -0,0 +1,77 @@
+package com.quetoquenana.template.load;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadBaselinesTest {
+    private final LoadResult baseline = new LoadResult("/api/executions/page", 16, 10_000, 0, 1000, 5, 20, 40);
+
+    @Test
+    void testRegressions_WithinToleranceIsAccepted() {
+        // Given: a run 20 % slower than the baseline
+        LoadResult result = new LoadResult("/api/executions/page", 16, 8_000, 0, 800, 6, 24, 48);
+
+        // When / Then: a 25 % tolerance accepts it
+        assertTrue(new LoadBaselines(List.of(baseline)).regressions(result, 0.25).isEmpty());
+    }
+
+    @Test
+    void testRegressions_ReportsEachDegradedMetric() {
+        // Given: a run with lower throughput and a higher p99 than the baseline allows
+        LoadResult result = new LoadResult("/api/executions/page", 16, 6_000, 0, 600, 5, 30, 40);
+
+        // When: it is compared with the baseline
+        List<String> regressions = new LoadBaselines(List.of(baseline)).regressions(result, 0.25);
+
+        // Then: both metrics are reported
+        assertEquals(2, regressions.size());
+        assertTrue(regressions.get(0).contains("throughput"));
+        assertTrue(regressions.get(1).contains("p99"));
+    }
+
+    @Test
+    void testRegressions_ErrorsFailWithoutBaseline() {
+        // Given: a run with failed requests and no stored baseline
+        LoadResult result = new LoadResult("/api/executions/cursor", 16, 10_000, 3, 1000, 5, 20, 40);
+
+        // When: it is compared
+        List<String> regressions = new LoadBaselines(List.of(baseline)).regressions(result, 0.25);
+
+        // Then: the errors are a regression, and so is the missing baseline
+        assertEquals(2, regressions.size());
+        assertTrue(regressions.get(0).contains("errors"));
+        assertTrue(regressions.get(1).contains("no baseline"));
+    }
+
+    @Test
+    void testRegressions_MissingBaselineIsARegression() {
+        // Given: a clean run at a concurrency level without a stored baseline
+        LoadResult result = new LoadResult("/api/executions/page", 64, 10_000, 0, 1000, 5, 20, 40);
+
+        // When: it is compared
+        List<String> regressions = new LoadBaselines(List.of(baseline)).regressions(result, 0.25);
+
+        // Then: the run cannot pass unchecked
+        assertEquals(1, regressions.size());
+        assertTrue(regressions.getFirst().contains("no baseline"));
+    }
+
+    @Test
+    void testWriteAndRead_RoundTrips(@TempDir Path directory) throws Exception {
+        // Given: results written as baselines
+        Path file = directory.resolve("baselines.json");
+        LoadBaselines.write(file, List.of(baseline));
+
+        // When: they are read back
+        LoadBaselines baselines = LoadBaselines.read(file);
+
+        // Then: the same result is found and matches itself
+        assertTrue(baselines.contains(baseline));
+        assertTrue(baselines.regressions(baseline, 0).isEmpty());
+    }
+}
@@ -0,0 +1,96 @@
+package com.quetoquenana.template.load;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Closed-loop HTTP load generator: {@code concurrency} virtual-thread clients send requests back to back
+ * for the warmup plus measurement period; only responses completed during measurement are counted.
+ * Any response other than 2xx (e.g. a 429 from admission control) is an error and has no latency sample.
+ */
+public final class LoadDriver {
+
+    private LoadDriver() {
+    }
+
+    public static LoadResult run(String name, HttpClient client, Supplier<HttpRequest> requests,
+                                 int concurrency, Duration warmup, Duration measurement) throws Exception {
+        long measureStart = System.nanoTime() + warmup.toNanos();
+        long measureEnd = measureStart + measurement.toNanos();
+
+        List<Future<WorkerResult>> workers = new ArrayList<>(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(executor.submit(() -> runWorker(client, requests, measureStart, measureEnd)));
+            }
+        }
+
+        long[] latencies = new long[0];
+        long errors = 0;
+        for (Future<WorkerResult> worker : workers) {
+            WorkerResult result = worker.get();
+            latencies = concat(latencies, result.latencies(), result.count());
+            errors += result.errors();
+        }
+        Arrays.sort(latencies);
+        double seconds = measurement.toNanos() / 1e9;
+        return new LoadResult(name, concurrency, latencies.length, errors, latencies.length / seconds,
+                percentileMillis(latencies, 0.50), percentileMillis(latencies, 0.99), percentileMillis(latencies, 0.999));
+    }
+
+    private static WorkerResult runWorker(HttpClient client, Supplier<HttpRequest> requests,
+                                          long measureStart, long measureEnd) {
+        long[] latencies = new long[1024];
+        int count = 0;
+        long errors = 0;
+        long now;
+        while ((now = System.nanoTime()) < measureEnd) {
+            boolean success;
+            try {
+                HttpResponse<Void> response = client.send(requests.get(), HttpResponse.BodyHandlers.discarding());
+                success = response.statusCode() / 100 == 2;
+            } catch (Exception e) {
+                success = false;
+            }
+            long end = System.nanoTime();
+            if (now < measureStart || end > measureEnd) {
+                continue;
+            }
+            if (!success) {
+                errors++;
+                continue;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = end - now;
+        }
+        return new WorkerResult(latencies, count, errors);
+    }
+
+    private static long[] concat(long[] all, long[] part, int partCount) {
+        long[] result = Arrays.copyOf(all, all.length + partCount);
+        System.arraycopy(part, 0, result, all.length, partCount);
+        return result;
+    }
+
+    private static double percentileMillis(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sortedNanos.length - 1, Math.ceil(percentile * sortedNanos.length) - 1);
+        return sortedNanos[Math.max(index, 0)] / 1e6;
+    }
+
+    private record WorkerResult(long[] latencies, int count, long errors) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.quetoquenana.template.load;
+
+import java.util.Locale;
+
+/**
+ * Throughput and latency percentiles of one closed-loop load run.
+ */
+public record LoadResult(String name, int concurrency, long requests, long errors, double throughput,
+                         double p50Millis, double p99Millis, double p999Millis) {
+
+    public String toJson() {
+        return String.format(Locale.ROOT,
+                "{\"name\":\"%s\",\"concurrency\":%d,\"requests\":%d,\"errors\":%d,\"throughput\":%.1f,"
+                        + "\"p50Millis\":%.3f,\"p99Millis\":%.3f,\"p999Millis\":%.3f}",
+                name, concurrency, requests, errors, throughput, p50Millis, p99Millis, p999Millis);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%-40s c=%-5d req=%-9d err=%-6d %10.1f req/s  p50=%8.3f ms  p99=%8.3f ms  p999=%8.3f ms",
+                name, concurrency, requests, errors, throughput, p50Millis, p99Millis, p999Millis);
+    }
+}
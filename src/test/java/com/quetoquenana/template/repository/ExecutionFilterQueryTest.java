@@ -0,0 +1,91 @@
+package com.quetoquenana.template.repository;
+
+import com.quetoquenana.template.model.ExecutionFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutionFilterQueryTest {
+
+    @Test
+    void testPage_OnlySetFiltersBecomePredicates() {
+        // Given: an environment and an executedAt range
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 2, 1, 0, 0);
+        ExecutionFilter filter = new ExecutionFilter("prd", null, null, from, to);
+
+        // When: the page query is built
+        ExecutionFilterQuery query = ExecutionFilterQuery.page(filter, PageRequest.of(2, 20));
+
+        // Then: one predicate per set filter, followed by limit and offset
+        assertEquals("SELECT id, executed_at, app_version, environment FROM executions"
+                + " WHERE environment = ? AND executed_at >= ? AND executed_at < ? LIMIT ? OFFSET ?", query.sql());
+        assertArrayEquals(new Object[]{"prd", from, to, 20, 40L}, query.args());
+    }
+
+    @Test
+    void testPage_SortMapsToColumnsWithIdTieBreaker() {
+        // Given: a sort on two properties
+        Sort sort = Sort.by(Sort.Order.asc("appVersion"), Sort.Order.desc("executedAt"));
+
+        // When: the page query is built without filters
+        ExecutionFilterQuery query = ExecutionFilterQuery.page(new ExecutionFilter(), PageRequest.of(0, 10, sort));
+
+        // Then: properties are translated to columns and id follows the last direction
+        assertEquals("SELECT id, executed_at, app_version, environment FROM executions"
+                + " ORDER BY app_version ASC, executed_at DESC, id DESC LIMIT ? OFFSET ?", query.sql());
+    }
+
+    @Test
+    void testPage_UnknownSortPropertyIsRejected() {
+        // Given: a sort on a property that is not whitelisted
+        PageRequest pageable = PageRequest.of(0, 10, Sort.by("ipAddress; DROP TABLE executions"));
+
+        // When / Then: the query is not built
+        assertThrows(IllegalArgumentException.class, () -> ExecutionFilterQuery.page(new ExecutionFilter(), pageable));
+    }
+
+    @Test
+    void testCount_UsesSameFilters() {
+        // Given: a server filter
+        ExecutionFilter filter = new ExecutionFilter(null, null, "server1", null, null);
+
+        // When: the count query is built
+        ExecutionFilterQuery query = ExecutionFilterQuery.count(filter);
+
+        // Then: the count has the same predicate and no paging
+        assertEquals("SELECT count(*) FROM executions WHERE server_name = ?", query.sql());
+        assertArrayEquals(new Object[]{"server1"}, query.args());
+    }
+
+    @Test
+    void testSlice_ReadsOneExtraRowAtSameOffset() {
+        // Given: the third page of 20 for one environment
+        ExecutionFilter filter = new ExecutionFilter("prd", null, null, null, null);
+
+        // When: the slice query is built
+        ExecutionFilterQuery query = ExecutionFilterQuery.slice(filter, PageRequest.of(2, 20));
+
+        // Then: the limit is one row more than the page size and the offset is unchanged
+        assertEquals("SELECT id, executed_at, app_version, environment FROM executions"
+                + " WHERE environment = ? LIMIT ? OFFSET ?", query.sql());
+        assertArrayEquals(new Object[]{"prd", 21, 40L}, query.args());
+    }
+
+    @Test
+    void testEstimate_ExplainsSameFilters() {
+        // Given: an app version filter
+        ExecutionFilter filter = new ExecutionFilter(null, "1.0.0", null, null, null);
+
+        // When: the estimate query is built
+        ExecutionFilterQuery query = ExecutionFilterQuery.estimate(filter);
+
+        // Then: the filtered select is only planned, not executed
+        assertEquals("EXPLAIN (FORMAT JSON) SELECT 1 FROM executions WHERE app_version = ?", query.sql());
+        assertArrayEquals(new Object[]{"1.0.0"}, query.args());
+    }
+}
@@ -0,0 +1,164 @@
+package com.quetoquenana.template.repository;
+
+import com.quetoquenana.template.model.Execution;
+import com.quetoquenana.template.model.ExecutionArchiveRange;
+import com.quetoquenana.template.model.ExecutionSetVersion;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.InvalidDataAccessResourceUsageException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Partition DDL, the batch insert, the collection version and the archived ranges against an embedded PostgreSQL with the dev migrations.
+ */
+class ExecutionPartitionRepositoryIT {
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+
+    private ExecutionPartitionRepository partitionRepository;
+    private ExecutionRepositoryCustomImpl executionRepository;
+
+    @BeforeAll
+    static void startPostgres() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        Flyway.configure()
+                .dataSource(postgres.getPostgresDatabase())
+                .locations("classpath:db/migration/dev")
+                .load()
+                .migrate();
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE executions");
+        partitionRepository = new ExecutionPartitionRepository(jdbcTemplate);
+        executionRepository = new ExecutionRepositoryCustomImpl(jdbcTemplate, 1000);
+    }
+
+    @Test
+    void testBatchInsert_SameIdAndExecutedAt_IsDuplicate() {
+        // Given: a stored execution
+        UUID id = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        executionRepository.batchInsert(List.of(execution(id, now)));
+
+        // When: the same record is sent again
+        List<Execution> inserted = executionRepository.batchInsert(List.of(execution(id, now)));
+
+        // Then: it is reported as a duplicate and only the first row is stored
+        assertTrue(inserted.isEmpty());
+        assertEquals(1, count("SELECT count(*) FROM executions WHERE id = ?", id));
+    }
+
+    @Test
+    void testFindVersion_InsertBetweenFirstAndLast_ChangesVersion() {
+        // Given: executions at both ends of a range
+        LocalDateTime now = LocalDateTime.now();
+        executionRepository.batchInsert(List.of(execution(UUID.randomUUID(), now.minusDays(2)),
+                execution(UUID.randomUUID(), now)));
+        ExecutionSetVersion before = executionRepository.findVersion();
+
+        // When: an execution is inserted between them
+        executionRepository.batchInsert(List.of(execution(UUID.randomUUID(), now.minusDays(1))));
+
+        // Then: the bounds stay, and the change counter moves the version
+        ExecutionSetVersion after = executionRepository.findVersion();
+        assertEquals(before.getFirstExecutedAt(), after.getFirstExecutedAt());
+        assertEquals(before.getLastExecutedAt(), after.getLastExecutedAt());
+        assertEquals(before.getChanges() + 1, after.getChanges());
+        assertNotEquals(before.toETag(), after.toETag());
+    }
+
+    @Test
+    void testArchiveRanges_OverlapRejectedAndReleasedOnlyUntilComplete() {
+        // Given: a completed range and a range still being written
+        jdbcTemplate.execute("TRUNCATE execution_archives");
+        ExecutionArchiveRepository archiveRepository = new ExecutionArchiveRepository(jdbcTemplate);
+        LocalDateTime january = LocalDateTime.of(2025, 1, 1, 0, 0);
+        archiveRepository.claim("january", january, january.plusMonths(1));
+        archiveRepository.complete("january", 10);
+        archiveRepository.claim("february", january.plusMonths(1), january.plusMonths(2));
+
+        // Then: an overlapping claim is refused by the database, an adjacent range is not overlapping
+        assertThrows(DataIntegrityViolationException.class,
+                () -> archiveRepository.claim("overlap", january.plusDays(10), january.plusDays(40)));
+        assertEquals(List.of("january", "february"), archiveRepository.findOverlapping(january, january.plusMonths(3))
+                .stream().map(ExecutionArchiveRange::getName).toList());
+        assertTrue(archiveRepository.findOverlapping(january.plusMonths(2), january.plusMonths(3)).isEmpty());
+        // And: only the range being written is released
+        archiveRepository.release("january");
+        assertEquals(1, archiveRepository.releaseIncomplete());
+        assertEquals(List.of("january"), archiveRepository.findOverlapping(january, january.plusMonths(3))
+                .stream().map(ExecutionArchiveRange::getName).toList());
+    }
+
+    @Test
+    void testCreateMonthlyPartition_MovesRowsOutOfDefaultPartition() {
+        // Given: a row far past the pre-made partitions, stored in executions_default
+        YearMonth month = YearMonth.now().plusYears(2);
+        UUID id = UUID.randomUUID();
+        executionRepository.batchInsert(List.of(execution(id, month.atDay(15).atStartOfDay())));
+        assertEquals(List.of(month), partitionRepository.findDefaultPartitionMonths());
+
+        // When
+        int moved = partitionRepository.createMonthlyPartition(month);
+
+        // Then: the month has its partition, holding the row, and the default partition is empty
+        assertEquals(1, moved);
+        assertTrue(partitionRepository.findPartitionNames().contains(ExecutionPartitionRepository.partitionName(month)));
+        assertEquals(1, count("SELECT count(*) FROM " + ExecutionPartitionRepository.partitionName(month)
+                + " WHERE id = ?", id));
+        assertTrue(partitionRepository.findDefaultPartitionMonths().isEmpty());
+        // And: creating it again is a no-op
+        assertEquals(0, partitionRepository.createMonthlyPartition(month));
+    }
+
+    @Test
+    void testCreateMonthlyPartition_RejectsDetachedTableOfTheMonth() {
+        // Given: the month's partition was detached, so its table still exists outside executions
+        YearMonth month = YearMonth.now().plusYears(3);
+        String partitionName = ExecutionPartitionRepository.partitionName(month);
+        partitionRepository.createMonthlyPartition(month);
+        partitionRepository.detachPartition(partitionName);
+        try {
+            // When / Then: it is reported instead of being skipped as existing, and listed as detached
+            assertThrows(InvalidDataAccessResourceUsageException.class,
+                    () -> partitionRepository.createMonthlyPartition(month));
+            assertFalse(partitionRepository.findPartitionNames().contains(partitionName));
+            assertEquals(List.of(partitionName), partitionRepository.findDetachedPartitionNames());
+        } finally {
+            partitionRepository.dropPartition(partitionName);
+        }
+    }
+
+    private static long count(String sql, UUID id) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class, id);
+        assertNotNull(count);
+        return count;
+    }
+
+    private static Execution execution(UUID id, LocalDateTime executedAt) {
+        return new Execution(id, executedAt, "server1", "127.0.0.1", "1.0.0", "dev");
+    }
+}
@@ -0,0 +1,330 @@
+package com.quetoquenana.template.service;
+
+import com.quetoquenana.template.exception.InvalidRequestException;
+import com.quetoquenana.template.model.Execution;
+import com.quetoquenana.template.model.ExecutionArchive;
+import com.quetoquenana.template.model.ExecutionArchiveRange;
+import com.quetoquenana.template.repository.ExecutionArchiveRepository;
+import com.quetoquenana.template.repository.ExecutionPartitionRepository;
+import com.quetoquenana.template.repository.ExecutionRepository;
+import com.quetoquenana.template.util.UuidV7;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ExecutionArchiveServiceImplTest {
+    private static final LocalDateTime JANUARY = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime FEBRUARY = JANUARY.plusMonths(1);
+    private static final LocalDateTime MARCH = JANUARY.plusMonths(2);
+    private static final LocalDateTime APRIL = JANUARY.plusMonths(3);
+
+    @TempDir
+    private Path temporaryDirectory;
+
+    @Mock
+    private ExecutionRepository executionRepository;
+
+    @Mock
+    private ExecutionPartitionRepository executionPartitionRepository;
+
+    // The execution_archives table, shared with the other instances
+    private final InMemoryArchiveRepository executionArchiveRepository = spy(new InMemoryArchiveRepository());
+
+    private Path directory;
+    private ExecutionArchiveServiceImpl executionArchiveService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        directory = temporaryDirectory.resolve("archive");
+        executionArchiveService = new ExecutionArchiveServiceImpl(executionRepository, executionPartitionRepository,
+                executionArchiveRepository, directory, 10, 6, true, Duration.ZERO);
+        executionArchiveService.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executionArchiveService.destroy();
+    }
+
+    @Test
+    void testAfterPropertiesSet_DirectoryCreatedByFirstArchive() {
+        // Given: a start without an archive directory, which is not created
+        assertFalse(Files.exists(directory));
+        assertTrue(executionArchiveService.findAll().isEmpty());
+
+        // When
+        executionArchiveService.createArchive(JANUARY, FEBRUARY);
+
+        // Then
+        assertTrue(Files.isDirectory(directory));
+        assertEquals(1, executionArchiveService.findAll().size());
+    }
+
+    @Test
+    void testAfterPropertiesSet_OwnerReleasesRangesNeverWritten() throws Exception {
+        // Given: a range left claimed by an owner that stopped while writing it, and a completed one
+        executionArchiveRepository.claim("interrupted", JANUARY, FEBRUARY);
+        executionArchiveRepository.claim("written", FEBRUARY, MARCH);
+        executionArchiveRepository.complete("written", 5);
+
+        // When: the owner starts
+        executionArchiveService.afterPropertiesSet();
+
+        // Then: only the completed range is still recorded
+        assertEquals(List.of("written"), executionArchiveService.findArchivedRanges(JANUARY, APRIL).stream()
+                .map(ExecutionArchiveRange::getName).toList());
+    }
+
+    @Test
+    void testCreateArchive_RejectsRangeRecordedByAnotherInstance() {
+        // Given: a range recorded in the shared table, with no file in this instance's directory
+        executionArchiveRepository.claim("elsewhere", JANUARY, FEBRUARY);
+        executionArchiveRepository.complete("elsewhere", 5);
+
+        // When / Then
+        InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+                () -> executionArchiveService.createArchive(JANUARY.plusDays(10), MARCH));
+        assertEquals("archive.range.overlaps", exception.getMessageKey());
+        verifyNoInteractions(executionRepository);
+    }
+
+    @Test
+    void testCreateArchive_RejectsRangeEndingInTheFuture() {
+        // Given: a range that includes now
+        LocalDateTime now = LocalDateTime.now();
+
+        // When / Then: executions may still be saved into it, so it cannot be archived yet
+        InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+                () -> executionArchiveService.createArchive(now.minusDays(1), now.plusDays(1)));
+        assertEquals("archive.range.open", exception.getMessageKey());
+        verifyNoInteractions(executionRepository);
+    }
+
+    @Test
+    void testIsArchived_CoversRangeWithAdjacentArchives() {
+        // Given: January to March in two adjacent archives, then a gap, then March to April
+        executionArchiveService.createArchive(JANUARY, FEBRUARY.plusDays(10));
+        executionArchiveService.createArchive(FEBRUARY.plusDays(10), MARCH);
+        executionArchiveService.createArchive(MARCH.plusDays(1), APRIL);
+
+        // Then: a range is archived only when no instant of it is missing
+        assertTrue(executionArchiveService.isArchived(FEBRUARY, MARCH));
+        assertTrue(executionArchiveService.isArchived(JANUARY, MARCH));
+        assertFalse(executionArchiveService.isArchived(FEBRUARY, APRIL));
+        assertFalse(executionArchiveService.isArchived(JANUARY.minusMonths(1), FEBRUARY));
+        // And: ranges end before, not at, their rangeTo
+        assertTrue(executionArchiveService.findArchivedRanges(MARCH, MARCH.plusDays(1)).isEmpty());
+    }
+
+    @Test
+    void testCreateArchive_RangeRejectedWhileWritten() {
+        // Given: the partitions of January to March, of which the archive covers January and February
+        when(executionPartitionRepository.findPartitionNames())
+                .thenReturn(List.of("executions_202501", "executions_202502", "executions_202503"));
+        boolean[] archivedDuringScan = new boolean[2];
+        doAnswer(invocation -> {
+            archivedDuringScan[0] = !executionArchiveService.findArchivedRanges(FEBRUARY, MARCH).isEmpty();
+            archivedDuringScan[1] = executionArchiveService.isArchived(JANUARY, FEBRUARY);
+            return null;
+        }).when(executionRepository).forEachInRange(eq(JANUARY), eq(MARCH), any());
+
+        // When
+        executionArchiveService.createArchive(JANUARY, MARCH);
+
+        // Then: the range is claimed in the shared table, so saveBatch rejects it on every instance during the scan
+        assertTrue(archivedDuringScan[0]);
+        // And: retention does not count it as archived until the file is written
+        assertFalse(archivedDuringScan[1]);
+        assertTrue(executionArchiveService.isArchived(JANUARY, MARCH));
+        // And: the claim precedes the partition locks, which precede the scan
+        InOrder order = inOrder(executionArchiveRepository, executionPartitionRepository, executionRepository);
+        order.verify(executionArchiveRepository).claim(any(), eq(JANUARY), eq(MARCH));
+        order.verify(executionPartitionRepository)
+                .lockPartitions(List.of("executions_202501", "executions_202502"));
+        order.verify(executionRepository).forEachInRange(eq(JANUARY), eq(MARCH), any());
+        order.verify(executionArchiveRepository).complete(any(), eq(0L));
+    }
+
+    @Test
+    void testCreateArchive_FailedArchiveReleasesRange() {
+        // Given: a scan that fails
+        doThrow(new IllegalStateException("connection lost"))
+                .when(executionRepository).forEachInRange(eq(JANUARY), eq(FEBRUARY), any());
+
+        // When
+        assertThrows(IllegalStateException.class, () -> executionArchiveService.createArchive(JANUARY, FEBRUARY));
+
+        // Then: executions of the range are accepted again
+        assertTrue(executionArchiveService.findArchivedRanges(JANUARY, FEBRUARY).isEmpty());
+        assertTrue(executionArchiveService.findAll().isEmpty());
+    }
+
+    @Test
+    void testFindAll_OtherInstanceMapsArchiveRecordedByOwner() throws Exception {
+        // Given: an instance sharing the directory and execution_archives, started before the owner archived January,
+        // and a recorded archive whose file is not in the directory
+        ExecutionArchiveServiceImpl other = new ExecutionArchiveServiceImpl(executionRepository,
+                executionPartitionRepository, executionArchiveRepository, directory, 10, 6, false, Duration.ZERO);
+        other.afterPropertiesSet();
+        executionArchiveRepository.claim("elsewhere", MARCH, APRIL);
+        executionArchiveRepository.complete("elsewhere", 5);
+        List<Execution> january = List.of(execution(JANUARY.plusDays(1)), execution(JANUARY.plusDays(2)));
+        stored(JANUARY, FEBRUARY, january);
+
+        try {
+            // When: the owner writes the archive
+            executionArchiveService.createArchive(JANUARY, FEBRUARY);
+
+            // Then: the other instance maps it on its next read, and skips the file it cannot open
+            assertEquals(List.of(JANUARY), other.findAll().stream().map(ExecutionArchive::getRangeFrom).toList());
+            assertEquals(january.getLast().getId(), other.findById(january.getLast().getId()).orElseThrow().getId());
+        } finally {
+            other.destroy();
+        }
+    }
+
+    @Test
+    void testFindRemovedRanges_OnlyMonthsWithoutPartition() {
+        // Given: an archive of January to March 10, of which February still has its partition
+        executionArchiveService.createArchive(JANUARY, MARCH.plusDays(10));
+        when(executionPartitionRepository.findPartitionNames()).thenReturn(List.of("executions_202502"));
+
+        // When
+        List<ExecutionArchiveRange> removed = executionArchiveService.findRemovedRanges(null, null);
+        List<ExecutionArchiveRange> clipped = executionArchiveService.findRemovedRanges(JANUARY.plusDays(5), MARCH);
+
+        // Then: only the parts of the archive whose rows left the table, within the requested range
+        assertEquals(List.of(JANUARY, MARCH), removed.stream().map(ExecutionArchiveRange::getRangeFrom).toList());
+        assertEquals(List.of(FEBRUARY, MARCH.plusDays(10)),
+                removed.stream().map(ExecutionArchiveRange::getRangeTo).toList());
+        assertEquals(List.of(new ExecutionArchiveRange(removed.getFirst().getName(), JANUARY.plusDays(5), FEBRUARY,
+                true)), clipped);
+    }
+
+    @Test
+    void testScan_StopsWhenConsumerReturnsFalse() {
+        // Given: an archive of three executions
+        stored(JANUARY, FEBRUARY, List.of(execution(JANUARY.plusDays(1)), execution(JANUARY.plusDays(2)),
+                execution(JANUARY.plusDays(3))));
+        executionArchiveService.createArchive(JANUARY, FEBRUARY);
+
+        // When: the consumer wants a single execution
+        List<Execution> scanned = new ArrayList<>();
+        executionArchiveService.scan(null, null, false, scanned::add);
+        List<Execution> first = new ArrayList<>();
+        executionArchiveService.scan(null, null, false, execution -> {
+            first.add(execution);
+            return false;
+        });
+
+        // Then
+        assertEquals(3, scanned.size());
+        assertEquals(List.of(scanned.getFirst().getId()), first.stream().map(Execution::getId).toList());
+    }
+
+    @Test
+    void testCreateArchive_RejectedWhenNotOwner() {
+        // Given: an instance that does not own the archives
+        ExecutionArchiveServiceImpl service = new ExecutionArchiveServiceImpl(executionRepository,
+                executionPartitionRepository, executionArchiveRepository, directory, 10, 6, false, Duration.ZERO);
+
+        // When / Then: it never writes one
+        InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+                () -> service.createArchive(JANUARY, FEBRUARY));
+        assertEquals("archive.not.owner", exception.getMessageKey());
+        verifyNoInteractions(executionRepository, executionPartitionRepository);
+        verify(executionArchiveRepository, never()).claim(any(), any(), any());
+        assertFalse(Files.exists(directory));
+    }
+
+    private void stored(LocalDateTime from, LocalDateTime to, List<Execution> executions) {
+        doAnswer(invocation -> {
+            Consumer<Execution> consumer = invocation.getArgument(2);
+            executions.forEach(consumer);
+            return null;
+        }).when(executionRepository).forEachInRange(eq(from), eq(to), any());
+    }
+
+    private static Execution execution(LocalDateTime executedAt) {
+        return new Execution(UuidV7.next(), executedAt, "server1", "127.0.0.1", "1.0.0", "prd");
+    }
+
+    /**
+     * execution_archives kept in memory, with the same overlap rule as its exclusion constraint.
+     */
+    static class InMemoryArchiveRepository extends ExecutionArchiveRepository {
+        private final List<ExecutionArchiveRange> ranges = new ArrayList<>();
+
+        InMemoryArchiveRepository() {
+            super(null);
+        }
+
+        @Override
+        public void claim(String name, LocalDateTime from, LocalDateTime to) {
+            if (!findOverlapping(from, to).isEmpty()) {
+                throw new DataIntegrityViolationException("execution_archives_no_overlap");
+            }
+            ranges.add(new ExecutionArchiveRange(name, from, to, false));
+        }
+
+        @Override
+        public void complete(String name, long executions) {
+            ranges.stream().filter(range -> range.getName().equals(name)).forEach(range -> range.setCompleted(true));
+        }
+
+        @Override
+        public void release(String name) {
+            ranges.removeIf(range -> range.getName().equals(name) && !range.isCompleted());
+        }
+
+        @Override
+        public int releaseIncomplete() {
+            int size = ranges.size();
+            ranges.removeIf(range -> !range.isCompleted());
+            return size - ranges.size();
+        }
+
+        @Override
+        public List<ExecutionArchiveRange> findCompleted() {
+            return ranges.stream()
+                    .filter(ExecutionArchiveRange::isCompleted)
+                    .sorted(Comparator.comparing(ExecutionArchiveRange::getRangeFrom))
+                    .toList();
+        }
+
+        @Override
+        public List<ExecutionArchiveRange> findOverlapping(LocalDateTime from, LocalDateTime to) {
+            return ranges.stream()
+                    .filter(range -> range.getRangeFrom().isBefore(to) && from.isBefore(range.getRangeTo()))
+                    .sorted(Comparator.comparing(ExecutionArchiveRange::getRangeFrom))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.quetoquenana.template.service;
+
+import com.quetoquenana.template.model.Execution;
+import com.quetoquenana.template.util.UuidV7;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ExecutionFeedServiceImplTest {
+    private static final Pattern EVENT_ID = Pattern.compile("(?m)^id:([0-9a-f-]{36})$");
+    private static final Pattern EVENT_NAME = Pattern.compile("(?m)^event:(\\S+)$");
+
+    @Mock
+    private ExecutionService executionService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ExecutionFeedServiceImpl feedService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (feedService != null) {
+            feedService.destroy();
+        }
+    }
+
+    @Test
+    void testPublish_FansOutToEverySubscriber() throws Exception {
+        // Given: three live subscribers
+        feedService = feedService(4, 10, 100);
+        List<RecordingEmitter> emitters = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            emitters.add(subscribe(null));
+        }
+        Execution first = execution();
+        Execution second = execution();
+
+        // When
+        feedService.publish(List.of(first, second));
+
+        // Then: each subscriber gets both executions, in order
+        for (RecordingEmitter emitter : emitters) {
+            await(() -> emitter.ids.size() == 2);
+            assertEquals(List.of(first.getId(), second.getId()), emitter.ids);
+        }
+        assertEquals(3, feedService.subscriberCount());
+        assertEquals(2, meterRegistry.counter("executions.stream.events").count());
+    }
+
+    @Test
+    void testPublish_EvictsSubscriberWithFullQueue() throws Exception {
+        // Given: a queue of one batch, a subscriber stuck writing its first batch and a healthy one
+        feedService = feedService(1, 10, 100);
+        RecordingEmitter slow = subscribe(null);
+        slow.gate = new CountDownLatch(1);
+        RecordingEmitter healthy = subscribe(null);
+        feedService.publish(List.of(execution()));
+        assertTrue(slow.sending.await(5, TimeUnit.SECONDS));
+        await(() -> healthy.ids.size() == 1);
+        feedService.publish(List.of(execution()));
+        await(() -> healthy.ids.size() == 2);
+
+        // When: another batch arrives while the slow subscriber's queue is full
+        feedService.publish(List.of(execution()));
+
+        // Then: only the slow subscriber is disconnected
+        await(() -> healthy.ids.size() == 3);
+        await(() -> slow.completed);
+        assertEquals(1, feedService.subscriberCount());
+        assertEquals(1, meterRegistry.counter("executions.stream.evictions").count());
+        assertTrue(slow.ids.isEmpty());
+    }
+
+    @Test
+    void testSubscribe_ResumesFromRecentEvents() throws Exception {
+        // Given: three executions published before the client reconnects
+        feedService = feedService(4, 10, 100);
+        Execution first = execution();
+        Execution second = execution();
+        Execution third = execution();
+        feedService.publish(List.of(first, second, third));
+
+        // When: it resumes after the first one
+        RecordingEmitter emitter = subscribe(first.getId());
+
+        // Then: the later ones are replayed from memory, without reading the table
+        await(() -> emitter.ids.size() == 2);
+        assertEquals(List.of(second.getId(), third.getId()), emitter.ids);
+        verifyNoInteractions(executionService);
+    }
+
+    @Test
+    void testSubscribe_ResumesFromTablePageByPage() throws Exception {
+        // Given: an id no longer in memory, followed by three stored executions, two per page
+        feedService = feedService(4, 2, 100);
+        Execution last = execution();
+        Execution first = execution();
+        Execution second = execution();
+        Execution third = execution();
+        when(executionService.findById(last.getId())).thenReturn(Optional.of(last));
+        when(executionService.findAllSavedAfter(any(UUID.class), eq(2)))
+                .thenReturn(slice(List.of(first, second), true), slice(List.of(third), false));
+
+        // When
+        RecordingEmitter emitter = subscribe(last.getId());
+
+        // Then: every page is replayed in id order, each after the last id of the previous one
+        await(() -> emitter.ids.size() == 3);
+        assertEquals(List.of(first.getId(), second.getId(), third.getId()), emitter.ids);
+        ArgumentCaptor<UUID> after = ArgumentCaptor.forClass(UUID.class);
+        verify(executionService, times(2)).findAllSavedAfter(after.capture(), eq(2));
+        assertEquals(List.of(last.getId(), second.getId()), after.getAllValues());
+        assertTrue(emitter.names.stream().noneMatch(ExecutionFeedServiceImpl.RESYNC_EVENT_NAME::equals));
+        // And: the stream is live once caught up
+        Execution live = execution();
+        feedService.publish(List.of(live));
+        await(() -> emitter.ids.size() == 4);
+        assertEquals(live.getId(), emitter.ids.getLast());
+    }
+
+    @Test
+    void testSubscribe_TableReplayAndQueueSendEachExecutionOnce() throws Exception {
+        // Given: an execution saved while the table is being replayed, so it is both in the replay and queued
+        ExecutionFeedServiceImpl feed = feedService(4, 10, 100);
+        feedService = feed;
+        Execution last = execution();
+        Execution stored = execution();
+        Execution concurrent = execution();
+        when(executionService.findById(last.getId())).thenReturn(Optional.of(last));
+        when(executionService.findAllSavedAfter(any(UUID.class), anyInt())).thenAnswer(invocation -> {
+            feed.publish(List.of(concurrent));
+            return slice(List.of(stored, concurrent), false);
+        });
+
+        // When: the client resumes, and a later execution is published
+        RecordingEmitter emitter = subscribe(last.getId());
+        await(() -> emitter.ids.size() == 2);
+        Execution later = execution();
+        feed.publish(List.of(later));
+
+        // Then: the concurrent execution is sent once
+        await(() -> emitter.ids.contains(later.getId()));
+        assertEquals(List.of(stored.getId(), concurrent.getId(), later.getId()), emitter.ids);
+    }
+
+    @Test
+    void testSubscribe_EndsStreamAfterMaxReplay() throws Exception {
+        // Given: more stored executions after the id than max-replay
+        feedService = feedService(4, 2, 2);
+        Execution last = execution();
+        Execution first = execution();
+        Execution second = execution();
+        when(executionService.findById(last.getId())).thenReturn(Optional.of(last));
+        when(executionService.findAllSavedAfter(any(UUID.class), eq(2)))
+                .thenReturn(slice(List.of(first, second), true));
+
+        // When
+        RecordingEmitter emitter = subscribe(last.getId());
+
+        // Then: max-replay executions are sent and the stream ends, for the client to resume after the last one
+        await(() -> emitter.completed);
+        assertEquals(List.of(first.getId(), second.getId()), emitter.ids);
+        assertEquals(0, feedService.subscriberCount());
+        verify(executionService, times(1)).findAllSavedAfter(any(UUID.class), anyInt());
+    }
+
+    @Test
+    void testSubscribe_UnknownIdAsksForResyncThenGoesLive() throws Exception {
+        // Given: an id that is neither in memory nor stored
+        feedService = feedService(4, 10, 100);
+        UUID unknown = UuidV7.next();
+        when(executionService.findById(unknown)).thenReturn(Optional.empty());
+
+        // When
+        RecordingEmitter emitter = subscribe(unknown);
+
+        // Then: the client is told to resync, nothing is replayed, and live events follow
+        await(() -> emitter.names.contains(ExecutionFeedServiceImpl.RESYNC_EVENT_NAME));
+        Execution live = execution();
+        feedService.publish(List.of(live));
+        await(() -> emitter.ids.size() == 1);
+        assertEquals(List.of(live.getId()), emitter.ids);
+        verify(executionService, never()).findAllSavedAfter(any(UUID.class), anyInt());
+    }
+
+    @Test
+    void testSubscribe_RandomIdAsksForResyncWithoutLookup() throws Exception {
+        // Given: an id that was never assigned by this service, so it has no position in the saving order
+        feedService = feedService(4, 10, 100);
+
+        // When
+        RecordingEmitter emitter = subscribe(UUID.randomUUID());
+
+        // Then
+        await(() -> emitter.names.contains(ExecutionFeedServiceImpl.RESYNC_EVENT_NAME));
+        verifyNoInteractions(executionService);
+    }
+
+    private ExecutionFeedServiceImpl feedService(int bufferSize, int replaySize, int maxReplay) {
+        return new ExecutionFeedServiceImpl(executionService, Jackson2ObjectMapperBuilder.json().build(),
+                meterRegistry, 100, bufferSize, replaySize, maxReplay, Duration.ofMinutes(1), Duration.ofMinutes(30)) {
+            @Override
+            SseEmitter newEmitter() {
+                return new RecordingEmitter();
+            }
+        };
+    }
+
+    private RecordingEmitter subscribe(UUID lastEventId) {
+        return (RecordingEmitter) feedService.subscribe(lastEventId).orElseThrow();
+    }
+
+    private static Slice<Execution> slice(List<Execution> content, boolean hasNext) {
+        return new SliceImpl<>(content, PageRequest.of(0, content.size()), hasNext);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met within 5 seconds");
+            Thread.sleep(10);
+        }
+    }
+
+    private static Execution execution() {
+        return new Execution(UuidV7.next(), LocalDateTime.now(), "server1", "127.0.0.1", "1.0.0", "prd");
+    }
+
+    /**
+     * Records the ids and names of the events sent to it; with a gate, every write blocks until the gate opens.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<UUID> ids = new CopyOnWriteArrayList<>();
+        private final List<String> names = new CopyOnWriteArrayList<>();
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private volatile CountDownLatch gate;
+        private volatile boolean completed;
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            sending.countDown();
+            CountDownLatch gate = this.gate;
+            if (gate != null) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while writing", e);
+                }
+            }
+            for (DataWithMediaType item : items) {
+                Matcher matcher = EVENT_ID.matcher(String.valueOf(item.getData()));
+                while (matcher.find()) {
+                    ids.add(UUID.fromString(matcher.group(1)));
+                }
+                Matcher name = EVENT_NAME.matcher(String.valueOf(item.getData()));
+                while (name.find()) {
+                    names.add(name.group(1));
+                }
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+            super.complete();
+        }
+    }
+}
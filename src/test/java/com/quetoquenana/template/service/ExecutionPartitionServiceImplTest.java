@@ -0,0 +1,188 @@
+package com.quetoquenana.template.service;
+
+import com.quetoquenana.template.repository.ExecutionPartitionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ExecutionPartitionServiceImplTest {
+    private static final int PREMAKE_MONTHS = 3;
+    private static final int RETENTION_MONTHS = 12;
+
+    @Mock
+    private ExecutionPartitionRepository executionPartitionRepository;
+
+    @Mock
+    private ExecutionArchiveService executionArchiveService;
+
+    private ExecutionPartitionServiceImpl executionPartitionService;
+
+    private final YearMonth current = YearMonth.now();
+    private final YearMonth oldestRetained = current.minusMonths(RETENTION_MONTHS);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        executionPartitionService =
+                new ExecutionPartitionServiceImpl(executionPartitionRepository, executionArchiveService);
+        ReflectionTestUtils.setField(executionPartitionService, "premakeMonths", PREMAKE_MONTHS);
+        ReflectionTestUtils.setField(executionPartitionService, "retentionMonths", RETENTION_MONTHS);
+        ReflectionTestUtils.setField(executionPartitionService, "requireArchive", true);
+        ReflectionTestUtils.setField(executionPartitionService, "detachedGraceMonths", 1);
+    }
+
+    @Test
+    void testMaintainPartitions_CreatesEveryMonthOfTheWindow() {
+        // Given: no partitions and an empty default partition
+        when(executionPartitionRepository.findDefaultPartitionMonths()).thenReturn(List.of());
+        when(executionPartitionRepository.findPartitionNames()).thenReturn(List.of());
+
+        // When
+        executionPartitionService.maintainPartitions();
+
+        // Then: every month from the oldest retained one to the last pre-made one, and nothing else
+        verify(executionPartitionRepository, times(RETENTION_MONTHS + PREMAKE_MONTHS + 1))
+                .createMonthlyPartition(any(YearMonth.class));
+        verify(executionPartitionRepository).createMonthlyPartition(oldestRetained);
+        verify(executionPartitionRepository).createMonthlyPartition(current.plusMonths(PREMAKE_MONTHS));
+    }
+
+    @Test
+    void testMaintainPartitions_ShippedDefaultsRemoveExpiredMonthWithoutArchive() throws IOException {
+        // Given: the shipped retention settings, no archive owner and an expired month nobody archived
+        Properties shipped = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+        assertEquals("false", shipped.getProperty("app.executions.archive.owner"));
+        ReflectionTestUtils.setField(executionPartitionService, "requireArchive",
+                Boolean.parseBoolean(shipped.getProperty("app.executions.partitions.require-archive")));
+        ReflectionTestUtils.setField(executionPartitionService, "dropExpired",
+                Boolean.parseBoolean(shipped.getProperty("app.executions.partitions.drop-expired")));
+        String expiredPartition = ExecutionPartitionRepository.partitionName(oldestRetained.minusMonths(1));
+        when(executionPartitionRepository.findDefaultPartitionMonths()).thenReturn(List.of());
+        when(executionPartitionRepository.findPartitionNames()).thenReturn(List.of(expiredPartition));
+        when(executionArchiveService.isArchived(any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(false);
+
+        // When
+        executionPartitionService.maintainPartitions();
+
+        // Then: retention still removes it
+        verify(executionPartitionRepository).detachPartition(expiredPartition);
+    }
+
+    @Test
+    void testMaintainPartitions_RemovesStrandedExpiredMonth() {
+        // Given: rows of an archived expired month stranded in executions_default
+        YearMonth stranded = oldestRetained.minusMonths(6);
+        String strandedPartition = ExecutionPartitionRepository.partitionName(stranded);
+        when(executionArchiveService.isArchived(stranded.atDay(1).atStartOfDay(),
+                stranded.plusMonths(1).atDay(1).atStartOfDay())).thenReturn(true);
+        when(executionPartitionRepository.findDefaultPartitionMonths()).thenReturn(List.of(stranded));
+        when(executionPartitionRepository.findPartitionNames()).thenReturn(List.of(strandedPartition,
+                ExecutionPartitionRepository.partitionName(current), ExecutionPartitionRepository.DEFAULT_PARTITION));
+
+        // When
+        executionPartitionService.maintainPartitions();
+
+        // Then: the month gets its partition first, which is then detached like any expired month
+        InOrder inOrder = inOrder(executionPartitionRepository);
+        inOrder.verify(executionPartitionRepository).createMonthlyPartition(stranded);
+        inOrder.verify(executionPartitionRepository).detachPartition(strandedPartition);
+        verify(executionPartitionRepository, never())
+                .detachPartition(ExecutionPartitionRepository.partitionName(current));
+        verify(executionPartitionRepository, never())
+                .detachPartition(ExecutionPartitionRepository.DEFAULT_PARTITION);
+    }
+
+    @Test
+    void testMaintainPartitions_DropExpired() {
+        // Given: dropping without archiving is enabled and an expired partition is attached
+        ReflectionTestUtils.setField(executionPartitionService, "dropExpired", true);
+        ReflectionTestUtils.setField(executionPartitionService, "requireArchive", false);
+        String expired = ExecutionPartitionRepository.partitionName(oldestRetained.minusMonths(1));
+        when(executionPartitionRepository.findDefaultPartitionMonths()).thenReturn(List.of());
+        when(executionPartitionRepository.findPartitionNames()).thenReturn(List.of(expired));
+
+        // When
+        executionPartitionService.maintainPartitions();
+
+        // Then: the archives are not consulted
+        verify(executionPartitionRepository).dropPartition(expired);
+        verify(executionPartitionRepository, never()).detachPartition(anyString());
+        verifyNoInteractions(executionArchiveService);
+    }
+
+    @Test
+    void testMaintainPartitions_DropsDetachedMonthAfterGracePeriod() {
+        // Given: a month detached by the previous run, and one detached a grace period earlier
+        String recent = ExecutionPartitionRepository.partitionName(oldestRetained.minusMonths(1));
+        String pastGrace = ExecutionPartitionRepository.partitionName(oldestRetained.minusMonths(2));
+        when(executionPartitionRepository.findDefaultPartitionMonths()).thenReturn(List.of());
+        when(executionPartitionRepository.findPartitionNames()).thenReturn(List.of());
+        when(executionPartitionRepository.findDetachedPartitionNames()).thenReturn(List.of(recent, pastGrace));
+
+        // When
+        executionPartitionService.maintainPartitions();
+
+        // Then: only the month past the grace period is dropped
+        verify(executionPartitionRepository).dropPartition(pastGrace);
+        verify(executionPartitionRepository, never()).dropPartition(recent);
+    }
+
+    @Test
+    void testMaintainPartitions_KeepsExpiredMonthUntilArchived() {
+        // Given: two expired partitions, of which only the newer month is fully archived
+        YearMonth unarchived = oldestRetained.minusMonths(2);
+        YearMonth archived = oldestRetained.minusMonths(1);
+        when(executionPartitionRepository.findDefaultPartitionMonths()).thenReturn(List.of());
+        when(executionPartitionRepository.findPartitionNames()).thenReturn(List.of(
+                ExecutionPartitionRepository.partitionName(unarchived),
+                ExecutionPartitionRepository.partitionName(archived)));
+        when(executionArchiveService.isArchived(any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(false);
+        when(executionArchiveService.isArchived(archived.atDay(1).atStartOfDay(),
+                archived.plusMonths(1).atDay(1).atStartOfDay())).thenReturn(true);
+
+        // When
+        executionPartitionService.maintainPartitions();
+
+        // Then: only the archived month is removed
+        verify(executionPartitionRepository).detachPartition(ExecutionPartitionRepository.partitionName(archived));
+        verify(executionPartitionRepository, never())
+                .detachPartition(ExecutionPartitionRepository.partitionName(unarchived));
+    }
+
+    @Test
+    void testMaintainPartitions_ContinuesAfterCreateFailure() {
+        // Given: creating the oldest retained month fails
+        when(executionPartitionRepository.findDefaultPartitionMonths()).thenReturn(List.of());
+        when(executionPartitionRepository.findPartitionNames()).thenReturn(List.of());
+        when(executionPartitionRepository.createMonthlyPartition(oldestRetained))
+                .thenThrow(new DataAccessResourceFailureException("lock timeout"));
+
+        // When
+        executionPartitionService.maintainPartitions();
+
+        // Then: the remaining months are still created
+        verify(executionPartitionRepository).createMonthlyPartition(current);
+    }
+}
@@ -0,0 +1,404 @@
+package com.quetoquenana.template.service;
+
+import com.quetoquenana.template.exception.ConflictException;
+import com.quetoquenana.template.exception.InvalidRequestException;
+import com.quetoquenana.template.model.BatchIngestionResult;
+import com.quetoquenana.template.model.BatchItemError;
+import com.quetoquenana.template.model.Execution;
+import com.quetoquenana.template.model.ExecutionArchiveRange;
+import com.quetoquenana.template.model.ExecutionFilter;
+import com.quetoquenana.template.model.ExecutionsSavedEvent;
+import com.quetoquenana.template.repository.ExecutionRepository;
+import com.quetoquenana.template.util.UuidV7;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ExecutionServiceImplTest {
+    private static final int MAX_BATCH_SIZE = 5;
+    private static final int MAX_MERGED_ROWS = 100;
+    private static final LocalDateTime JANUARY = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime FEBRUARY = JANUARY.plusMonths(1);
+    private static final LocalDateTime MARCH = JANUARY.plusMonths(2);
+    private static final LocalDateTime APRIL = JANUARY.plusMonths(3);
+
+    @Mock
+    private ExecutionRepository executionRepository;
+
+    @Mock
+    private ExecutionArchiveService executionArchiveService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ExecutionServiceImpl executionService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        executionService = new ExecutionServiceImpl(executionRepository, executionArchiveService, eventPublisher,
+                new SimpleMeterRegistry(), 1000, Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(executionService, "maxBatchSize", MAX_BATCH_SIZE);
+        ReflectionTestUtils.setField(executionService, "premakeMonths", 3);
+        ReflectionTestUtils.setField(executionService, "retentionMonths", 12);
+        ReflectionTestUtils.setField(executionService, "maxMergedRows", MAX_MERGED_ROWS);
+    }
+
+    @Test
+    void testSaveBatch_Empty() {
+        assertThrows(InvalidRequestException.class, () -> executionService.saveBatch(List.of()));
+        verifyNoInteractions(executionRepository);
+    }
+
+    @Test
+    void testSaveBatch_TooLarge() {
+        List<Execution> executions = Collections.nCopies(MAX_BATCH_SIZE + 1, execution());
+        InvalidRequestException exception =
+                assertThrows(InvalidRequestException.class, () -> executionService.saveBatch(executions));
+        assertEquals("batch.size.invalid", exception.getMessageKey());
+        verifyNoInteractions(executionRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSaveBatch_ReportsInvalidItemsByPosition() {
+        // Given: a valid record without id, a null record, one without executedAt and one with a too long field
+        Execution valid = execution();
+        valid.setId(null);
+        Execution missingExecutedAt = execution();
+        missingExecutedAt.setExecutedAt(null);
+        Execution tooLong = execution();
+        tooLong.setServerName("s".repeat(256));
+        List<Execution> executions = Arrays.asList(valid, null, missingExecutedAt, tooLong);
+        when(executionRepository.batchInsert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        BatchIngestionResult result = executionService.saveBatch(executions);
+
+        // Then: only the valid record is inserted, with a generated id
+        ArgumentCaptor<List<Execution>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(executionRepository).batchInsert(inserted.capture());
+        assertEquals(List.of(valid), inserted.getValue());
+        assertNotNull(valid.getId());
+        assertEquals(4, result.getReceived());
+        assertEquals(1, result.getInserted());
+        assertEquals(0, result.getDuplicates());
+        assertEquals(3, result.getRejected());
+        // And: every invalid record is reported by index and field
+        List<BatchItemError> errors = result.getErrors();
+        assertEquals(3, errors.size());
+        assertError(errors.get(0), 1, null, "batch.item.null");
+        assertError(errors.get(1), 2, "executedAt", "batch.field.required");
+        assertError(errors.get(2), 3, "serverName", "batch.field.too.long");
+        assertArrayEquals(new Object[]{"serverName", 255}, errors.get(2).getMessageArgs());
+    }
+
+    @Test
+    void testSaveBatch_RejectsExecutedAtOutsidePartitionWindow() {
+        // Given: records before the retention window, on its first instant, and past the last pre-made month
+        LocalDateTime earliest = YearMonth.now().minusMonths(12).atDay(1).atStartOfDay();
+        LocalDateTime latest = YearMonth.now().plusMonths(4).atDay(1).atStartOfDay();
+        Execution tooOld = execution();
+        tooOld.setExecutedAt(earliest.minusSeconds(1));
+        Execution oldest = execution();
+        oldest.setExecutedAt(earliest);
+        Execution tooNew = execution();
+        tooNew.setExecutedAt(latest);
+        when(executionRepository.batchInsert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        BatchIngestionResult result = executionService.saveBatch(List.of(tooOld, oldest, tooNew));
+
+        // Then: only the record inside the window is inserted
+        verify(executionRepository).batchInsert(List.of(oldest));
+        assertEquals(1, result.getInserted());
+        assertEquals(2, result.getRejected());
+        List<BatchItemError> errors = result.getErrors();
+        assertError(errors.get(0), 0, "executedAt", "batch.field.out.of.range");
+        assertError(errors.get(1), 2, "executedAt", "batch.field.out.of.range");
+        assertArrayEquals(new Object[]{"executedAt", earliest.toString(), latest.toString()},
+                errors.get(1).getMessageArgs());
+    }
+
+    @Test
+    void testSaveBatch_RejectsExecutedAtInArchivedRange() {
+        // Given: a record whose executedAt is already archived, and one that is not
+        Execution archived = execution();
+        archived.setExecutedAt(LocalDateTime.now().minusDays(1));
+        Execution current = execution();
+        when(executionArchiveService.findArchivedRanges(any(), any())).thenReturn(List.of(new ExecutionArchiveRange(
+                "archive", archived.getExecutedAt(), archived.getExecutedAt().plusSeconds(1), true)));
+        when(executionRepository.batchInsert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        BatchIngestionResult result = executionService.saveBatch(List.of(archived, current));
+
+        // Then: only the record outside the archives is inserted
+        verify(executionRepository).batchInsert(List.of(current));
+        assertEquals(1, result.getRejected());
+        assertError(result.getErrors().getFirst(), 0, "executedAt", "batch.field.archived");
+    }
+
+    @Test
+    void testSaveBatch_RangeClaimedDuringInsert_RollsBack() {
+        // Given: another instance claims the range of a record while the batch is inserted
+        Execution execution = execution();
+        when(executionArchiveService.findArchivedRanges(any(), any())).thenReturn(List.of(), List.of(
+                new ExecutionArchiveRange("archive", execution.getExecutedAt().minusHours(1),
+                        execution.getExecutedAt().plusHours(1), false)));
+        when(executionRepository.batchInsert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When / Then: the whole batch fails as a retryable conflict, so its transaction rolls back, and nothing
+        // is announced
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> executionService.saveBatch(List.of(execution)));
+        assertEquals("batch.archived.concurrently", exception.getMessageKey());
+        assertTrue(exception.getRetryAfter().isPositive());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void testSaveBatch_RejectsClientIdsAndAssignsOwn() {
+        // Given: a record sending an id, and one without
+        UUID clientId = UUID.randomUUID();
+        Execution withId = execution();
+        withId.setId(clientId);
+        Execution withoutId = execution();
+        when(executionRepository.batchInsert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        BatchIngestionResult result = executionService.saveBatch(List.of(withId, withoutId));
+
+        // Then: the client id is rejected and never stored, the other record gets a generated id
+        verify(executionRepository).batchInsert(List.of(withoutId));
+        assertEquals(clientId, withId.getId());
+        assertNotNull(withoutId.getId());
+        assertEquals(1, result.getRejected());
+        assertError(result.getErrors().getFirst(), 0, "id", "batch.field.not.allowed");
+    }
+
+    @Test
+    void testSaveBatch_CountsDuplicatesAndAnnouncesStoredOnly() {
+        // Given: three valid records, one of which the insert skips because its key is already stored
+        Execution first = execution();
+        Execution duplicate = execution();
+        Execution third = execution();
+        List<Execution> executions = List.of(first, duplicate, third);
+        when(executionRepository.batchInsert(anyList())).thenReturn(List.of(first, third));
+
+        // When
+        BatchIngestionResult result = executionService.saveBatch(executions);
+
+        // Then: the duplicate is counted, not rejected, and only the stored records are announced
+        assertEquals(3, result.getReceived());
+        assertEquals(2, result.getInserted());
+        assertEquals(1, result.getDuplicates());
+        assertEquals(0, result.getRejected());
+        assertTrue(result.getErrors().isEmpty());
+        ArgumentCaptor<ExecutionsSavedEvent> event = ArgumentCaptor.forClass(ExecutionsSavedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(List.of(first, third), event.getValue().executions());
+    }
+
+    @Test
+    void testSaveBatch_AllInvalid_SkipsInsert() {
+        // Given: only invalid records
+        Execution missingExecutedAt = execution();
+        missingExecutedAt.setExecutedAt(null);
+        List<Execution> executions = new ArrayList<>();
+        executions.add(missingExecutedAt);
+        executions.add(null);
+
+        // When
+        BatchIngestionResult result = executionService.saveBatch(executions);
+
+        // Then: nothing reaches the database and nothing is announced
+        verify(executionRepository, never()).batchInsert(anyList());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+        assertEquals(0, result.getInserted());
+        assertEquals(2, result.getRejected());
+    }
+
+    @Test
+    void testFindById_TimeOrderedIdProbesIngestionWindowOfItsMonth() {
+        // Given: an id created now, not stored
+        UUID id = UuidV7.next();
+        YearMonth current = YearMonth.now();
+        when(executionRepository.findByIdExecutedBetween(any(), any(), any())).thenReturn(Optional.empty());
+        when(executionArchiveService.findById(id)).thenReturn(Optional.empty());
+
+        // When
+        assertTrue(executionService.findById(id).isEmpty());
+
+        // Then: only the months /batch accepts rows for are probed, then the archives
+        verify(executionRepository).findByIdExecutedBetween(id, current.minusMonths(12).atDay(1).atStartOfDay(),
+                current.plusMonths(4).atDay(1).atStartOfDay());
+        verify(executionRepository, never()).findById(any());
+        verify(executionArchiveService).findById(id);
+    }
+
+    @Test
+    void testFindById_RandomIdProbesEveryPartition() {
+        // Given: a stored execution whose id carries no creation time
+        Execution stored = execution();
+        stored.setId(UUID.randomUUID());
+        when(executionRepository.findById(stored.getId())).thenReturn(Optional.of(stored));
+
+        // When / Then
+        assertEquals(Optional.of(stored), executionService.findById(stored.getId()));
+        verify(executionRepository, never()).findByIdExecutedBetween(any(), any(), any());
+        verifyNoInteractions(executionArchiveService);
+    }
+
+    @Test
+    void testFindAllAfter_MergesRemovedMonthsInKeysetOrder() {
+        // Given: March in the table and January only in an archive, since its partition was removed
+        Execution january10 = execution(JANUARY.plusDays(9), "prd");
+        Execution january20 = execution(JANUARY.plusDays(19), "prd");
+        Execution march5 = execution(MARCH.plusDays(4), "prd");
+        Execution march6 = execution(MARCH.plusDays(5), "prd");
+        when(executionRepository.findFirstKeysetPageListView(Limit.of(4))).thenReturn(List.of(march5, march6));
+        removed(null, null, archived(JANUARY, FEBRUARY, january10, january20));
+
+        // When
+        Slice<Execution> page = executionService.findAllAfter(null, 3);
+
+        // Then: archived executions come first, in the same (executedAt, id) order as the table
+        assertEquals(List.of(january10, january20, march5), page.getContent());
+        assertTrue(page.hasNext());
+    }
+
+    @Test
+    void testFindAll_PageMergesMatchingArchivedExecutions() {
+        // Given: two executions in the table and three archived ones of a removed month, two of them prd
+        Sort sort = Sort.by(Sort.Direction.DESC, "executedAt");
+        ExecutionFilter filter = new ExecutionFilter("prd", null, null, null, null);
+        Execution march5 = execution(MARCH.plusDays(4), "prd");
+        Execution march6 = execution(MARCH.plusDays(5), "prd");
+        Execution january10 = execution(JANUARY.plusDays(9), "prd");
+        Execution january20 = execution(JANUARY.plusDays(19), "dev");
+        Execution january25 = execution(JANUARY.plusDays(24), "prd");
+        when(executionRepository.findListView(filter, PageRequest.of(0, 4, sort)))
+                .thenReturn(new PageImpl<>(List.of(march6, march5), PageRequest.of(0, 4, sort), 2));
+        removed(null, null, archived(JANUARY, FEBRUARY, january10, january20, january25));
+
+        // When: the second page of two is requested
+        Page<Execution> page = executionService.findAll(filter, PageRequest.of(1, 2, sort));
+
+        // Then: it holds the matching archived executions, newest first, and the total counts both sources
+        assertEquals(List.of(january25, january10), page.getContent());
+        assertEquals(4, page.getTotalElements());
+    }
+
+    @Test
+    void testFindSlice_TooDeepIntoArchivedExecutions_Rejected() {
+        // Given: a removed month
+        removed(null, null, archived(JANUARY, FEBRUARY));
+
+        // When / Then: a page ending past max-merged-rows is rejected before any query
+        InvalidRequestException exception = assertThrows(InvalidRequestException.class, () -> executionService
+                .findSlice(new ExecutionFilter(), PageRequest.of(MAX_MERGED_ROWS / 10, 10, Sort.by("executedAt"))));
+        assertEquals("page.archived.too.deep", exception.getMessageKey());
+        verifyNoInteractions(executionRepository);
+    }
+
+    @Test
+    void testForEachExecution_ExportsRemovedMonthsWhereTheyBelong() {
+        // Given: March in the table, January and April only in archives
+        Execution january = execution(JANUARY.plusDays(9), "prd");
+        Execution march = execution(MARCH.plusDays(4), "prd");
+        Execution april = execution(APRIL.plusDays(2), "prd");
+        when(executionRepository.streamAllListViewOrderedByExecutedAt()).thenReturn(Stream.of(march));
+        removed(null, null, archived(JANUARY, FEBRUARY, january), archived(APRIL, APRIL.plusMonths(1), april));
+
+        // When
+        List<Execution> exported = new ArrayList<>();
+        executionService.forEachExecution(exported::add);
+
+        // Then: the output stays in executedAt order
+        assertEquals(List.of(january, march, april), exported);
+    }
+
+    /**
+     * The removed ranges the archive service reports for [from, to), each passing its executions to the scans.
+     */
+    private void removed(LocalDateTime from, LocalDateTime to, ArchivedRange... ranges) {
+        when(executionArchiveService.findRemovedRanges(from, to))
+                .thenReturn(Arrays.stream(ranges).map(ArchivedRange::range).toList());
+        for (ArchivedRange archived : ranges) {
+            ExecutionArchiveRange range = archived.range();
+            doAnswer(invocation -> {
+                Predicate<Execution> consumer = invocation.getArgument(3);
+                for (Execution execution : archived.executions()) {
+                    if (!consumer.test(execution)) {
+                        break;
+                    }
+                }
+                return null;
+            }).when(executionArchiveService)
+                    .scan(eq(range.getRangeFrom()), eq(range.getRangeTo()), anyBoolean(), any());
+            doAnswer(invocation -> {
+                Consumer<Execution> consumer = invocation.getArgument(2);
+                archived.executions().forEach(consumer);
+                return null;
+            }).when(executionArchiveService).forEachExecution(eq(range.getRangeFrom()), eq(range.getRangeTo()), any());
+        }
+    }
+
+    private static ArchivedRange archived(LocalDateTime from, LocalDateTime to, Execution... executions) {
+        return new ArchivedRange(new ExecutionArchiveRange("executions_" + from.toLocalDate() + ".xca", from, to, true),
+                List.of(executions));
+    }
+
+    private static void assertError(BatchItemError error, int index, String field, String messageKey) {
+        assertEquals(index, error.getIndex());
+        assertEquals(field, error.getField());
+        assertEquals(messageKey, error.getMessageKey());
+    }
+
+    private static Execution execution() {
+        return new Execution(null, LocalDateTime.now(), "server1", "127.0.0.1", "1.0.0", "prd");
+    }
+
+    private static Execution execution(LocalDateTime executedAt, String environment) {
+        return new Execution(UuidV7.next(), executedAt, null, null, "1.0.0", environment);
+    }
+
+    private record ArchivedRange(ExecutionArchiveRange range, List<Execution> executions) {
+    }
+}
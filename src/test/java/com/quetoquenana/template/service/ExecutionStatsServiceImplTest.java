@@ -0,0 +1,105 @@
+package com.quetoquenana.template.service;
+
+import com.quetoquenana.template.exception.InvalidRequestException;
+import com.quetoquenana.template.model.ExecutionStatBucket;
+import com.quetoquenana.template.repository.ExecutionPartitionRepository;
+import com.quetoquenana.template.repository.ExecutionStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ExecutionStatsServiceImplTest {
+    private static final LocalDateTime MIDNIGHT = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Mock
+    private ExecutionStatsRepository executionStatsRepository;
+
+    @Mock
+    private ExecutionPartitionRepository executionPartitionRepository;
+
+    private ExecutionStatsServiceImpl executionStatsService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        executionStatsService = new ExecutionStatsServiceImpl(executionStatsRepository,
+                executionPartitionRepository);
+        ReflectionTestUtils.setField(executionStatsService, "maxRange", Duration.ofDays(366));
+    }
+
+    @Test
+    void testGetHistogram_HourAligned() {
+        LocalDateTime to = MIDNIGHT.plusHours(5);
+        executionStatsService.getHistogram(MIDNIGHT, to, ExecutionStatBucket.Granularity.HOUR, null);
+        verify(executionStatsRepository).findHistogram(MIDNIGHT, to, ExecutionStatBucket.Granularity.HOUR, null);
+    }
+
+    @Test
+    void testGetHistogram_ToInsideHour_Rejected() {
+        // Given: to in the middle of an hour, which the hourly rollup cannot split
+        LocalDateTime to = MIDNIGHT.plusHours(5).plusMinutes(30);
+
+        InvalidRequestException exception = assertThrows(InvalidRequestException.class, () ->
+                executionStatsService.getHistogram(MIDNIGHT, to, ExecutionStatBucket.Granularity.HOUR, null));
+        assertEquals("stats.range.unaligned", exception.getMessageKey());
+        verifyNoInteractions(executionStatsRepository);
+    }
+
+    @Test
+    void testGetHistogram_DayGranularity_RequiresMidnight() {
+        // Given: both ends on the hour but not at midnight, which would make the first and last days partial
+        LocalDateTime from = MIDNIGHT.plusHours(6);
+        LocalDateTime to = MIDNIGHT.plusDays(3);
+
+        InvalidRequestException exception = assertThrows(InvalidRequestException.class, () ->
+                executionStatsService.getHistogram(from, to, ExecutionStatBucket.Granularity.DAY, null));
+        assertEquals("stats.range.unaligned", exception.getMessageKey());
+        verifyNoInteractions(executionStatsRepository);
+    }
+
+    @Test
+    void testBackfill_RebuildsAttachedMonthsOfTheRange() {
+        // Given: a range from mid-November to mid-January, of which December is detached
+        LocalDateTime from = MIDNIGHT.minusMonths(1).minusDays(15);
+        LocalDateTime to = MIDNIGHT.plusDays(14).plusHours(6);
+        when(executionPartitionRepository.findPartitionNames())
+                .thenReturn(List.of("executions_202411", "executions_202501", "executions_202502"));
+        when(executionStatsRepository.rebuild(any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(3);
+
+        // When
+        int rows = executionStatsService.backfill(from, to);
+
+        // Then: the attached months are locked, then rebuilt within the range only
+        assertEquals(6, rows);
+        InOrder order = inOrder(executionPartitionRepository, executionStatsRepository);
+        order.verify(executionPartitionRepository).lockPartitions(List.of("executions_202411", "executions_202501"));
+        order.verify(executionStatsRepository).rebuild(from, MIDNIGHT.minusMonths(1));
+        order.verify(executionStatsRepository).rebuild(MIDNIGHT, to);
+        // And: the buckets of the detached month are kept
+        verify(executionStatsRepository, never()).rebuild(MIDNIGHT.minusMonths(1), MIDNIGHT);
+    }
+
+    @Test
+    void testBackfill_RangeInsideHour_Rejected() {
+        InvalidRequestException exception = assertThrows(InvalidRequestException.class, () ->
+                executionStatsService.backfill(MIDNIGHT, MIDNIGHT.plusMinutes(30)));
+        assertEquals("stats.range.unaligned", exception.getMessageKey());
+        verifyNoInteractions(executionStatsRepository, executionPartitionRepository);
+    }
+}
@@ -0,0 +1,66 @@
+package com.quetoquenana.template.service;
+
+import com.quetoquenana.template.repository.InstanceHeartbeatRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class HeartbeatServiceImplTest {
+    @Mock
+    private InstanceHeartbeatRepository instanceHeartbeatRepository;
+
+    private MeterRegistry meterRegistry;
+    private HeartbeatServiceImpl heartbeatService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        heartbeatService = new HeartbeatServiceImpl(instanceHeartbeatRepository, meterRegistry);
+        ReflectionTestUtils.setField(heartbeatService, "bufferCapacity", 10);
+        ReflectionTestUtils.setField(heartbeatService, "batchSize", 5);
+        ReflectionTestUtils.setField(heartbeatService, "flushInterval", Duration.ofMinutes(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        heartbeatService.destroy();
+    }
+
+    @Test
+    void testAfterPropertiesSet_Disabled_StartsNothing() {
+        // Given: heartbeats are disabled
+        ReflectionTestUtils.setField(heartbeatService, "enabled", false);
+
+        // When
+        heartbeatService.afterPropertiesSet();
+
+        // Then: no flusher, no meters, and heartbeats are not recorded
+        assertNull(meterRegistry.find("heartbeats.buffer.size").gauge());
+        assertFalse(heartbeatService.recordHeartbeat());
+        verifyNoInteractions(instanceHeartbeatRepository);
+    }
+
+    @Test
+    void testAfterPropertiesSet_Enabled_BuffersHeartbeats() {
+        // Given: heartbeats are enabled
+        ReflectionTestUtils.setField(heartbeatService, "enabled", true);
+
+        // When
+        heartbeatService.afterPropertiesSet();
+
+        // Then: the buffer meters are registered and heartbeats are accepted
+        assertNotNull(meterRegistry.find("heartbeats.buffer.size").gauge());
+        assertTrue(heartbeatService.recordHeartbeat());
+    }
+}
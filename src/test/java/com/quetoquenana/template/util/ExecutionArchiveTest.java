@@ -0,0 +1,144 @@
+package com.quetoquenana.template.util;
+
+import com.quetoquenana.template.model.Execution;
+import com.quetoquenana.template.model.StartupPhaseDurations;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutionArchiveTest {
+    private static final LocalDateTime FROM = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2025, 2, 1, 0, 0);
+
+    @TempDir
+    private Path directory;
+
+    private List<Execution> executions;
+
+    @BeforeEach
+    void setUp() {
+        // 25 executions, one per hour, with repeated dictionary values, nulls and a few startup durations
+        executions = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            executions.add(new Execution(
+                    UUID.randomUUID(),
+                    FROM.plusHours(i).plusNanos(i * 1000L),
+                    "server-" + (i % 3),
+                    i % 5 == 0 ? null : "10.0.0." + (i % 4),
+                    "1." + (i % 2),
+                    i % 2 == 0 ? "prd" : "dev",
+                    i % 7 == 0 ? new StartupPhaseDurations(1000L + i, null, 300L, 2500L) : null));
+        }
+    }
+
+    @Test
+    void testFindById_ReturnsEveryColumn() throws Exception {
+        // Given: an archive of several blocks
+        Path file = write(4);
+
+        // When: each execution is looked up by id
+        try (ExecutionArchiveReader reader = ExecutionArchiveReader.open(file)) {
+            // Then: it comes back exactly as written, and unknown ids are not found
+            for (Execution execution : executions) {
+                assertEquals(Optional.of(execution), reader.findById(execution.getId()));
+            }
+            assertTrue(reader.findById(UUID.randomUUID()).isEmpty());
+        }
+    }
+
+    @Test
+    void testScan_ReturnsRangeInOrderWithListColumnsOnly() throws Exception {
+        // Given: an archive of several blocks
+        Path file = write(4);
+
+        // When: a range cutting through blocks is scanned with the list view
+        List<Execution> scanned = new ArrayList<>();
+        try (ExecutionArchiveReader reader = ExecutionArchiveReader.open(file)) {
+            reader.scan(FROM.plusHours(5), FROM.plusHours(11), false, scanned::add);
+        }
+
+        // Then: executions 5 to 10 are returned in order without the detail columns
+        assertEquals(6, scanned.size());
+        for (int i = 0; i < scanned.size(); i++) {
+            Execution expected = executions.get(i + 5);
+            Execution actual = scanned.get(i);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getExecutedAt(), actual.getExecutedAt());
+            assertEquals(expected.getAppVersion(), actual.getAppVersion());
+            assertEquals(expected.getEnvironment(), actual.getEnvironment());
+            assertNull(actual.getServerName());
+            assertNull(actual.getStartup());
+        }
+    }
+
+    @Test
+    void testScan_DoneSkipsTheBlocksThatFollow() throws Exception {
+        // Given: an archive of blocks of 4 executions
+        Path file = write(4);
+
+        // When: the scan is done once it has passed one execution
+        List<Execution> scanned = new ArrayList<>();
+        try (ExecutionArchiveReader reader = ExecutionArchiveReader.open(file)) {
+            reader.scan(null, null, false, scanned::add, () -> !scanned.isEmpty());
+        }
+
+        // Then: only the first block is decoded
+        assertEquals(executions.subList(0, 4).stream().map(Execution::getId).toList(),
+                scanned.stream().map(Execution::getId).toList());
+    }
+
+    @Test
+    void testOpen_ReadsHeader() throws Exception {
+        // Given: an archive and an empty one
+        Path file = write(10);
+        Path empty = directory.resolve("empty" + ExecutionArchiveFormat.FILE_EXTENSION);
+        new ExecutionArchiveWriter(empty, FROM, TO, 10, 6).close();
+
+        // When: both are opened
+        try (ExecutionArchiveReader reader = ExecutionArchiveReader.open(file);
+             ExecutionArchiveReader emptyReader = ExecutionArchiveReader.open(empty)) {
+            // Then: counts and ranges come from the header
+            assertEquals(25, reader.rowCount());
+            assertEquals(FROM, reader.rangeFrom());
+            assertEquals(TO, reader.rangeTo());
+            assertEquals(executions.getFirst().getExecutedAt(), reader.firstExecutedAt());
+            assertEquals(executions.getLast().getExecutedAt(), reader.lastExecutedAt());
+            assertEquals(0, emptyReader.rowCount());
+            assertNull(emptyReader.firstExecutedAt());
+            List<Execution> scanned = new ArrayList<>();
+            emptyReader.scan(null, null, true, scanned::add);
+            assertTrue(scanned.isEmpty());
+        }
+    }
+
+    @Test
+    void testWrite_RejectsOutOfOrderExecutions() throws Exception {
+        // Given: a writer that received a later execution
+        try (ExecutionArchiveWriter writer = new ExecutionArchiveWriter(
+                directory.resolve("unordered.xca"), FROM, TO, 10, 6)) {
+            writer.write(executions.get(1));
+
+            // When / Then: an earlier one is refused
+            assertThrows(IllegalArgumentException.class, () -> writer.write(executions.get(0)));
+        }
+    }
+
+    private Path write(int blockRows) throws Exception {
+        Path file = directory.resolve("executions" + ExecutionArchiveFormat.FILE_EXTENSION);
+        try (ExecutionArchiveWriter writer = new ExecutionArchiveWriter(file, FROM, TO, blockRows, 6)) {
+            for (Execution execution : executions) {
+                writer.write(execution);
+            }
+        }
+        return file;
+    }
+}
@@ -0,0 +1,39 @@
+package com.quetoquenana.template.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void testTryAcquire_AllowsBurstThenSustainedRate() {
+        TokenBucket bucket = new TokenBucket(2, 3);
+        long now = 42 * SECOND;
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryAcquire(now));
+        }
+        long wait = bucket.tryAcquire(now);
+        assertTrue(wait > 0 && wait <= SECOND / 2);
+
+        // One token is refilled every 500 ms
+        assertEquals(0, bucket.tryAcquire(now + SECOND / 2));
+        assertTrue(bucket.tryAcquire(now + SECOND / 2) > 0);
+    }
+
+    @Test
+    void testAvailableTokens_RefillsUpToBurst() {
+        TokenBucket bucket = new TokenBucket(10, 5);
+        long now = -7 * SECOND;
+
+        assertEquals(5, bucket.availableTokens(now));
+        bucket.tryAcquire(now);
+        bucket.tryAcquire(now);
+        assertEquals(3, bucket.availableTokens(now));
+        assertEquals(5, bucket.availableTokens(now + SECOND));
+    }
+}
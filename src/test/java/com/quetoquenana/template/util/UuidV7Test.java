@@ -0,0 +1,58 @@
+package com.quetoquenana.template.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7Test {
+
+    @Test
+    void testNext_IsVersion7WithIetfVariant() {
+        UUID uuid = UuidV7.next();
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    void testNext_IsStrictlyIncreasingWithinTheSameMillisecond() {
+        List<UUID> uuids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            uuids.add(UuidV7.next());
+        }
+        for (int i = 1; i < uuids.size(); i++) {
+            // Compare as PostgreSQL does: unsigned, most significant bits first
+            assertTrue(Long.compareUnsigned(uuids.get(i - 1).getMostSignificantBits(),
+                    uuids.get(i).getMostSignificantBits()) < 0);
+        }
+    }
+
+    @Test
+    void testNext_IsUniqueAcrossThreads() {
+        Set<UUID> uuids = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 100_000).parallel().forEach(i -> uuids.add(UuidV7.next()));
+        assertEquals(100_000, uuids.size());
+    }
+
+    @Test
+    void testTimestamp_ReadsGenerationMillisecond() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7.next();
+        long after = System.currentTimeMillis();
+
+        // A burst of earlier values may have borrowed the following milliseconds, so allow a little lead
+        long millis = UuidV7.timestamp(uuid).orElseThrow().toEpochMilli();
+        assertTrue(millis >= before && millis <= after + 1000);
+    }
+
+    @Test
+    void testTimestamp_EmptyForOtherVersions() {
+        assertTrue(UuidV7.timestamp(UUID.randomUUID()).isEmpty());
+    }
+}
@@ -0,0 +1,92 @@
+package com.quetoquenana.template.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindBufferTest {
+    private static final Duration LONG_INTERVAL = Duration.ofMinutes(10);
+
+    @Test
+    void testOffer_FullBatchIsFlushedWithoutWaitingForInterval() throws Exception {
+        // Given: a started buffer with batches of 3 and an interval that never elapses during the test
+        List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+        CountDownLatch flushed = new CountDownLatch(1);
+        WriteBehindBuffer<Integer> buffer = new WriteBehindBuffer<>("test-flusher", 10, 3, LONG_INTERVAL, batch -> {
+            batches.add(batch);
+            flushed.countDown();
+        });
+        buffer.start();
+
+        // When: a full batch is offered
+        buffer.offer(1);
+        buffer.offer(2);
+        buffer.offer(3);
+
+        // Then: it is written as one batch
+        assertTrue(flushed.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of(1, 2, 3)), batches);
+        buffer.close();
+        assertEquals(3, buffer.written());
+    }
+
+    @Test
+    void testOffer_RejectsWhenFull() {
+        // Given: a buffer of 2 items whose flusher is not running
+        WriteBehindBuffer<Integer> buffer = new WriteBehindBuffer<>("test-flusher", 2, 10, LONG_INTERVAL, batch -> {
+        });
+
+        // When: a third item is offered
+        boolean first = buffer.offer(1);
+        boolean second = buffer.offer(2);
+        boolean third = buffer.offer(3);
+
+        // Then: it is dropped and counted
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertEquals(2, buffer.size());
+        assertEquals(1, buffer.rejected());
+    }
+
+    @Test
+    void testClose_FlushesRemainingItems() {
+        // Given: a started buffer holding less than a batch
+        List<Integer> written = new CopyOnWriteArrayList<>();
+        WriteBehindBuffer<Integer> buffer = new WriteBehindBuffer<>("test-flusher", 10, 5, LONG_INTERVAL, written::addAll);
+        buffer.start();
+        buffer.offer(1);
+        buffer.offer(2);
+
+        // When: the buffer is closed
+        buffer.close();
+
+        // Then: the pending items are written
+        assertEquals(List.of(1, 2), written);
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void testClose_FailedBatchIsCountedAsLost() {
+        // Given: a writer that always fails
+        WriteBehindBuffer<Integer> buffer = new WriteBehindBuffer<>("test-flusher", 10, 5, LONG_INTERVAL, batch -> {
+            throw new IllegalStateException("database unavailable");
+        });
+        buffer.start();
+        buffer.offer(1);
+        buffer.offer(2);
+
+        // When: the buffer is flushed on close
+        buffer.close();
+
+        // Then: both items are accounted as failed
+        assertEquals(2, buffer.failed());
+        assertEquals(0, buffer.written());
+    }
+}